@@ -0,0 +1,102 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Uspoređuje skupno dodavanje i umetanje {@link Collection#addAll(Collection)} i
+ * {@link List#insertAll(Collection, int)} s dodavanjem i umetanjem element po element,
+ * što je ranije bila jedina mogućnost. Izvor je {@link ArrayIndexedCollection} sa
+ * {@code size} elemenata.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class CollectionAddAllBenchmark {
+
+	@Param({"100000"})
+	private int size;
+
+	private ArrayIndexedCollection<Integer> source;
+	private ArrayIndexedCollection<Integer> target;
+
+	@Setup(Level.Trial)
+	public void setupSource() {
+		source = new ArrayIndexedCollection<>();
+		for (int i = 0; i < size; i++) {
+			source.add(i);
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void setupTarget() {
+		// umeće se na sredinu kolekcije od 1000 elemenata
+		target = new ArrayIndexedCollection<>();
+		for (int i = 0; i < 1000; i++) {
+			target.add(i);
+		}
+	}
+
+	@Benchmark
+	public ArrayIndexedCollection<Integer> arrayAddEach() {
+		ArrayIndexedCollection<Integer> col = new ArrayIndexedCollection<>();
+		source.forEach(col::add);
+		return col;
+	}
+
+	@Benchmark
+	public ArrayIndexedCollection<Integer> arrayAddAll() {
+		ArrayIndexedCollection<Integer> col = new ArrayIndexedCollection<>();
+		col.addAll(source);
+		return col;
+	}
+
+	@Benchmark
+	public LinkedListIndexedCollection<Integer> linkedAddEach() {
+		LinkedListIndexedCollection<Integer> col = new LinkedListIndexedCollection<>();
+		source.forEach(col::add);
+		return col;
+	}
+
+	@Benchmark
+	public LinkedListIndexedCollection<Integer> linkedAddAll() {
+		LinkedListIndexedCollection<Integer> col = new LinkedListIndexedCollection<>();
+		col.addAll(source);
+		return col;
+	}
+
+	@Benchmark
+	public ArrayIndexedCollection<Integer> arrayInsertEach() {
+		int position = 500;
+		ElementsGetter<Integer> getter = source.createElementsGetter();
+		while (getter.hasNextElement()) {
+			target.insert(getter.getNextElement(), position++);
+		}
+		return target;
+	}
+
+	@Benchmark
+	public ArrayIndexedCollection<Integer> arrayInsertAll() {
+		target.insertAll(source, 500);
+		return target;
+	}
+
+}
@@ -0,0 +1,144 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Uspoređuje mapu s ulančanim preslikavanjima {@link SimpleHashtable} i mapu s otvorenim
+ * adresiranjem {@link OpenAddressingHashtable}: punjenje prazne mape sa {@code size}
+ * ključeva, dohvat svih ključeva, dohvat jednako toliko nepostojećih ključeva te uklanjanje
+ * svih ključeva. Ključevi se dohvaćaju i uklanjaju izmiješanim redoslijedom, kako ulančana
+ * preslikavanja stvorena redom umetanja ne bi bila u memoriji poredana redom dohvata.
+ * Svako mjerenje je jedno izvođenje cijele operacije.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class HashtableBenchmark {
+
+	@Param({"10000000"})
+	private int size;
+
+	private Integer[] keys;
+	private Integer[] shuffledKeys;
+	private Integer[] missingKeys;
+
+	private SimpleHashtable<Integer, Integer> chained;
+	private OpenAddressingHashtable<Integer, Integer> open;
+
+	@Setup(Level.Trial)
+	public void setupKeys() {
+		keys = new Integer[size];
+		missingKeys = new Integer[size];
+		// raspršeni ključevi, kako redoslijed umetanja ne bi odgovarao redoslijedu pretinaca
+		for (int i = 0; i < size; i++) {
+			keys[i] = i * 0x9E3779B1;
+			missingKeys[i] = ~keys[i];
+		}
+		shuffledKeys = keys.clone();
+		Random random = new Random(42);
+		for (int i = size - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			Integer t = shuffledKeys[i];
+			shuffledKeys[i] = shuffledKeys[j];
+			shuffledKeys[j] = t;
+			t = missingKeys[i];
+			missingKeys[i] = missingKeys[j];
+			missingKeys[j] = t;
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void setupTables() {
+		chained = null;
+		open = null;
+		System.gc();
+		chained = new SimpleHashtable<>();
+		open = new OpenAddressingHashtable<>();
+		for (Integer key : keys) {
+			chained.put(key, key);
+			open.put(key, key);
+		}
+	}
+
+	@Benchmark
+	public SimpleHashtable<Integer, Integer> chainedPut() {
+		SimpleHashtable<Integer, Integer> table = new SimpleHashtable<>();
+		for (Integer key : keys) {
+			table.put(key, key);
+		}
+		return table;
+	}
+
+	@Benchmark
+	public OpenAddressingHashtable<Integer, Integer> openPut() {
+		OpenAddressingHashtable<Integer, Integer> table = new OpenAddressingHashtable<>();
+		for (Integer key : keys) {
+			table.put(key, key);
+		}
+		return table;
+	}
+
+	@Benchmark
+	public void chainedGet(Blackhole bh) {
+		for (Integer key : shuffledKeys) {
+			bh.consume(chained.get(key));
+		}
+	}
+
+	@Benchmark
+	public void openGet(Blackhole bh) {
+		for (Integer key : shuffledKeys) {
+			bh.consume(open.get(key));
+		}
+	}
+
+	@Benchmark
+	public void chainedGetMissing(Blackhole bh) {
+		for (Integer key : missingKeys) {
+			bh.consume(chained.get(key));
+		}
+	}
+
+	@Benchmark
+	public void openGetMissing(Blackhole bh) {
+		for (Integer key : missingKeys) {
+			bh.consume(open.get(key));
+		}
+	}
+
+	@Benchmark
+	public void chainedRemove(Blackhole bh) {
+		for (Integer key : shuffledKeys) {
+			bh.consume(chained.remove(key));
+		}
+	}
+
+	@Benchmark
+	public void openRemove(Blackhole bh) {
+		for (Integer key : shuffledKeys) {
+			bh.consume(open.remove(key));
+		}
+	}
+
+}
@@ -0,0 +1,68 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mjeri trajanje pojedinačnih poziva {@link SimpleHashtable#put(Object, Object)} u mapu koja
+ * raste do {@value #SIZE} ključeva (nakon čega se stvara nova mapa), s povećanjem tablice
+ * odjednom i postupnim povećanjem. Zanimljivi su najveći percentili: pri povećanju odjednom
+ * jedan poziv premješta sva preslikavanja.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class HashtableResizeBenchmark {
+
+	private static final int SIZE = 1 << 20;
+
+	@Param({"false", "true"})
+	private boolean incremental;
+
+	private Integer[] keys;
+	private SimpleHashtable<Integer, Integer> table;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setupKeys() {
+		keys = new Integer[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			keys[i] = i * 0x9E3779B1;
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void setupTable() {
+		table = new SimpleHashtable<>(SimpleHashtable.DEFAULT_INITIAL_CAPACITY, incremental);
+		next = 0;
+	}
+
+	@Benchmark
+	public Integer put() {
+		if (next == SIZE) {
+			table = new SimpleHashtable<>(SimpleHashtable.DEFAULT_INITIAL_CAPACITY, incremental);
+			next = 0;
+		}
+		Integer key = keys[next++];
+		return table.put(key, key);
+	}
+
+}
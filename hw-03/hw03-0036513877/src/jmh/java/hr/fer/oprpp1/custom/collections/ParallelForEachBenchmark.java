@@ -0,0 +1,99 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Uspoređuje slijedni obilazak {@link Collection#forEach(Processor)} i paralelni obilazak
+ * {@link Collection#parallelForEach(Processor)} kolekcija sa {@code size} elemenata, te
+ * paralelni i slijedni obilazak mape {@link SimpleHashtable}. Procesor zbraja elemente u
+ * {@link LongAdder}, pa dretve ne dijele isti brojač.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ParallelForEachBenchmark {
+
+	@Param({"1000000"})
+	private int size;
+
+	private ArrayIndexedCollection<Integer> array;
+	private LinkedListIndexedCollection<Integer> linked;
+	private SimpleHashtable<Integer, Integer> table;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		array = new ArrayIndexedCollection<>();
+		linked = new LinkedListIndexedCollection<>();
+		table = new SimpleHashtable<>();
+		for (int i = 0; i < size; i++) {
+			array.add(i);
+			linked.add(i);
+			table.put(i, i);
+		}
+	}
+
+	@Benchmark
+	public long arraySequential() {
+		LongAdder sum = new LongAdder();
+		array.forEach(sum::add);
+		return sum.sum();
+	}
+
+	@Benchmark
+	public long arrayParallel() {
+		LongAdder sum = new LongAdder();
+		array.parallelForEach(sum::add);
+		return sum.sum();
+	}
+
+	@Benchmark
+	public long linkedSequential() {
+		LongAdder sum = new LongAdder();
+		linked.forEach(sum::add);
+		return sum.sum();
+	}
+
+	@Benchmark
+	public long linkedParallel() {
+		LongAdder sum = new LongAdder();
+		linked.parallelForEach(sum::add);
+		return sum.sum();
+	}
+
+	@Benchmark
+	public long tableSequential() {
+		LongAdder sum = new LongAdder();
+		for (var entry : table) {
+			sum.add(entry.getValue());
+		}
+		return sum.sum();
+	}
+
+	@Benchmark
+	public long tableParallel() {
+		LongAdder sum = new LongAdder();
+		table.parallelForEach(entry -> sum.add(entry.getValue()));
+		return sum.sum();
+	}
+
+}
@@ -21,6 +21,11 @@ public class ArrayIndexedCollection<E> implements List<E> {
 	 * Pretpostavljena inicijalna veličina (kapacitet) polja unutar ove kolekcije.
 	 */
 	public static final int DEFAULT_INITIAL_CAPACITY = 16;
+	/**
+	 * Najmanji broj elemenata kojeg {@code ElementsGetter} ove kolekcije odvaja metodom 
+	 * {@link ElementsGetter#trySplit()}; manji dijelovi se procesuiraju brže u jednoj dretvi.
+	 */
+	static final int MIN_SPLIT_SIZE = 1024;
 	
 	/**
 	 * Broj pohranjenih elemenata. On je manji ili jednak kapacitetu polja
@@ -52,6 +57,10 @@ public class ArrayIndexedCollection<E> implements List<E> {
 		 * članskih varijabli vanjskog razreda.
 		 */
 		ArrayIndexedCollection<E> list;
+		/**
+		 * Pozicija iza zadnjeg elementa kojeg ovaj objekt dohvaća.
+		 */
+		int end;
 		/**
 		 * Pamti (snima), u trenutku stvaranja ovog objekta, broj strukturnih modifikacija 
 		 * ove kolekcije.
@@ -59,8 +68,14 @@ public class ArrayIndexedCollection<E> implements List<E> {
 		final long savedModCount;
 		
 		ArrayListElementsGetter(ArrayIndexedCollection<E> list) {
+			this(list, 0, list.size, list.modificationCount);
+		}
+		
+		ArrayListElementsGetter(ArrayIndexedCollection<E> list, int currentPosition, int end, long savedModCount) {
 			this.list = list;
-			savedModCount = list.modificationCount;
+			this.currentPosition = currentPosition;
+			this.end = end;
+			this.savedModCount = savedModCount;
 		}
 		
 		/**
@@ -82,7 +97,7 @@ public class ArrayIndexedCollection<E> implements List<E> {
 		@Override
 		public boolean hasNextElement() {
 			checkForConcurrentModification();
-			return currentPosition < list.size;
+			return currentPosition < end;
 		}
 		
 		/**
@@ -102,6 +117,24 @@ public class ArrayIndexedCollection<E> implements List<E> {
 			return element;
 		}
 		
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * <p>Preostali raspon pozicija se dijeli na pola, a vraćeni objekt dohvaća prvu polovicu. 
+		 * Rasponi kraći od {@value ArrayIndexedCollection#MIN_SPLIT_SIZE} elemenata se ne dijele.
+		 */
+		@Override
+		public ElementsGetter<E> trySplit() {
+			checkForConcurrentModification();
+			if (end - currentPosition < 2 * MIN_SPLIT_SIZE)
+				return null;
+			
+			int mid = (currentPosition + end) >>> 1;
+			var prefix = new ArrayListElementsGetter<>(list, currentPosition, mid, savedModCount);
+			currentPosition = mid;
+			return prefix;
+		}
+		
 	}
 	
 	/**
@@ -260,6 +293,66 @@ public class ArrayIndexedCollection<E> implements List<E> {
 		modified();
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>Polje se povećava najviše jednom, a elementi se umeću kopiranjem polja.
+	 * 
+	 * @throws NullPointerException ako je predana kolekcija {@code null}.
+	 */
+	@Override
+	public void addAll(Collection<? extends E> col) {
+		insertAll(col, size);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>Polje se povećava najviše jednom, elementi od pozicije {@code position} nadalje 
+	 * pomiču se jednim kopiranjem, a elementi predane kolekcije se kopiraju izravno iz 
+	 * njenog polja ako je i ona {@code ArrayIndexedCollection}. Dopušteno je predati i 
+	 * ovu kolekciju.
+	 */
+	@Override
+	public void insertAll(Collection<? extends E> col, int position) {
+		Objects.requireNonNull(col, "Predana kolekcija je null.");
+		Objects.checkIndex(position, size+1);
+		
+		Object[] source = sourceArray(col);
+		int count = col.size();
+		if (count == 0)
+			return;
+		
+		if (size + count > elements.length)
+			elements = Arrays.copyOf(elements, Math.max(elements.length * 2, size + count));
+		
+		System.arraycopy(elements, position, elements, position + count, size - position);
+		System.arraycopy(source, 0, elements, position, count);
+		size += count;
+		modified();
+	}
+	
+	/**
+	 * Pomoćna metoda koja vraća polje čijih prvih {@code col.size()} elemenata su 
+	 * elementi predane kolekcije, redom. Ako je predana kolekcija neka druga 
+	 * {@code ArrayIndexedCollection}, vraća se njeno pozadinsko polje bez kopiranja.
+	 * 
+	 * @param col kolekcija čiji se elementi dohvaćaju.
+	 * @return polje s elementima kolekcije {@code col}.
+	 * @throws NullPointerException ako predana kolekcija sadrži {@code null}.
+	 */
+	private Object[] sourceArray(Collection<? extends E> col) {
+		if (col instanceof ArrayIndexedCollection && col != this)
+			return ((ArrayIndexedCollection<? extends E>) col).elements;
+		
+		// elementi se prikupljaju prije bilo kakve promjene ove kolekcije
+		Object[] source = new Object[col.size()];
+		ElementsGetter<? extends E> getter = col.createElementsGetter();
+		for (int i=0; i<source.length; i++)
+			source[i] = Objects.requireNonNull(getter.getNextElement(), "Predani element je null.");
+		return source;
+	}
+	
 	/**
 	 * Vraća poziciju prvog pojavljivanja predanog objekta {@code value}.
 	 * 
@@ -87,6 +87,26 @@ public interface Collection<E> {
 		getter.processRemaining(processor);
 	};
 	
+	/**
+	 * Za svaki element ove kolekcije poziva metodu {@link Processor#process(Object)} 
+	 * predanog procesora {@code processor}, pri čemu se elementi procesuiraju paralelno 
+	 * u zajedničkom {@link java.util.concurrent.ForkJoinPool#commonPool()}. Elementi se 
+	 * dijele metodom {@link ElementsGetter#trySplit()}, pa kolekcije čiji {@code ElementsGetter} 
+	 * ne podržava dijeljenje sve elemente procesuiraju u jednoj dretvi.
+	 * 
+	 * <p>Procesor se poziva iz više dretvi bez određenog redoslijeda, pa mora biti siguran za 
+	 * takvo korištenje. Kolekcija se za to vrijeme ne smije mijenjati.
+	 * 
+	 * @param processor objekt Procesor koji obavlja poziv metode {@code process} nad svakim 
+	 * elementom ove kolekcije.
+	 * @throws NullPointerException ukoliko je predani Procesor {@code null}.
+	 */
+	default void parallelForEach(Processor<? super E> processor) {
+		Objects.requireNonNull(processor, "Predani procesor je null.");
+		
+		ElementsGetterTask.processInParallel(createElementsGetter(), processor);
+	}
+	
 	/**
 	 * Dodaje sve elemente iz predane kolekcije {@code col} u ovu kolekciju.
 	 * 
@@ -0,0 +1,140 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+
+/**
+ * Inačica riječnika {@link Dictionary} čiji su ključevi primitivnog tipa {@code double}.
+ * Ključevi se pohranjuju u kolekciju {@link DoubleArrayIndexedCollection}, a pridružene 
+ * vrijednosti na istim pozicijama u usporednom polju, pa preslikavanja ne zahtjevaju 
+ * objekte {@code Double} niti objekte uređenih parova.<br>
+ * Ključevi su jedinstveni, a uspoređuju se kao i metodom {@link Double#equals(Object)}. 
+ * Svaki pohranjeni ključ ima pridruženu vrijednost, koja može biti i {@code null}.
+ * 
+ * @author Tomislav Bjelčić
+ *
+ * @param <V> tip vrijednosti.
+ */
+public class DoubleDictionary<V> {
+	
+	/**
+	 * Ključevi preslikavanja ovog riječnika.
+	 */
+	private DoubleArrayIndexedCollection keys = new DoubleArrayIndexedCollection();
+	/**
+	 * Vrijednosti preslikavanja; vrijednost na poziciji {@code i} je pridružena 
+	 * ključu na poziciji {@code i} u kolekciji {@code keys}.
+	 */
+	private Object[] values = new Object[DoubleArrayIndexedCollection.DEFAULT_INITIAL_CAPACITY];
+	
+	/**
+	 * Provjerava je li ovaj riječnik prazan, odnosno postoje li preslikavanja u 
+	 * riječniku.
+	 * 
+	 * @return {@code true} ako ne postoji niti jedno preslikavanje, inače {@code false}.
+	 */
+	public boolean isEmpty() {
+		return keys.isEmpty();
+	}
+	
+	/**
+	 * Vraća broj preslikavanja ovog riječnika.
+	 * 
+	 * @return broj preslikavanja ovog riječnika.
+	 */
+	public int size() {
+		return keys.size();
+	}
+	
+	/**
+	 * Briše sva preslikavanja ovog riječnika.
+	 */
+	public void clear() {
+		Arrays.fill(values, 0, keys.size(), null);
+		keys.clear();
+	}
+	
+	/**
+	 * Stvara novo preslikavanje {@code key -> value} ako preslikavanje 
+	 * sa takvim ključem ne postoji i povratna vrijednost će biti {@code null}.<br>
+	 * Ako ključ {@code key} već postoji, njegova pridružena vrijednost će se zamijeniti 
+	 * novom vrijednošću {@code value}, a stara vrijednost će se vratiti pozivatelju. 
+	 * 
+	 * @param key ključ preslikavanja.
+	 * @param value nova vrijednost preslikavanja.
+	 * @return staru vrijednost ako je preslikavanje sa ključem {@code key} postojalo, 
+	 * inače vraća {@code null}.
+	 */
+	public V put(double key, V value) {
+		int index = keys.indexOf(key);
+		if (index != -1) {
+			V retVal = valueAt(index);
+			values[index] = value;
+			return retVal;
+		}
+		
+		index = keys.size();
+		if (index == values.length)
+			values = Arrays.copyOf(values, values.length * 2);
+		keys.add(key);
+		values[index] = value;
+		return null;
+	}
+	
+	/**
+	 * Dohvaća vrijednost preslikavanja sa ključem {@code key} 
+	 * ako takvo preslikavanje postoji.<br>
+	 * Ako ne postoji preslikavanje sa ključem {@code key}, metoda vraća {@code null}.
+	 * 
+	 * @param key ključ čija se pridružena vrijednost dohvaća.
+	 * @return vrijednost preslikavanja sa ključem {@code key} ako postoji, inače 
+	 * {@code null}.
+	 */
+	public V get(double key) {
+		int index = keys.indexOf(key);
+		return (index == -1 ? null : valueAt(index));
+	}
+	
+	/**
+	 * Uklanja preslikavanje sa ključem {@code key} iz ovog riječnika.<br>
+	 * Pri tome metoda vraća vrijednost koja je bila pridružena ključu ukoliko je takvo 
+	 * preslikavanje postojalo, inače vraća {@code null}.
+	 * 
+	 * @param key ključ čije se preslikavanje uklanja iz riječnika.
+	 * @return vrijednost pridružena ključu ako je takvog preslikavanja bilo prije 
+	 * uklanjanja, inače {@code null}.
+	 */
+	public V remove(double key) {
+		int index = keys.indexOf(key);
+		if (index == -1)
+			return null;
+		
+		V retVal = valueAt(index);
+		int last = keys.size() - 1;
+		System.arraycopy(values, index+1, values, index, last-index);
+		values[last] = null;
+		keys.remove(index);
+		return retVal;
+	}
+	
+	/**
+	 * Provjerava postoji li preslikavanje sa ključem {@code key} u ovom riječniku.
+	 * 
+	 * @param key ključ preslikavanja.
+	 * @return {@code true} ako preslikavanje sa ključem {@code key} postoji, inače 
+	 * {@code false}.
+	 */
+	public boolean containsKey(double key) {
+		return keys.contains(key);
+	}
+	
+	/**
+	 * Pomoćna metoda koja vraća vrijednost na poziciji {@code index} usporednog polja.
+	 * 
+	 * @param index pozicija preslikavanja.
+	 * @return vrijednost preslikavanja na poziciji {@code index}.
+	 */
+	@SuppressWarnings("unchecked")
+	private V valueAt(int index) {
+		return (V) values[index];
+	}
+}
@@ -0,0 +1,76 @@
+package hr.fer.oprpp1.custom.collections;
+
+/**
+ * Inačica stoga {@link ObjectStack} za elemente primitivnog tipa {@code double}. 
+ * Stavljanje i skidanje elemenata ne stvara objekte {@code Double}.
+ * 
+ * @author Tomislav Bjelčić
+ *
+ */
+public class DoubleStack {
+	
+	/**
+	 * Kao spremnik stoga koristi se kolekcija implementirana poljem.
+	 */
+	private DoubleArrayIndexedCollection storage = new DoubleArrayIndexedCollection();
+	
+	/**
+	 * Provjerava je li stog prazan.
+	 * 
+	 * @return {@code true} ukoliko je stog prazan, inače {@code false}.
+	 */
+	public boolean isEmpty() {
+		return storage.isEmpty();
+	}
+	
+	/**
+	 * Vraća broj pohranjenih elemenata na stogu.
+	 * 
+	 * @return broj pohranjenih elemenata na stogu.
+	 */
+	public int size() {
+		return storage.size();
+	}
+	
+	/**
+	 * Stavlja novi element na vrh stoga.
+	 * 
+	 * @param value element koji se stavlja na vrh stoga.
+	 */
+	public void push(double value) {
+		storage.add(value);
+	}
+	
+	/**
+	 * Skida element sa vrha stoga te ga vraća pozivatelju.
+	 * 
+	 * @return skinuti element.
+	 * @throws EmptyStackException ukoliko se pokuša skinuti element sa praznog stoga.
+	 */
+	public double pop() {
+		double toPop = peek();
+		storage.remove(storage.size() - 1);
+		return toPop;
+	}
+	
+	/**
+	 * Vraća element na vrhu stoga.
+	 * 
+	 * @return element na vrhu stoga.
+	 * @throws EmptyStackException ukoliko je stog prazan.
+	 */
+	public double peek() {
+		if (isEmpty())
+			throw new EmptyStackException();
+		
+		return storage.get(storage.size() - 1);
+	}
+	
+	/**
+	 * Prazni stog, odnosno skida sve elemente sa stoga.
+	 */
+	public void clear() {
+		storage.clear();
+	}
+	
+}
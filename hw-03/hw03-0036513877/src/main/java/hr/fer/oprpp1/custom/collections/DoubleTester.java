@@ -0,0 +1,20 @@
+package hr.fer.oprpp1.custom.collections;
+
+/**
+ * Inačica {@link Tester}-a za vrijednosti primitivnog tipa {@code double}, koja 
+ * odlučuje je li predana vrijednost prihvatljiva bez pakiranja u {@code Double}.
+ * 
+ * @author Tomislav Bjelčić
+ */
+@FunctionalInterface
+public interface DoubleTester {
+	
+	/**
+	 * Provjerava je li predana vrijednost {@code value} prihvatljiva ili nije.
+	 * 
+	 * @param value vrijednost čija prihvatljivost se ispituje.
+	 * @return {@code true} ako je vrijednost prihvatljiva, inače {@code false}.
+	 */
+	boolean test(double value);
+	
+}
@@ -42,4 +42,20 @@ public interface ElementsGetter<T> {
 		while(hasNextElement())
 			p.process(getNextElement());
 	}
+	
+	/**
+	 * Pokušava podijeliti preostale nedohvaćene elemente na dva dijela: dio elemenata 
+	 * predaje novom {@code ElementsGetter}-u kojeg vraća, a ostatak zadržava ovaj objekt. 
+	 * Svaki preostali element nakon podjele dohvaća točno jedan od ta dva objekta, a 
+	 * oba se smiju koristiti iz različitih dretvi.
+	 * 
+	 * <p>Pretpostavljena implementacija ne dijeli elemente i vraća {@code null}.
+	 * 
+	 * @return novi {@code ElementsGetter} koji dohvaća dio preostalih elemenata ili 
+	 * {@code null} ako podjela nije moguća ili nije isplativa.
+	 * @throws ConcurrentModificationException ako se u međuvremenu kolekcija promijeni.
+	 */
+	default ElementsGetter<T> trySplit() {
+		return null;
+	}
 }
@@ -0,0 +1,60 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Zadatak koji paralelno procesuira sve preostale elemente nekog {@link ElementsGetter}-a: 
+ * dok se elementi mogu dijeliti metodom {@link ElementsGetter#trySplit()}, odvojeni dio 
+ * se predaje novom zadatku, a preostali elementi se procesuiraju u trenutnoj dretvi.
+ * 
+ * @author Tomislav Bjelčić
+ * @param <T> tip elemenata koji se procesuiraju.
+ */
+class ElementsGetterTask<T> extends RecursiveAction {
+	
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * Objekt koji dohvaća elemente ovog zadatka.
+	 */
+	private final ElementsGetter<T> getter;
+	/**
+	 * Procesor koji se poziva nad svakim elementom.
+	 */
+	private final Processor<? super T> processor;
+	
+	/**
+	 * Stvara novi zadatak koji procesuira preostale elemente predanog {@code getter}-a.
+	 * 
+	 * @param getter objekt koji dohvaća elemente.
+	 * @param processor procesor koji se poziva nad svakim elementom.
+	 */
+	ElementsGetterTask(ElementsGetter<T> getter, Processor<? super T> processor) {
+		this.getter = getter;
+		this.processor = processor;
+	}
+	
+	/**
+	 * Procesuira sve preostale elemente predanog {@code getter}-a u zajedničkom 
+	 * {@link ForkJoinPool#commonPool()} i vraća se tek kad su svi elementi procesuirani.
+	 * 
+	 * @param <T> tip elemenata koji se procesuiraju.
+	 * @param getter objekt koji dohvaća elemente.
+	 * @param processor procesor koji se poziva nad svakim elementom, iz više dretvi.
+	 */
+	static <T> void processInParallel(ElementsGetter<T> getter, Processor<? super T> processor) {
+		ForkJoinPool.commonPool().invoke(new ElementsGetterTask<>(getter, processor));
+	}
+	
+	@Override
+	protected void compute() {
+		ElementsGetter<T> split = getter.trySplit();
+		if (split == null) {
+			getter.processRemaining(processor);
+			return;
+		}
+		
+		invokeAll(new ElementsGetterTask<>(split, processor), new ElementsGetterTask<>(getter, processor));
+	}
+}
@@ -0,0 +1,43 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Objects;
+
+/**
+ * Inačica {@link ElementsGetter}-a koja dohvaća elemente primitivnog tipa {@code int} 
+ * jedan po jedan, bez pakiranja u {@code Integer}.<br>
+ * Kao i {@code ElementsGetter}, ovaj objekt može zahtjevati da se kolekcija po kojoj 
+ * iterira ne mijenja. U tom slučaju će poziv bilo koje njegove metode izazvati 
+ * {@code ConcurrentModificationException}.
+ * 
+ * @author Tomislav Bjelčić
+ */
+public interface IntElementsGetter {
+	
+	/**
+	 * Provjerava ima li preostalih elemenata koji još nisu bili dohvaćeni.
+	 * 
+	 * @return {@code true} ako postoji još nedohvaćenih elemenata, inače {@code false}.
+	 */
+	boolean hasNextElement();
+	
+	/**
+	 * Dohvaća sljedeći nedohvaćeni element ukoliko takav postoji.
+	 * 
+	 * @return sljedeći nedohvaćeni element.
+	 * @throws NoSuchElementException ako se pokuša dohvatiti element, a nema više nedohvaćenih elemenata.
+	 */
+	int getNextElement();
+	
+	/**
+	 * Procesuira, odnosno poziva metodu {@code process}, nad svim preostalim nedohvaćenim elementima.
+	 * 
+	 * @param p objekt Procesor koji procesuira preostale elemente.
+	 * @throws NullPointerException ako je predani Procesor {@code p} {@code null}.
+	 */
+	default void processRemaining(IntProcessor p) {
+		Objects.requireNonNull(p, "Predani Procesor je null.");
+		
+		while(hasNextElement())
+			p.process(getNextElement());
+	}
+}
@@ -70,6 +70,10 @@ public class LinkedListIndexedCollection<E> implements List<E> {
 		 * dvostruko povezane liste.
 		 */
 		final long savedModCount;
+		/**
+		 * Broj elemenata odvojenih prethodnom podjelom {@link #trySplit()}.
+		 */
+		int batchSize = 0;
 		/**
 		 * Referenca na vanjsku kolekciju. Ovo je potrebno jer je ovaj razred statičan pa nema izravan pristup 
 		 * članskih varijabli vanjskog razreda.
@@ -121,6 +125,94 @@ public class LinkedListIndexedCollection<E> implements List<E> {
 			return element;
 		}
 		
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * <p>Lista se ne može dijeliti na pola bez prolaska do sredine, pa se umjesto toga 
+		 * odvaja sljedećih nekoliko elemenata (prefiks) i kopira u polje. Svaka sljedeća podjela 
+		 * odvaja {@value LinkedListIndexedCollection#BATCH_SIZE_UNIT} elemenata više od 
+		 * prethodne, do najviše {@value LinkedListIndexedCollection#MAX_BATCH_SIZE}.
+		 */
+		@Override
+		public ElementsGetter<E> trySplit() {
+			checkForConcurrentModification();
+			if (currentNode == null)
+				return null;
+			
+			batchSize = Math.min(batchSize + BATCH_SIZE_UNIT, MAX_BATCH_SIZE);
+			Object[] batch = new Object[batchSize];
+			int count = 0;
+			for (; count < batchSize && currentNode != null; count++) {
+				batch[count] = currentNode.value;
+				currentNode = currentNode.next;
+			}
+			return new BatchElementsGetter<>(batch, 0, count);
+		}
+		
+	}
+	
+	/**
+	 * {@code ElementsGetter} koji dohvaća elemente odvojene u polje prilikom podjele 
+	 * {@link LinkedListElementsGetter#trySplit()}. Budući da su elementi kopirani, 
+	 * ovaj objekt ne provjerava promjene liste.
+	 * 
+	 * @author Tomislav Bjelčić
+	 * @params <E> tip elemenata koji se dohvaća.
+	 */
+	private static class BatchElementsGetter<E> implements ElementsGetter<E> {
+		/**
+		 * Polje s odvojenim elementima.
+		 */
+		final Object[] batch;
+		/**
+		 * Pozicija polja s koje će se dohvatiti sljedeći element.
+		 */
+		int currentPosition;
+		/**
+		 * Pozicija iza zadnjeg elementa kojeg ovaj objekt dohvaća.
+		 */
+		int end;
+		
+		BatchElementsGetter(Object[] batch, int currentPosition, int end) {
+			this.batch = batch;
+			this.currentPosition = currentPosition;
+			this.end = end;
+		}
+		
+		@Override
+		public boolean hasNextElement() {
+			return currentPosition < end;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @throws NoSuchElementException ako se pokuša dohvatiti element, a nema više nedohvaćenih elemenata.
+		 */
+		@SuppressWarnings("unchecked")
+		@Override
+		public E getNextElement() {
+			if (!hasNextElement())
+				throw new NoSuchElementException("Nema više elemenata.");
+			
+			return (E) batch[currentPosition++];
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * <p>Preostali raspon pozicija se dijeli na pola, a vraćeni objekt dohvaća prvu polovicu.
+		 */
+		@Override
+		public ElementsGetter<E> trySplit() {
+			if (end - currentPosition < 2 * BATCH_SIZE_UNIT)
+				return null;
+			
+			int mid = (currentPosition + end) >>> 1;
+			var prefix = new BatchElementsGetter<E>(batch, currentPosition, mid);
+			currentPosition = mid;
+			return prefix;
+		}
 	}
 	
 	/**
@@ -160,6 +252,15 @@ public class LinkedListIndexedCollection<E> implements List<E> {
 	 * se kroz listu iterira od repa.
 	 */
 	private static final int ITERATION_FROM_TAIL = -1;
+	/**
+	 * Za koliko se elemenata povećava svaki sljedeći prefiks kojeg odvaja 
+	 * {@link LinkedListElementsGetter#trySplit()}.
+	 */
+	static final int BATCH_SIZE_UNIT = 1 << 10;
+	/**
+	 * Najveći prefiks kojeg odvaja {@link LinkedListElementsGetter#trySplit()}.
+	 */
+	static final int MAX_BATCH_SIZE = 1 << 25;
 	
 	/**
 	 * Stvara novu praznu kolekciju.
@@ -401,6 +502,66 @@ public class LinkedListIndexedCollection<E> implements List<E> {
 		modified();
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>Elementi se povezuju u lanac čvorova koji se zatim odjednom spaja na kraj liste.
+	 * 
+	 * @throws NullPointerException ako je predana kolekcija {@code null}.
+	 */
+	@Override
+	public void addAll(Collection<? extends E> col) {
+		insertAll(col, size);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>Elementi predane kolekcije se najprije povezuju u zaseban lanac čvorova, koji se 
+	 * zatim odjednom spaja na poziciju {@code position}, pa se pozicija traži samo jednom. 
+	 * Dopušteno je predati i ovu kolekciju.
+	 */
+	@Override
+	public void insertAll(Collection<? extends E> col, int position) {
+		Objects.requireNonNull(col, "Predana kolekcija je null.");
+		Objects.checkIndex(position, size+1);
+		
+		// lanac se gradi prije bilo kakve promjene ove kolekcije
+		ListNode<E> chainFirst = null;
+		ListNode<E> chainLast = null;
+		int count = 0;
+		ElementsGetter<? extends E> getter = col.createElementsGetter();
+		while (getter.hasNextElement()) {
+			E value = Objects.requireNonNull(getter.getNextElement(), "Predani element je null.");
+			ListNode<E> node = new ListNode<>(null, chainLast, value);
+			if (chainLast == null)
+				chainFirst = node;
+			else
+				chainLast.next = node;
+			chainLast = node;
+			count++;
+		}
+		if (count == 0)
+			return;
+		
+		ListNode<E> right = position == size ? null : getNode(position);
+		ListNode<E> left = right == null ? last : right.prev;
+		
+		chainFirst.prev = left;
+		chainLast.next = right;
+		if (left == null)
+			first = chainFirst;
+		else
+			left.next = chainFirst;
+		if (right == null)
+			last = chainLast;
+		else
+			right.prev = chainLast;
+		
+		size += count;
+		modified();
+	}
+	
 	/**
 	 * Vraća poziciju prvog pojavljivanja predanog objekta {@code value}.
 	 * 
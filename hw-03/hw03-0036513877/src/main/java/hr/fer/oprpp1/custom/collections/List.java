@@ -1,5 +1,7 @@
 package hr.fer.oprpp1.custom.collections;
 
+import java.util.Objects;
+
 /**
  * Uređena kolekcija objekata koja nudi metode za pristup i manipulaciju 
  * elementima indeksiranjem, što znači da svaki element ima svoju pripadnu 
@@ -34,6 +36,33 @@ public interface List<E> extends Collection<E> {
 	 */
 	void insert(E value, int position);
 	
+	/**
+	 * Umeće sve elemente predane kolekcije {@code col}, redom kojim ih ona vraća, 
+	 * počevši od pozicije {@code position}.
+	 * 
+	 * <p>Kao posljedica će svi elementi koji su prethodno bili na pozicijama većim 
+	 * ili jednakim od {@code position} sada biti na pozicijama većim za veličinu 
+	 * kolekcije {@code col}.
+	 * 
+	 * <p>Pretpostavljena implementacija umeće element po element metodom 
+	 * {@link #insert(Object, int)}; implementacije bi je trebale nadjačati tako da 
+	 * se postojeći elementi pomiču samo jednom.
+	 * 
+	 * @param col kolekcija čiji se elementi umeću.
+	 * @param position pozicija na kojoj se umeće prvi element kolekcije {@code col}.
+	 * @throws NullPointerException ako je predana kolekcija {@code null} ili sadrži {@code null}.
+	 * @throws IndexOutOfBoundsException ako je specificirana pozicija
+	 * izvan raspona od 0 (uključivo) do veličine liste (uključivo).
+	 */
+	default void insertAll(Collection<? extends E> col, int position) {
+		Objects.requireNonNull(col, "Predana kolekcija je null.");
+		Objects.checkIndex(position, size()+1);
+		
+		ElementsGetter<? extends E> getter = col.createElementsGetter();
+		for (int i=position; getter.hasNextElement(); i++)
+			insert(getter.getNextElement(), i);
+	}
+	
 	/**
 	 * Vraća poziciju prvog pojavljivanja predanog objekta {@code value}.
 	 * 
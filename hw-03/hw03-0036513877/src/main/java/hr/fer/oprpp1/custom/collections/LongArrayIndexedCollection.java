@@ -0,0 +1,417 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Inačica {@link ArrayIndexedCollection} za elemente primitivnog tipa {@code long}.
+ * Elementi se pohranjuju izravno u polje tipa {@code long[]}, pa dodavanje i dohvat
+ * elemenata ne stvaraju objekte {@code Long}.
+ *
+ * <p>Razred nudi iste operacije kao {@link List}, uz iznimku uklanjanja po vrijednosti:
+ * kako se ne bi miješalo s uklanjanjem po poziciji {@link #remove(int)}, prvo pojavljivanje
+ * vrijednosti uklanja metoda {@link #removeValue(long)}. Razred omogućava pohranu više
+ * identičnih elemenata.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public class LongArrayIndexedCollection {
+
+	/**
+	 * Pretpostavljena inicijalna veličina (kapacitet) polja unutar ove kolekcije.
+	 */
+	public static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+	/**
+	 * Broj pohranjenih elemenata. On je manji ili jednak kapacitetu polja
+	 * {@code elements}.
+	 */
+	private int size = 0;
+	/**
+	 * Pozadinsko polje u kojem se pohranjuju elementi ove kolekcije.
+	 */
+	private long[] elements;
+	/**
+	 * Broj strukturnih promjena ove kolekcije otkad je stvorena.
+	 */
+	private long modificationCount = 0L;
+
+	/**
+	 * Implementacija {@code LongElementsGetter}-a prikladna za ovu kolekciju.
+	 *
+	 * @author Tomislav Bjelčić
+	 */
+	private static class ArrayListElementsGetter implements LongElementsGetter {
+		/**
+		 * Trenutna pozicija polja s koje će se dohvatiti sljedeći element.
+		 */
+		int currentPosition = 0;
+		/**
+		 * Referenca na vanjsku kolekciju.
+		 */
+		LongArrayIndexedCollection list;
+		/**
+		 * Pamti (snima), u trenutku stvaranja ovog objekta, broj strukturnih modifikacija
+		 * ove kolekcije.
+		 */
+		final long savedModCount;
+
+		ArrayListElementsGetter(LongArrayIndexedCollection list) {
+			this.list = list;
+			savedModCount = list.modificationCount;
+		}
+
+		/**
+		 * Pomoćna metoda koja provjerava je li se vanjska kolekcija strukturno
+		 * promijenila i ako jest, izaziva {@code ConcurrentModificationException}.
+		 *
+		 * @throws ConcurrentModificationException ako se vanjska kolekcija strukturno promijenila.
+		 */
+		void checkForConcurrentModification() {
+			if (savedModCount != list.modificationCount)
+				throw new ConcurrentModificationException();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @throws ConcurrentModificationException ako se u međuvremenu kolekcija promijeni.
+		 */
+		@Override
+		public boolean hasNextElement() {
+			checkForConcurrentModification();
+			return currentPosition < list.size;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @throws NoSuchElementException ako se pokuša dohvatiti element, a nema više nedohvaćenih elemenata.
+		 * @throws ConcurrentModificationException ako se u međuvremenu kolekcija promijeni.
+		 */
+		@Override
+		public long getNextElement() {
+			if (!hasNextElement())
+				throw new NoSuchElementException("Nema više elemenata.");
+
+			return list.elements[currentPosition++];
+		}
+
+	}
+
+	/**
+	 * Stvara novu praznu kolekciju sa pretpostavljenim inicijalnim
+	 * kapacitetom polja 16.
+	 */
+	public LongArrayIndexedCollection() {
+		this(DEFAULT_INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Stvara novu praznu kolekciju sa inicijalnim kapacitetom
+	 * {@code initialCapacity}.
+	 *
+	 * @param initialCapacity inicijalni kapacitet polja.
+	 * @throws IllegalArgumentException ako je specificirani inicijalni kapacitet
+	 * manji od 1.
+	 */
+	public LongArrayIndexedCollection(int initialCapacity) {
+		if (initialCapacity < 1)
+			throw new IllegalArgumentException("Neispravan početni kapacitet: " + initialCapacity);
+
+		elements = new long[initialCapacity];
+	}
+
+	/**
+	 * Stvara novu kolekciju koja se popunjava elementima predane
+	 * kolekcije {@code col}.
+	 *
+	 * @param col kolekcija čijim se elementima puni ova kolekcija.
+	 * @throws NullPointerException ako je predana kolekcija {@code null}.
+	 */
+	public LongArrayIndexedCollection(LongArrayIndexedCollection col) {
+		this(col, DEFAULT_INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Stvara novu kolekciju inicijalnog kapaciteta {@code initialCapacity}
+	 * koja se popunjava elementima predane kolekcije {@code col}.
+	 *
+	 * <p>Ako je inicijalni kapacitet manji od veličine kolekcije {@code col},
+	 * tada će veličina kolekcije {@code col} odrediti inicijalni kapacitet.
+	 *
+	 * @param col kolekcija čijim se elementima puni ova kolekcija.
+	 * @param initialCapacity inicijalni kapacitet polja.
+	 *
+	 * @throws NullPointerException ako je predana kolekcija {@code null}.
+	 * @throws IllegalArgumentException ako je predana kolekcija prazna
+	 * i inicijalni kapacitet je manji od 1.
+	 */
+	public LongArrayIndexedCollection(LongArrayIndexedCollection col, int initialCapacity) {
+		this(Math.max(col.size, initialCapacity));
+
+		System.arraycopy(col.elements, 0, elements, 0, col.size);
+		size = col.size;
+	}
+
+	/**
+	 * Pomoćna metoda koja se poziva iz metoda koje rade strukturnu promjenu
+	 * ove kolekcije. Metoda povećava broj strukturnih promjena za 1.
+	 */
+	private void modified() {
+		modificationCount++;
+	}
+
+	/**
+	 * Provjerava je li ova kolekcija prazna.
+	 *
+	 * @return {@code true} ukoliko ova kolekcija nema elemenata,
+	 * inače vraća {@code false}.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Vraća broj trenutno pohranjenih elemenata u kolekciji.
+	 *
+	 * @return broj trenutno pohranjenih elemenata u kolekciji.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Dodaje predani element {@code value} na kraj ove kolekcije.
+	 *
+	 * @param value element kojeg želimo dodati u kolekciju.
+	 */
+	public void add(long value) {
+		if (checkFull())
+			doubleCapacity();
+
+		elements[size++] = value;
+		modified();
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava je li kapacitet polja popunjen.
+	 */
+	private boolean checkFull() {
+		return size == elements.length;
+	}
+
+	/**
+	 * Udvostručuje kapacitet polja.
+	 */
+	private void doubleCapacity() {
+		elements = Arrays.copyOf(elements, elements.length * 2);
+		modified();
+	}
+
+	/**
+	 * Dohvaća element na poziciji {@code index}.
+	 *
+	 * @param index pozicija elementa.
+	 * @return element na poziciji {@code index}.
+	 * @throws IndexOutOfBoundsException ako je specificirana pozicija
+	 * izvan raspona od 0 (uključivo) do veličine kolekcije (isključivo).
+	 */
+	public long get(int index) {
+		Objects.checkIndex(index, size);
+		return elements[index];
+	}
+
+	/**
+	 * Uklanja sve elemente iz ove kolekcije.
+	 */
+	public void clear() {
+		size = 0;
+		modified();
+	}
+
+	/**
+	 * Umeće predani element {@code value} na poziciju {@code position}.
+	 *
+	 * <p>Kao posljedica će svi elementi koji su prethodno bili na pozicijama većim
+	 * ili jednakim od {@code position} sada biti na pozicijama za jedan veći.
+	 *
+	 * @param value element koji se umeće.
+	 * @param position pozicija na kojoj se predani element umeće.
+	 * @throws IndexOutOfBoundsException ako je specificirana pozicija
+	 * izvan raspona od 0 (uključivo) do veličine kolekcije (uključivo).
+	 */
+	public void insert(long value, int position) {
+		Objects.checkIndex(position, size+1);
+
+		if (checkFull())
+			doubleCapacity();
+
+		System.arraycopy(elements, position, elements, position+1, size-position);
+		elements[position] = value;
+		size++;
+		modified();
+	}
+
+	/**
+	 * Vraća poziciju prvog pojavljivanja predanog elementa {@code value}.
+	 * Ukoliko takav element ne postoji, metoda vraća -1.
+	 *
+	 * @param value element čija se pozicija prvog pojavljivanja razrješava.
+	 * @return poziciju prvog pojavljivanja predanog elementa, a ukoliko
+	 * takav element ne postoji, -1.
+	 */
+	public int indexOf(long value) {
+		for (int i=0; i<size; i++) {
+			if (elements[i] == value)
+				return i;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Uklanja element na specificiranoj poziciji {@code index}.
+	 *
+	 * <p>Kao posljedica će svi elementi koji su prethodno bili na pozicijama većim
+	 * od {@code index} sada biti na pozicijama za jedan manji.
+	 *
+	 * @param index pozicija sa koje se element uklanja.
+	 * @throws IndexOutOfBoundsException ako je specificirana pozicija
+	 * izvan raspona od 0 (uključivo) do veličine kolekcije (isključivo).
+	 */
+	public void remove(int index) {
+		Objects.checkIndex(index, size);
+
+		System.arraycopy(elements, index+1, elements, index, size-index-1);
+		size--;
+		modified();
+	}
+
+	/**
+	 * Uklanja prvo pojavljivanje predanog elementa {@code value} iz kolekcije.
+	 *
+	 * @param value element kojeg je potrebno ukloniti iz ove kolekcije (jedno pojavljivanje).
+	 * @return {@code true} ukoliko je element uspješno uklonjen, inače vraća {@code false}.
+	 */
+	public boolean removeValue(long value) {
+		int index = indexOf(value);
+
+		if (index == -1)
+			return false;
+		remove(index);
+		return true;
+	}
+
+	/**
+	 * Provjerava sadrži li ova kolekcija predani element {@code value}.
+	 *
+	 * @param value element za kojeg se provjerava postoji li u ovoj kolekciji.
+	 * @return {@code true} ukoliko kolekcija sadrži predani element, inače vraća {@code false}.
+	 */
+	public boolean contains(long value) {
+		return indexOf(value) != -1;
+	}
+
+	/**
+	 * Stvara novo polje iste veličine kao i ova kolekcija te ga popunjava
+	 * elementima ove kolekcije.
+	 *
+	 * @return novo stvoreno polje popunjeno elementima ove kolekcije.
+	 */
+	public long[] toArray() {
+		return Arrays.copyOf(elements, size);
+	}
+
+	/**
+	 * Za svaki element ove kolekcije poziva metodu {@link LongProcessor#process(long)}
+	 * predanog procesora {@code processor}.
+	 *
+	 * @param processor procesor koji se poziva nad svakim elementom ove kolekcije.
+	 * @throws NullPointerException ukoliko je predani Procesor {@code null}.
+	 */
+	public void forEach(LongProcessor processor) {
+		Objects.requireNonNull(processor, "Predani procesor je null.");
+
+		for (int i=0; i<size; i++)
+			processor.process(elements[i]);
+	}
+
+	/**
+	 * Dodaje sve elemente iz predane kolekcije {@code col} na kraj ove kolekcije.
+	 * Polje se povećava najviše jednom, a elementi se kopiraju odjednom. Dopušteno je
+	 * predati i ovu kolekciju.
+	 *
+	 * @param col kolekcija iz koje želimo dodati elemente.
+	 * @throws NullPointerException ukoliko je predana kolekcija {@code null}.
+	 */
+	public void addAll(LongArrayIndexedCollection col) {
+		Objects.requireNonNull(col, "Predana kolekcija je null.");
+
+		int count = col.size;
+		if (count == 0)
+			return;
+
+		if (size + count > elements.length)
+			elements = Arrays.copyOf(elements, Math.max(elements.length * 2, size + count));
+
+		// ako je col ova kolekcija, kopira se samo prvih count elemenata
+		System.arraycopy(col.elements, 0, elements, size, count);
+		size += count;
+		modified();
+	}
+
+	/**
+	 * Dodaje na kraj ove kolekcije sve elemente predane kolekcije {@code col}
+	 * koje predani tester {@code tester} prihvaća.
+	 *
+	 * @param col kolekcija iz koje želimo dodati elemente.
+	 * @param tester tester koji odlučuje koji se elementi dodaju.
+	 * @throws NullPointerException ukoliko je predana kolekcija ili tester {@code null}.
+	 */
+	public void addAllSatisfying(LongArrayIndexedCollection col, LongTester tester) {
+		Objects.requireNonNull(col, "Predana kolekcija je null.");
+		Objects.requireNonNull(tester, "Predani tester je null.");
+
+		col.createElementsGetter().processRemaining(e -> {
+			if (tester.test(e))
+				add(e);
+		});
+	}
+
+	/**
+	 * Stvara i vraća novi objekt, {@code LongElementsGetter}, sposoban za dohvaćanje
+	 * svih elemenata ove kolekcije jedan po jedan.<br>
+	 * Ukoliko se tijekom života tog objekta kolekcija strukturno promijeni, bilo koji poziv
+	 * njegove metode će baciti {@code ConcurrentModificationException}.
+	 *
+	 * @return {@code LongElementsGetter} koji dohvaća elemente ove kolekcije.
+	 */
+	public LongElementsGetter createElementsGetter() {
+		return new ArrayListElementsGetter(this);
+	}
+
+	/**
+	 * Vraća String reprezentaciju ove kolekcije.
+	 *
+	 * @return String reprezentacija ove kolekcije.
+	 */
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+
+	/**
+	 * Vraća trenutni kapacitet polja.<br>
+	 * Ova metoda se koristi samo za potrebe testiranja.
+	 *
+	 * @return trenutni kapacitet polja.
+	 */
+	int getAllocatedSize() {
+		return elements.length;
+	}
+
+}
@@ -0,0 +1,19 @@
+package hr.fer.oprpp1.custom.collections;
+
+/**
+ * Inačica {@link Processor}-a za vrijednosti primitivnog tipa {@code long}, 
+ * koja obavlja operaciju nad predanom vrijednošću bez pakiranja u {@code Long}.
+ * 
+ * @author Tomislav Bjelčić
+ */
+@FunctionalInterface
+public interface LongProcessor {
+	
+	/**
+	 * Obavlja operaciju (akciju) nad predanom vrijednošću.
+	 * 
+	 * @param value vrijednost nad kojom treba obaviti akciju.
+	 */
+	void process(long value);
+	
+}
@@ -0,0 +1,20 @@
+package hr.fer.oprpp1.custom.collections;
+
+/**
+ * Inačica {@link Tester}-a za vrijednosti primitivnog tipa {@code long}, koja 
+ * odlučuje je li predana vrijednost prihvatljiva bez pakiranja u {@code Long}.
+ * 
+ * @author Tomislav Bjelčić
+ */
+@FunctionalInterface
+public interface LongTester {
+	
+	/**
+	 * Provjerava je li predana vrijednost {@code value} prihvatljiva ili nije.
+	 * 
+	 * @param value vrijednost čija prihvatljivost se ispituje.
+	 * @return {@code true} ako je vrijednost prihvatljiva, inače {@code false}.
+	 */
+	boolean test(long value);
+	
+}
@@ -9,7 +9,11 @@ import java.util.Objects;
  * Razred predstavlja implementaciju mape temeljena na tablici raspršenog adresiranja.<br>
  * Ključevi ove mape su jedinstveni i ne smiju biti {@code null} reference, dok vrijednosti smiju.<br>
  * Razred sadrži metode za manipulaciju i dohvat vrijednosti ove mape, te ima podršku za 
- * obilazak (iteraciju) po uređenim parovima {@link TableEntry} implementirajući {@link Iterable}.
+ * obilazak (iteraciju) po uređenim parovima {@link TableEntry} implementirajući {@link Iterable}.<br>
+ * Mapa stvorena s uključenim postupnim povećanjem tablice (vidi
+ * {@link #SimpleHashtable(int, boolean)}) pri povećanju ne premješta sva preslikavanja odjednom,
+ * nego zadržava staru tablicu i premješta po {@value #REHASH_STEP} njenih pretinaca pri svakoj
+ * sljedećoj strukturnoj promjeni, dok se stara tablica ne isprazni.
  * 
  * @author Tomislav Bjelčić
  *
@@ -54,7 +58,7 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		 */
 		public TableEntry(K key, V value) {
 			this.key = Objects.requireNonNull(key, "Predani ključ je null.");
-			setValue(value);
+			this.value = value;
 		}
 
 		/**
@@ -143,7 +147,9 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		 */
 		TableEntry<K, V> currentEntryPrev = null;
 		/**
-		 * Pozicija pretinca preslikavanja {@code currentEntry}.
+		 * Pozicija pretinca preslikavanja {@code currentEntry}. Tijekom postupnog povećanja 
+		 * tablice pretinci stare tablice su na pozicijama manjim od njene duljine, a pretinci 
+		 * nove tablice slijede nakon njih (vidi {@link SimpleHashtable#bucket(int)}).
 		 */
 		int currentSlot = -1;
 		
@@ -194,9 +200,10 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		void locateNextSlotStart() {
 			nextEntry = nextEntryPrev = null;
 			nextSlot++;
-			for (int len=table.length; nextSlot<len; nextSlot++) {
-				if (table[nextSlot] != null) {
-					nextEntry = table[nextSlot];
+			for (int len=bucketCount(); nextSlot<len; nextSlot++) {
+				var first = bucket(nextSlot);
+				if (first != null) {
+					nextEntry = first;
 					break;
 				}
 			}
@@ -258,7 +265,9 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 			nextCalled = false;
 			
 			SimpleHashtable.this.removeTableEntry(currentEntry, currentEntryPrev, currentSlot);
-			nextEntryPrev = currentEntryPrev;
+			// prethodnik sljedećeg preslikavanja se mijenja samo ako je ono u istom pretincu
+			if (nextSlot == currentSlot)
+				nextEntryPrev = currentEntryPrev;
 			savedModCount++;
 		}
 		
@@ -268,6 +277,94 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		}
 	}
 	
+	/**
+	 * {@link ElementsGetter} koji dohvaća preslikavanja iz raspona pretinaca ove mape, 
+	 * u poretku iz {@link SimpleHashtable#bucketCount()}. Koristi se za paralelni obilazak 
+	 * {@link SimpleHashtable#parallelForEach(Processor)}.
+	 * 
+	 * @author Tomislav Bjelčić
+	 *
+	 */
+	private class BucketRangeGetter implements ElementsGetter<TableEntry<K, V>> {
+		
+		/**
+		 * Preslikavanje koje će se sljedeće dohvatiti iz trenutnog pretinca ili {@code null} 
+		 * ako je trenutni pretinac obiđen.
+		 */
+		TableEntry<K, V> nextEntry = null;
+		/**
+		 * Pozicija sljedećeg pretinca čiji obilazak još nije započeo.
+		 */
+		int nextSlot;
+		/**
+		 * Pozicija iza zadnjeg pretinca kojeg ovaj objekt obilazi.
+		 */
+		int endSlot;
+		/**
+		 * Zapamćen broj strukturnih promjena mape.
+		 */
+		final long savedModCount;
+		
+		BucketRangeGetter(int nextSlot, int endSlot, long savedModCount) {
+			this.nextSlot = nextSlot;
+			this.endSlot = endSlot;
+			this.savedModCount = savedModCount;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @throws ConcurrentModificationException ako se u međuvremenu mapa strukturno promijeni.
+		 */
+		@Override
+		public boolean hasNextElement() {
+			checkForConcurrentModification();
+			while (nextEntry == null && nextSlot < endSlot)
+				nextEntry = bucket(nextSlot++);
+			return nextEntry != null;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @throws ConcurrentModificationException ako se u međuvremenu mapa strukturno promijeni.
+		 * @throws NoSuchElementException ako se pokuša dohvatiti element, a nema više nedohvaćenih elemenata.
+		 */
+		@Override
+		public TableEntry<K, V> getNextElement() {
+			if (!hasNextElement())
+				throw new NoSuchElementException("Nema više elemenata.");
+			
+			var entry = nextEntry;
+			nextEntry = entry.next;
+			return entry;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * <p>Raspon pretinaca čiji obilazak još nije započeo se dijeli na pola, a vraćeni 
+		 * objekt obilazi prvu polovicu. Rasponi kraći od {@value SimpleHashtable#MIN_SPLIT_BUCKETS} 
+		 * pretinaca se ne dijele.
+		 */
+		@Override
+		public ElementsGetter<TableEntry<K, V>> trySplit() {
+			checkForConcurrentModification();
+			if (endSlot - nextSlot < 2 * MIN_SPLIT_BUCKETS)
+				return null;
+			
+			int mid = (nextSlot + endSlot) >>> 1;
+			var prefix = new BucketRangeGetter(nextSlot, mid, savedModCount);
+			nextSlot = mid;
+			return prefix;
+		}
+		
+		void checkForConcurrentModification() {
+			if (savedModCount != modificationCount)
+				throw new ConcurrentModificationException("Strukturna promjena mape tijekom obilaska.");
+		}
+	}
+	
 	/**
 	 * Pretpostavljeni inicijalni broj pretinca tablice mape.
 	 */
@@ -276,11 +373,35 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	 * Granica popunjenosti tablice kada će se broj pretinaca udvostručiti.
 	 */
 	public static final double LOAD_FACTOR_THRESHOLD = 0.75;
+	/**
+	 * Broj pretinaca stare tablice koji se tijekom postupnog povećanja tablice premještaju 
+	 * pri svakoj strukturnoj promjeni mape.
+	 */
+	public static final int REHASH_STEP = 8;
+	/**
+	 * Najmanji broj pretinaca kojeg se odvaja prilikom podjele paralelnog obilaska 
+	 * {@link #parallelForEach(Processor)}.
+	 */
+	static final int MIN_SPLIT_BUCKETS = 1024;
 	
 	/**
 	 * Tablica (polje) raspršenog adresiranja sa određenim brojem pretinaca (duljina polja).
 	 */
 	private TableEntry<K, V>[] table;
+	/**
+	 * Stara tablica iz koje se preslikavanja postupno premještaju u {@code table}, ili 
+	 * {@code null} ako se tablica trenutno ne povećava.
+	 */
+	private TableEntry<K, V>[] oldTable;
+	/**
+	 * Pozicija sljedećeg pretinca stare tablice koji će se premjestiti. Svi pretinci stare 
+	 * tablice prije ove pozicije su prazni.
+	 */
+	private int rehashIndex;
+	/**
+	 * Povećava li se tablica postupno.
+	 */
+	private final boolean incrementalResize;
 	/**
 	 * Broj pohranjenih uređenih parova {@code (ključ, vrijednost)}, odnosno preslikavanja 
 	 * {@code ključ -> vrijednost}.
@@ -310,8 +431,29 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	 * dvojnog komplementa cijelih brojeva.
 	 */
 	public SimpleHashtable(int initialCapacity) {
+		this(initialCapacity, false);
+	}
+	
+	/**
+	 * Stvara novu mapu sa brojem pretinaca tablice koja je potencija broja 2 veća ili jednaka 
+	 * od {@code initialCapacity}.<br>
+	 * Ako je {@code incrementalResize} postavljen, pri povećanju tablice preslikavanja se ne 
+	 * premještaju odjednom, nego se stara tablica zadržava i u svakoj sljedećoj strukturnoj 
+	 * promjeni mape ({@link #put(Object, Object)} novog ključa, {@link #remove(Object)} 
+	 * postojećeg ključa) premješta se {@value #REHASH_STEP} njenih pretinaca, tako da nijedna 
+	 * operacija ne traje dugo. Dok postoje obje tablice, pretraga gleda u obje.
+	 * 
+	 * @param initialCapacity donja granica broja pretinaca tablice. Pravi broj pretinaca 
+	 * bit će potencija broja 2 veća ili jednaka od {@code initialCapacity}.
+	 * @param incrementalResize povećava li se tablica postupno.
+	 * @throws IllegalArgumentException ako je predani broj pretinaca manji od 1, ili takav da 
+	 * potencija broja 2 veća ili jednaka predanom broju nije prikaziva u obliku 32-bitnog 
+	 * dvojnog komplementa cijelih brojeva.
+	 */
+	public SimpleHashtable(int initialCapacity, boolean incrementalResize) {
 		int capacity = calculateCapacity(initialCapacity);
 		table = createArray(capacity);
+		this.incrementalResize = incrementalResize;
 	}
 	
 	/**
@@ -364,9 +506,43 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	 * @return pozicija pretinca tablice u kojoj pripada preslikavanje sa ključem {@code key}.
 	 */
 	private int slot(Object key) {
+		return slot(key, table);
+	}
+	
+	/**
+	 * Pomoćna metoda koja računa u koji pretinac tablice {@code table} pripada preslikavanje 
+	 * sa ključem {@code key}, na isti način kao i {@link #slot(Object)}.
+	 * 
+	 * @param key ključ preslikavanja.
+	 * @param table tablica.
+	 * @return pozicija pretinca tablice {@code table}.
+	 */
+	private static int slot(Object key, TableEntry<?, ?>[] table) {
 		return Math.abs(key.hashCode()) % table.length;
 	}
 	
+	/**
+	 * Vraća broj pretinaca koje obilazi iterator: zbroj broja pretinaca stare i nove tablice 
+	 * tijekom postupnog povećanja, inače broj pretinaca tablice.
+	 * 
+	 * @return broj pretinaca koje obilazi iterator.
+	 */
+	private int bucketCount() {
+		return oldTable == null ? table.length : oldTable.length + table.length;
+	}
+	
+	/**
+	 * Vraća prvo preslikavanje pretinca {@code slot} u poretku iz {@link #bucketCount()}.
+	 * 
+	 * @param slot pozicija pretinca.
+	 * @return prvo preslikavanje pretinca ili {@code null} ako je pretinac prazan.
+	 */
+	private TableEntry<K, V> bucket(int slot) {
+		if (oldTable == null)
+			return table[slot];
+		return slot < oldTable.length ? oldTable[slot] : table[slot - oldTable.length];
+	}
+	
 	/**
 	 * Stvara novo preslikavanje {@code key -> value} ako preslikavanje 
 	 * sa takvim ključem ne postoji i povratna vrijednost će biti {@code null}.<br>
@@ -382,6 +558,16 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	public V put(K key, V value) {
 		Objects.requireNonNull(key, "Predani ključ je null.");
 		
+		if (oldTable != null) {
+			// ključ je možda još u nepremještenom pretincu stare tablice
+			var old = findInOldTable(key);
+			if (old != null) {
+				V oldVal = old.value;
+				old.value = value;
+				return oldVal;
+			}
+		}
+		
 		int slot = slot(key);
 		
 		var current = table[slot];
@@ -389,6 +575,7 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 			table[slot] = new TableEntry<>(key, value);
 			size++;
 			modified();
+			rehashStep();
 			adjustTable();
 			return null;
 		}
@@ -408,10 +595,68 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		size++;
 		current.next = newEntry;
 		modified();
+		rehashStep();
 		adjustTable();
 		return null;
 	}
 	
+	/**
+	 * Pretražuje pretinac stare tablice u koji pripada ključ {@code key}.
+	 * 
+	 * @param key ključ preslikavanja.
+	 * @return preslikavanje sa ključem {@code key} iz stare tablice, ili {@code null}.
+	 */
+	private TableEntry<K, V> findInOldTable(Object key) {
+		for (var current = oldTable[slot(key, oldTable)]; current != null; current = current.next) {
+			if (key.equals(current.key))
+				return current;
+		}
+		return null;
+	}
+	
+	/**
+	 * Pomoćna metoda koja tijekom postupnog povećanja tablice premješta sljedećih 
+	 * {@value #REHASH_STEP} pretinaca stare tablice u novu tablicu. Kad su svi pretinci 
+	 * premješteni, stara tablica se odbacuje.<br>
+	 * Poziva se samo iz operacija koje ionako strukturno mijenjaju mapu, kako premještanje 
+	 * ne bi utjecalo na iteratore.
+	 */
+	private void rehashStep() {
+		if (oldTable == null)
+			return;
+		
+		for (int end = Math.min(oldTable.length, rehashIndex + REHASH_STEP); rehashIndex < end; rehashIndex++) {
+			var current = oldTable[rehashIndex];
+			oldTable[rehashIndex] = null;
+			while (current != null) {
+				var next = current.next;
+				current.next = null;
+				appendToSlot(current, slot(current.key));
+				current = next;
+			}
+		}
+		if (rehashIndex == oldTable.length)
+			oldTable = null;
+	}
+	
+	/**
+	 * Dodaje preslikavanje {@code entry} na kraj pretinca {@code slot} tablice, kako bi 
+	 * poredak preslikavanja u pretincu bio isti kao pri povećanju tablice odjednom.
+	 * 
+	 * @param entry preslikavanje koje se dodaje.
+	 * @param slot pozicija pretinca.
+	 */
+	private void appendToSlot(TableEntry<K, V> entry, int slot) {
+		var current = table[slot];
+		if (current == null) {
+			table[slot] = entry;
+			return;
+		}
+		while (current.next != null)
+			current = current.next;
+		current.next = entry;
+	}
+	
 	/**
 	 * Pomoćna metoda koja provjerava popunjenost tablice, te ako je ona veća ili jednaka 
 	 * prethodno definiranoj granici, stvara tablicu sa dvostruko više pretinaca te sva preslikavanja iz 
@@ -421,6 +666,18 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		if (loadFactor() < LOAD_FACTOR_THRESHOLD)
 			return;
 		
+		if (incrementalResize) {
+			// prethodno povećanje se mora završiti prije sljedećeg
+			while (oldTable != null)
+				rehashStep();
+			oldTable = table;
+			rehashIndex = 0;
+			table = createArray(table.length << 1);
+			rehashStep();
+			modified();
+			return;
+		}
+		
 		TableEntry<K, V>[] entries = toArray();
 		table = createArray(table.length << 1);
 		size = 0;
@@ -459,7 +716,7 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 				return current;
 		}
 		
-		return null;
+		return oldTable == null ? null : findInOldTable(key);
 	}
 	
 	/**
@@ -470,8 +727,8 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	 * @return prvo preslikavanje sa vrijednosti {@code value} ako takvo postoji, inače {@code null}.
 	 */
 	private TableEntry<K, V> getTableEntryUsingValue(Object value) {
-		for (int slot=0, len=table.length; slot<len; slot++) {
-			for (var current = table[slot]; current != null ; current = current.next) {
+		for (int slot=0, len=bucketCount(); slot<len; slot++) {
+			for (var current = bucket(slot); current != null ; current = current.next) {
 				if (Objects.equals(value, current.value))
 					return current;
 			}
@@ -529,7 +786,9 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	 * Pomoćna metoda koja prima referencu na preslikavanje {@code entry} te njenog 
 	 * prethodnika {@code prev} <b>u istom pretincu {@code slot}</b>, te uklanja preslikavanje {@code entry} iz tablice, 
 	 * odnosno mape. Pri tome vrijednost uklonjenog preslikavanja vraća pozivatelju.<br>
-	 * Ako je {@code prev == null}, to označuje da je {@code entry} prvi zapis u pretincu {@code slot}.
+	 * Ako je {@code prev == null}, to označuje da je {@code entry} prvi zapis u pretincu {@code slot}.<br>
+	 * Pozicija pretinca je u poretku iz {@link #bucketCount()}, dakle tijekom postupnog 
+	 * povećanja tablice pozicije manje od duljine stare tablice označavaju pretince stare tablice.
 	 * 
 	 * @param entry referenca na preslikavanje koje se miče
 	 * @param prev referenca na preslikavanje prethodno od {@code entry} u pretincu {@code slot}.
@@ -538,7 +797,12 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	 */
 	private V removeTableEntry(TableEntry<K, V> entry, TableEntry<K, V> prev, int slot) {
 		if (prev == null) {
-			table[slot] = entry.next;
+			if (oldTable == null)
+				table[slot] = entry.next;
+			else if (slot < oldTable.length)
+				oldTable[slot] = entry.next;
+			else
+				table[slot - oldTable.length] = entry.next;
 		} else {
 			prev.next = entry.next;
 		}
@@ -562,15 +826,21 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		Objects.requireNonNull(key, "Predani ključ je null.");
 		
 		int slot = slot(key);
+		if (oldTable != null) {
+			// pozicija pretinca u poretku iz bucketCount()
+			slot = findInOldTable(key) != null ? slot(key, oldTable) : oldTable.length + slot;
+		}
 		
-		var current = table[slot];
+		var current = bucket(slot);
 		if (current == null) {
 			return null;
 		}
 		
 		for (TableEntry<K, V> prev = null; current != null; ) {
 			if (key.equals(current.key)) {
-				return removeTableEntry(current, prev, slot);
+				V oldVal = removeTableEntry(current, prev, slot);
+				rehashStep();
+				return oldVal;
 			}
 			
 			prev = current;
@@ -640,6 +910,8 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 			it.next();
 			it.remove();
 		}
+		// stara tablica je sada prazna
+		oldTable = null;
 		
 		/*
 		Prethodni kod pomaže Garbage collectoru, no brže ćemo ukloniti sve ako koristimo
@@ -667,6 +939,26 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		return new IteratorImpl();
 	}
 	
+	/**
+	 * Za svako preslikavanje ove mape poziva metodu {@link Processor#process(Object)} 
+	 * predanog procesora {@code processor}, pri čemu se preslikavanja procesuiraju paralelno 
+	 * u zajedničkom {@link java.util.concurrent.ForkJoinPool#commonPool()}, podijeljena po 
+	 * rasponima pretinaca.
+	 * 
+	 * <p>Procesor se poziva iz više dretvi bez određenog redoslijeda, pa mora biti siguran za 
+	 * takvo korištenje. Procesor smije mijenjati vrijednosti preslikavanja, ali mapa se za to 
+	 * vrijeme ne smije strukturno mijenjati.
+	 * 
+	 * @param processor procesor koji se poziva nad svakim preslikavanjem.
+	 * @throws NullPointerException ako je predani procesor {@code null}.
+	 * @throws ConcurrentModificationException ako se mapa tijekom obilaska strukturno promijeni.
+	 */
+	public void parallelForEach(Processor<? super TableEntry<K, V>> processor) {
+		Objects.requireNonNull(processor, "Predani procesor je null.");
+		
+		ElementsGetterTask.processInParallel(new BucketRangeGetter(0, bucketCount(), modificationCount), processor);
+	}
+	
 	/**
 	 * Pomoćna metoda čiji poziv označava da se radi o strukturnoj promjeni mape te se posljedično 
 	 * povećava broj strukturnih promjena za 1.
@@ -221,4 +221,63 @@ public class ArrayIndexedCollectionTest {
         });
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testInsertAll() {
+        List<String> testList = new ArrayIndexedCollection<>();
+        testList.add("A");
+        testList.add("D");
+        List<String> source = new LinkedListIndexedCollection<>();
+        source.add("B");
+        source.add("C");
+
+        testList.insertAll(source, 1);
+        testList.insertAll(source, 0);
+        testList.insertAll(source, testList.size());
+        testList.insertAll(new LinkedListIndexedCollection<>(), 3);
+
+        assertArrayEquals(new Object[] {"B", "C", "A", "B", "C", "D", "B", "C"}, testList.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> testList.insertAll(source, 9));
+        assertThrows(NullPointerException.class, () -> testList.insertAll(null, 0));
+    }
+
+    @Test
+    public void testInsertAllOfItself() {
+        List<Integer> testList = new ArrayIndexedCollection<>();
+        testList.add(1);
+        testList.add(2);
+        testList.add(3);
+
+        testList.insertAll(testList, 1);
+        testList.addAll(testList);
+
+        assertArrayEquals(new Object[] {1, 1, 2, 3, 2, 3, 1, 1, 2, 3, 2, 3}, testList.toArray());
+    }
+
+    @Test
+    public void testInsertAllInvalidatesElementsGetter() {
+        List<Integer> testList = new ArrayIndexedCollection<>();
+        testList.add(1);
+        ElementsGetter<Integer> getter = testList.createElementsGetter();
+
+        testList.addAll(testList);
+
+        assertThrows(ConcurrentModificationException.class, getter::getNextElement);
+    }
+
+    @Test
+    public void testAddAllGrowsOnce() {
+        ArrayIndexedCollection<Integer> source = new ArrayIndexedCollection<>();
+        for (int i = 0; i < 100; i++)
+            source.add(i);
+
+        ArrayIndexedCollection<Integer> testCollection = new ArrayIndexedCollection<>(2);
+        testCollection.add(-1);
+        testCollection.addAll(source);
+
+        assertEquals(101, testCollection.size());
+        assertEquals(101, testCollection.getAllocatedSize());
+        assertEquals(99, testCollection.get(100));
+        assertEquals(100, new ArrayIndexedCollection<>(source, 2).getAllocatedSize());
+    }
+
+}
@@ -2,6 +2,8 @@ package hr.fer.oprpp1.custom.collections;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class CollectionTest {
@@ -22,4 +24,23 @@ public class CollectionTest {
 
         assertEquals("12246", sb.toString());
     }
-}
\ No newline at end of file
+
+    private static void assertParallelForEachVisitsEveryElementOnce(Collection<Integer> col, int size) {
+        for (int i = 0; i < size; i++)
+            col.add(i);
+
+        AtomicIntegerArray seen = new AtomicIntegerArray(size);
+        col.parallelForEach(seen::incrementAndGet);
+
+        for (int i = 0; i < size; i++)
+            assertEquals(1, seen.get(i));
+    }
+
+    @Test
+    public void testParallelForEach() {
+        assertParallelForEachVisitsEveryElementOnce(new ArrayIndexedCollection<>(), 200_000);
+        assertParallelForEachVisitsEveryElementOnce(new LinkedListIndexedCollection<>(), 200_000);
+        assertParallelForEachVisitsEveryElementOnce(new ArrayIndexedCollection<>(), 0);
+        assertThrows(NullPointerException.class, () -> new ArrayIndexedCollection<Integer>().parallelForEach(null));
+    }
+}
@@ -0,0 +1,56 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class DoubleArrayIndexedCollectionTest {
+
+    private static DoubleArrayIndexedCollection of(double... values) {
+        DoubleArrayIndexedCollection col = new DoubleArrayIndexedCollection(2);
+        for (double value : values)
+            col.add(value);
+        return col;
+    }
+
+    @Test
+    public void testNaNMatchesItself() {
+        DoubleArrayIndexedCollection col = of(1.5, Double.NaN, 2.5);
+
+        assertEquals(1, col.indexOf(Double.NaN));
+        assertTrue(col.contains(Double.NaN));
+        assertTrue(col.removeValue(Double.NaN));
+        assertArrayEquals(new double[] {1.5, 2.5}, col.toArray());
+    }
+
+    @Test
+    public void testZeroDoesNotMatchNegativeZero() {
+        DoubleArrayIndexedCollection col = of(0.0);
+
+        assertEquals(-1, col.indexOf(-0.0));
+        assertFalse(col.removeValue(-0.0));
+
+        col.add(-0.0);
+        assertEquals(1, col.indexOf(-0.0));
+        assertEquals(0, col.indexOf(0.0));
+    }
+
+    @Test
+    public void testInsertRemoveAndAddAll() {
+        DoubleArrayIndexedCollection col = of(1, 3);
+
+        col.insert(2, 1);
+        col.insert(0, 0);
+        col.remove(3);
+        assertArrayEquals(new double[] {0, 1, 2}, col.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> col.get(3));
+
+        col.addAll(col);
+        assertArrayEquals(new double[] {0, 1, 2, 0, 1, 2}, col.toArray());
+
+        DoubleArrayIndexedCollection positive = new DoubleArrayIndexedCollection();
+        positive.addAllSatisfying(col, value -> value > 0);
+        assertArrayEquals(new double[] {1, 2, 1, 2}, positive.toArray());
+    }
+
+}
@@ -0,0 +1,49 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class DoubleDictionaryTest {
+
+    @Test
+    public void testPutGetAndRemove() {
+        DoubleDictionary<String> dictionary = new DoubleDictionary<>();
+
+        assertNull(dictionary.put(1.5, "First"));
+        assertEquals("First", dictionary.put(1.5, "Prvi"));
+        assertEquals(1, dictionary.size());
+        assertEquals("Prvi", dictionary.get(1.5));
+        assertNull(dictionary.get(1.25));
+
+        assertEquals("Prvi", dictionary.remove(1.5));
+        assertTrue(dictionary.isEmpty());
+    }
+
+    @Test
+    public void testNaNKeyMatchesItself() {
+        DoubleDictionary<String> dictionary = new DoubleDictionary<>();
+
+        dictionary.put(Double.NaN, "nan");
+        assertEquals("nan", dictionary.put(0.0 / 0.0, null));
+
+        assertEquals(1, dictionary.size());
+        assertTrue(dictionary.containsKey(Double.NaN));
+        assertNull(dictionary.get(Double.NaN));
+    }
+
+    @Test
+    public void testZeroAndNegativeZeroAreDifferentKeys() {
+        DoubleDictionary<String> dictionary = new DoubleDictionary<>();
+
+        dictionary.put(0.0, "plus");
+        dictionary.put(-0.0, "minus");
+
+        assertEquals(2, dictionary.size());
+        assertEquals("plus", dictionary.get(0.0));
+        assertEquals("minus", dictionary.remove(-0.0));
+        assertFalse(dictionary.containsKey(-0.0));
+        assertTrue(dictionary.containsKey(0.0));
+    }
+
+}
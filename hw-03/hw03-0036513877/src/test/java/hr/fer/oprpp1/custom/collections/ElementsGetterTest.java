@@ -2,6 +2,8 @@ package hr.fer.oprpp1.custom.collections;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ConcurrentModificationException;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ElementsGetterTest {
@@ -17,4 +19,46 @@ public class ElementsGetterTest {
         getter.processRemaining(stringBuilder::append);
         assertEquals("AnaJasna",stringBuilder.toString());
     }
-}
\ No newline at end of file
+
+    private static void drainWithSplits(ElementsGetter<Integer> getter, int[] seen) {
+        ElementsGetter<Integer> split = getter.trySplit();
+        if (split != null)
+            drainWithSplits(split, seen);
+        getter.processRemaining(v -> seen[v]++);
+    }
+
+    private static void assertSplitsVisitEveryElementOnce(Collection<Integer> col) {
+        int[] seen = new int[100_000];
+        for (int i = 0; i < seen.length; i++)
+            col.add(i);
+
+        ElementsGetter<Integer> getter = col.createElementsGetter();
+        getter.getNextElement();
+        ElementsGetter<Integer> split = getter.trySplit();
+        assertNotNull(split);
+        drainWithSplits(split, seen);
+        drainWithSplits(getter, seen);
+
+        // prvi element je dohvaćen prije podjele
+        assertEquals(0, seen[0]);
+        for (int i = 1; i < seen.length; i++)
+            assertEquals(1, seen[i]);
+    }
+
+    @Test
+    public void testTrySplitVisitsEveryElementOnce() {
+        assertSplitsVisitEveryElementOnce(new ArrayIndexedCollection<>());
+        assertSplitsVisitEveryElementOnce(new LinkedListIndexedCollection<>());
+    }
+
+    @Test
+    public void testTrySplitThrowsConcurrentModificationException() {
+        Collection<Integer> col = new ArrayIndexedCollection<>();
+        col.add(1);
+        ElementsGetter<Integer> getter = col.createElementsGetter();
+        col.add(2);
+
+        assertThrows(ConcurrentModificationException.class, getter::trySplit);
+    }
+
+}
@@ -0,0 +1,117 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+public class IntArrayIndexedCollectionTest {
+
+    private static IntArrayIndexedCollection of(int... values) {
+        IntArrayIndexedCollection col = new IntArrayIndexedCollection(2);
+        for (int value : values)
+            col.add(value);
+        return col;
+    }
+
+    @Test
+    public void testConstructors() {
+        assertThrows(IllegalArgumentException.class, () -> new IntArrayIndexedCollection(0));
+        assertEquals(16, new IntArrayIndexedCollection().getAllocatedSize());
+
+        IntArrayIndexedCollection copy = new IntArrayIndexedCollection(of(1, 2, 3), 2);
+        assertArrayEquals(new int[] {1, 2, 3}, copy.toArray());
+        assertEquals(3, copy.getAllocatedSize());
+    }
+
+    @Test
+    public void testAddGetAndDoubling() {
+        IntArrayIndexedCollection col = of(5, 6, 7);
+
+        assertEquals(3, col.size());
+        assertEquals(4, col.getAllocatedSize());
+        assertEquals(7, col.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> col.get(3));
+    }
+
+    @Test
+    public void testInsertAndRemove() {
+        IntArrayIndexedCollection col = of(1, 3);
+
+        col.insert(0, 0);
+        col.insert(2, 2);
+        col.insert(4, 4);
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4}, col.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> col.insert(9, 6));
+
+        col.remove(0);
+        assertTrue(col.removeValue(3));
+        assertFalse(col.removeValue(3));
+        assertArrayEquals(new int[] {1, 2, 4}, col.toArray());
+        assertEquals(2, col.indexOf(4));
+        assertFalse(col.contains(0));
+
+        col.clear();
+        assertTrue(col.isEmpty());
+        assertEquals("[]", col.toString());
+    }
+
+    @Test
+    public void testForEachAndAddAllSatisfying() {
+        IntArrayIndexedCollection col = of(1, 2, 3, 4, 5);
+        int[] sum = new int[1];
+        col.forEach(value -> sum[0] += value);
+        assertEquals(15, sum[0]);
+
+        IntArrayIndexedCollection even = new IntArrayIndexedCollection();
+        even.addAllSatisfying(col, value -> value % 2 == 0);
+        assertArrayEquals(new int[] {2, 4}, even.toArray());
+
+        even.addAll(col);
+        assertEquals(7, even.size());
+    }
+
+    @Test
+    public void testAddAllOfItselfGrowsOnce() {
+        IntArrayIndexedCollection col = of(1, 2, 3);
+        IntElementsGetter getter = col.createElementsGetter();
+
+        col.addAll(col);
+        col.addAll(new IntArrayIndexedCollection());
+
+        assertArrayEquals(new int[] {1, 2, 3, 1, 2, 3}, col.toArray());
+        assertEquals(8, col.getAllocatedSize());
+        assertThrows(ConcurrentModificationException.class, getter::hasNextElement);
+    }
+
+    @Test
+    public void testElementsGetter() {
+        IntArrayIndexedCollection col = of(1, 2);
+        IntElementsGetter getter = col.createElementsGetter();
+
+        assertEquals(1, getter.getNextElement());
+        assertEquals(2, getter.getNextElement());
+        assertFalse(getter.hasNextElement());
+        assertThrows(NoSuchElementException.class, getter::getNextElement);
+
+        IntElementsGetter getter2 = col.createElementsGetter();
+        col.add(3);
+        assertThrows(ConcurrentModificationException.class, getter2::hasNextElement);
+    }
+
+    @Test
+    public void testStack() {
+        IntStack stack = new IntStack();
+        for (int i = 0; i < 100; i++)
+            stack.push(i);
+
+        assertEquals(100, stack.size());
+        assertEquals(99, stack.peek());
+        for (int i = 99; i >= 0; i--)
+            assertEquals(i, stack.pop());
+        assertThrows(EmptyStackException.class, stack::pop);
+    }
+
+}
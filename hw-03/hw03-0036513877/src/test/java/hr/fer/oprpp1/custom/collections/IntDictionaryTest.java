@@ -0,0 +1,53 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class IntDictionaryTest {
+
+    @Test
+    public void testPutGetAndRemove() {
+        IntDictionary<String> dictionary = new IntDictionary<>();
+
+        assertNull(dictionary.put(1, "First"));
+        assertNull(dictionary.put(2, null));
+        assertEquals("First", dictionary.put(1, "Prvi"));
+
+        assertEquals(2, dictionary.size());
+        assertEquals("Prvi", dictionary.get(1));
+        assertTrue(dictionary.containsKey(2));
+        assertNull(dictionary.get(3));
+
+        assertEquals("Prvi", dictionary.remove(1));
+        assertNull(dictionary.remove(1));
+        assertFalse(dictionary.containsKey(1));
+
+        dictionary.clear();
+        assertTrue(dictionary.isEmpty());
+    }
+
+    @Test
+    public void testMatchesHashMap() {
+        LongDictionary<Integer> dictionary = new LongDictionary<>();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 5000; i++) {
+            long key = random.nextInt(100) * (1L << 40);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), dictionary.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), dictionary.put(key, i));
+            }
+            assertEquals(expected.size(), dictionary.size());
+        }
+        for (long key : expected.keySet())
+            assertEquals(expected.get(key), dictionary.get(key));
+    }
+
+}
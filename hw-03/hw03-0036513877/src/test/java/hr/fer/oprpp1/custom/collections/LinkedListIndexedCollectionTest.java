@@ -236,4 +236,47 @@ public class LinkedListIndexedCollectionTest {
         });
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testInsertAll() {
+        List<String> testList = new LinkedListIndexedCollection<>();
+        testList.add("A");
+        testList.add("D");
+        List<String> source = new ArrayIndexedCollection<>();
+        source.add("B");
+        source.add("C");
+
+        testList.insertAll(source, 1);
+        testList.insertAll(source, 0);
+        testList.insertAll(source, testList.size());
+        testList.insertAll(new ArrayIndexedCollection<>(), 3);
+
+        assertArrayEquals(new Object[] {"B", "C", "A", "B", "C", "D", "B", "C"}, testList.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> testList.insertAll(source, 9));
+        assertThrows(NullPointerException.class, () -> testList.insertAll(null, 0));
+    }
+
+    @Test
+    public void testInsertAllOfItself() {
+        List<Integer> testList = new LinkedListIndexedCollection<>();
+        testList.add(1);
+        testList.add(2);
+        testList.add(3);
+
+        testList.insertAll(testList, 1);
+        testList.addAll(testList);
+
+        assertArrayEquals(new Object[] {1, 1, 2, 3, 2, 3, 1, 1, 2, 3, 2, 3}, testList.toArray());
+    }
+
+    @Test
+    public void testInsertAllInvalidatesElementsGetter() {
+        List<Integer> testList = new LinkedListIndexedCollection<>();
+        testList.add(1);
+        ElementsGetter<Integer> getter = testList.createElementsGetter();
+
+        testList.addAll(testList);
+
+        assertThrows(ConcurrentModificationException.class, getter::getNextElement);
+    }
+
+}
@@ -0,0 +1,32 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class LongStackTest {
+
+    @Test
+    public void testPushPopAndPeek() {
+        LongStack stack = new LongStack();
+        for (long i = 0; i < 100; i++)
+            stack.push(i << 40);
+
+        assertEquals(100, stack.size());
+        assertEquals(99L << 40, stack.peek());
+        for (long i = 99; i >= 0; i--)
+            assertEquals(i << 40, stack.pop());
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void testEmptyStack() {
+        LongStack stack = new LongStack();
+        stack.push(Long.MIN_VALUE);
+        stack.clear();
+
+        assertThrows(EmptyStackException.class, stack::peek);
+        assertThrows(EmptyStackException.class, stack::pop);
+    }
+
+}
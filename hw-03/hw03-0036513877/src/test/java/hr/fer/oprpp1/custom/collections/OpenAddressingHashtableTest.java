@@ -0,0 +1,157 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class OpenAddressingHashtableTest {
+
+    private static OpenAddressingHashtable<String, Integer> grades() {
+        OpenAddressingHashtable<String, Integer> testTable = new OpenAddressingHashtable<>(2);
+
+        testTable.put("Ivana", 2);
+        testTable.put("Ante", 2);
+        testTable.put("Jasna", 2);
+        testTable.put("Kristina", 2);
+        testTable.put("Ivana", 5); // overwrites old grade for Ivana
+        testTable.put("Josip", 100);
+        return testTable;
+    }
+
+    @Test
+    public void testPutGetAndRemove() {
+        var testTable = grades();
+
+        assertEquals(5, testTable.size());
+        assertEquals(5, testTable.get("Ivana"));
+        assertEquals(2, testTable.put("Kristina", 3));
+        assertTrue(testTable.containsValue(100));
+        assertFalse(testTable.containsValue(4));
+
+        assertEquals(5, testTable.remove("Ivana"));
+        assertNull(testTable.remove("Ivana"));
+        assertFalse(testTable.containsKey("Ivana"));
+        assertTrue(testTable.containsKey("Jasna"));
+        assertEquals(4, testTable.size());
+
+        assertThrows(NullPointerException.class, () -> testTable.put(null, 1));
+        assertThrows(NullPointerException.class, () -> testTable.get(null));
+        assertThrows(IllegalArgumentException.class, () -> new OpenAddressingHashtable<>(0));
+    }
+
+    @Test
+    public void testNullValuesAndExtremeHashCodes() {
+        OpenAddressingHashtable<Integer, String> testTable = new OpenAddressingHashtable<>(1);
+
+        testTable.put(Integer.MIN_VALUE, null);
+        testTable.put(Integer.MAX_VALUE, "max");
+        testTable.put(0, "zero");
+
+        assertTrue(testTable.containsKey(Integer.MIN_VALUE));
+        assertTrue(testTable.containsValue(null));
+        assertEquals("max", testTable.get(Integer.MAX_VALUE));
+        assertEquals(3, testTable.size());
+    }
+
+    @Test
+    public void testMatchesHashMapUnderRandomOperations() {
+        OpenAddressingHashtable<Integer, Integer> testTable = new OpenAddressingHashtable<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            // mali raspon ključeva i višekratnici od 1024 daju puno kolizija
+            int key = random.nextInt(2000) * (random.nextBoolean() ? 1 : 1024);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), testTable.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), testTable.put(key, i));
+            }
+            assertEquals(expected.size(), testTable.size());
+        }
+        for (int key = -10; key < 2000 * 1024; key += 7) {
+            assertEquals(expected.get(key), testTable.get(key));
+        }
+    }
+
+    @Test
+    public void testIteratorRemoveVisitsEveryEntryOnce() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            OpenAddressingHashtable<Integer, Integer> testTable = new OpenAddressingHashtable<>(2);
+            int count = 1 + random.nextInt(100);
+            for (int i = 0; i < count; i++) {
+                testTable.put(random.nextInt(1000), i);
+            }
+            int size = testTable.size();
+
+            Set<Integer> visited = new HashSet<>();
+            var it = testTable.iterator();
+            while (it.hasNext()) {
+                var entry = it.next();
+                assertTrue(visited.add(entry.getKey()));
+                assertEquals(entry.getValue(), testTable.get(entry.getKey()));
+                if (random.nextBoolean())
+                    it.remove();
+            }
+            assertEquals(size, visited.size());
+        }
+    }
+
+    @Test
+    public void testEntrySetValueWritesThrough() {
+        var testTable = grades();
+
+        for (var entry : testTable) {
+            entry.setValue(entry.getValue() + 1);
+        }
+
+        assertEquals(6, testTable.get("Ivana"));
+        assertEquals(101, testTable.get("Josip"));
+    }
+
+    @Test
+    public void testIteratorExceptions() {
+        var testTable = grades();
+
+        var it = testTable.iterator();
+        assertThrows(IllegalStateException.class, it::remove);
+        it.next();
+        it.remove();
+        assertThrows(IllegalStateException.class, it::remove);
+
+        testTable.put("Lucija", 2);
+        assertThrows(ConcurrentModificationException.class, it::next);
+
+        var it2 = testTable.iterator();
+        while (it2.hasNext())
+            it2.next();
+        assertThrows(NoSuchElementException.class, it2::next);
+    }
+
+    @Test
+    public void testToStringAndClear() {
+        OpenAddressingHashtable<String, Integer> testTable = new OpenAddressingHashtable<>();
+        testTable.put("Ivana", 5);
+
+        assertEquals("[Ivana=5]", testTable.toString());
+        assertEquals(1, testTable.toArray().length);
+
+        testTable.clear();
+        assertTrue(testTable.isEmpty());
+        assertEquals("[]", testTable.toString());
+    }
+
+}
@@ -6,7 +6,13 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import org.junit.jupiter.api.Test;
 
@@ -300,4 +306,116 @@ public class SimpleHashtableTest {
     	
     	assertThrows(NoSuchElementException.class, it::next);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testIteratorRemoveLastInSlotThenFirstInNextSlot() {
+        SimpleHashtable<Integer, Integer> testTable = new SimpleHashtable<>(8);
+
+        testTable.put(0, 0);
+        testTable.put(8, 8); // same slot as 0
+        testTable.put(1, 1);
+
+        var it = testTable.iterator();
+        it.next();
+        it.next();
+        it.remove(); // removes 8, the last entry of slot 0
+        it.next();
+        it.remove(); // removes 1, the first entry of slot 1
+
+        assertEquals(1, testTable.size());
+        assertEquals("[0=0]", testTable.toString());
+        assertFalse(testTable.containsKey(1));
+    }
+
+    @Test
+    public void testIncrementalResizeMatchesHashMap() {
+        SimpleHashtable<Integer, Integer> testTable = new SimpleHashtable<>(2, true);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(5000) - 1000;
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(key), testTable.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), testTable.put(key, i));
+            }
+            assertEquals(expected.size(), testTable.size());
+            int probe = random.nextInt(5000) - 1000;
+            assertEquals(expected.containsKey(probe), testTable.containsKey(probe));
+            assertEquals(expected.get(probe), testTable.get(probe));
+        }
+        for (var entry : testTable) {
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+        }
+        assertEquals(expected.size(), testTable.toArray().length);
+    }
+
+    @Test
+    public void testIncrementalResizeIteratorDuringMigration() {
+        SimpleHashtable<Integer, Integer> testTable = new SimpleHashtable<>(64, true);
+        for (int i = 0; i < 48; i++) {
+            testTable.put(i, i); // the 48th key starts moving 64 slots into a table of 128
+        }
+        testTable.put(-1, -1);
+
+        assertTrue(testTable.containsValue(0));
+        assertTrue(testTable.containsValue(47));
+
+        Set<Integer> visited = new HashSet<>();
+        var it = testTable.iterator();
+        while (it.hasNext()) {
+            var key = it.next().getKey();
+            assertTrue(visited.add(key));
+            if (key % 2 == 0)
+                it.remove();
+        }
+        assertEquals(49, visited.size());
+        assertEquals(25, testTable.size()); // odd keys and -1
+        for (int i = 0; i < 48; i++) {
+            assertEquals(i % 2 != 0, testTable.containsKey(i));
+        }
+
+        var it2 = testTable.iterator();
+        it2.next();
+        testTable.put(1, 100); // replacing a value is not a structural change
+        it2.next();
+        testTable.put(1000, 1000);
+        assertThrows(ConcurrentModificationException.class, it2::next);
+
+        testTable.clear();
+        assertTrue(testTable.isEmpty());
+        assertEquals("[]", testTable.toString());
+    }
+
+    @Test
+    public void testParallelForEachVisitsEveryEntryOnce() {
+        for (boolean incremental : new boolean[] {false, true}) {
+            SimpleHashtable<Integer, Integer> testTable = new SimpleHashtable<>(2, incremental);
+            // 100 000 ključeva pri postupnom povećanju ostavlja staru tablicu nepraznom
+            for (int i = 0; i < 100_000; i++)
+                testTable.put(i, i);
+
+            AtomicIntegerArray seen = new AtomicIntegerArray(100_000);
+            testTable.parallelForEach(entry -> {
+                seen.incrementAndGet(entry.getKey());
+                entry.setValue(-entry.getKey());
+            });
+
+            for (int i = 0; i < seen.length(); i++) {
+                assertEquals(1, seen.get(i));
+                assertEquals(-i, testTable.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testParallelForEachThrowsConcurrentModificationException() {
+        SimpleHashtable<Integer, Integer> testTable = new SimpleHashtable<>();
+        for (int i = 0; i < 10; i++)
+            testTable.put(i, i);
+
+        assertThrows(ConcurrentModificationException.class,
+                () -> testTable.parallelForEach(entry -> testTable.put(-1, 0)));
+    }
+}
@@ -0,0 +1,117 @@
+package hr.fer.zemris.java.fractals;
+
+import static hr.fer.zemris.java.fractals.FractalConstants.CONVERGENCE_TRESHOLD;
+import static hr.fer.zemris.java.fractals.FractalConstants.MAX_ITERATIONS;
+import static hr.fer.zemris.java.fractals.FractalConstants.ROOT_TRESHOLD;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.zemris.math.BenchmarkPolynomials;
+import hr.fer.zemris.math.Complex;
+import hr.fer.zemris.math.ComplexPolynomial;
+import hr.fer.zemris.math.ComplexRootedPolynomial;
+
+/**
+ * Uspoređuje izračun podataka o fraktalu pomoću {@link NewtonRaphson} (rad nad
+ * {@code double} vrijednostima, skalarno i po trakama) sa referentnim izračunom koji za svaki korak
+ * stvara objekte razreda {@link Complex}, za polinome različitih stupnjeva i nekoliko fiksnih
+ * područja kompleksne ravnine: cijeli fraktal ({@code full}), uvećani detalj oko granice
+ * između bazena privlačenja ({@code zoomed}) i široko područje u kojem većina točaka
+ * treba puno iteracija ({@code wide}). Newtonov korak se računa Hornerovim postupkom
+ * ({@code horner}) ili preko nultočaka ({@code rooted}), vidi {@link PolynomialEvaluator}.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NewtonRaphsonBenchmark {
+
+	private static final int WIDTH = 400;
+	private static final int HEIGHT = 300;
+
+	@Param({"2", "4", "8", "16"})
+	private int degree;
+
+	@Param({"full", "zoomed", "wide"})
+	private String viewport;
+
+	@Param({"horner", "rooted"})
+	private String form;
+
+	private ComplexRootedPolynomial functionRooted;
+	private ComplexPolynomial function;
+	private ComplexPolynomial derivative;
+	private PolynomialEvaluator evaluator;
+	private short[] data;
+	private AtomicBoolean cancel;
+	private double reMin;
+	private double reMax;
+	private double imMin;
+	private double imMax;
+
+	@Setup
+	public void setup() {
+		functionRooted = BenchmarkPolynomials.ofDegree(degree);
+		function = functionRooted.toComplexPolynom();
+		derivative = function.derive();
+		evaluator = new PolynomialEvaluator(functionRooted, form.equals("rooted"));
+		data = new short[WIDTH * HEIGHT];
+		cancel = new AtomicBoolean();
+
+		switch (viewport) {
+		case "full":
+			reMin = -2.5; reMax = 1; imMin = -1.2; imMax = 1.2;
+			break;
+		case "zoomed":
+			reMin = 0.28; reMax = 0.32; imMin = 0.28; imMax = 0.31;
+			break;
+		case "wide":
+			reMin = -20; reMax = 20; imMin = -15; imMax = 15;
+			break;
+		default:
+			throw new IllegalArgumentException("Nepoznato područje: " + viewport);
+		}
+	}
+
+	@Benchmark
+	public short[] primitive() {
+		NewtonRaphson.calculate(reMin, reMax, imMin, imMax, ROOT_TRESHOLD, CONVERGENCE_TRESHOLD,
+				evaluator, WIDTH, HEIGHT, MAX_ITERATIONS,
+				0, HEIGHT - 1, data, cancel);
+		return data;
+	}
+
+	@Benchmark
+	public short[] lanes() {
+		NewtonRaphson.calculateLanes(reMin, reMax, imMin, imMax, ROOT_TRESHOLD, CONVERGENCE_TRESHOLD,
+				evaluator, WIDTH, HEIGHT, MAX_ITERATIONS,
+				0, WIDTH - 1, 0, HEIGHT - 1, data, null, cancel);
+		return data;
+	}
+
+	@Benchmark
+	public short[] complexObjects() {
+		NewtonRaphsonReference.calculate(reMin, reMax, imMin, imMax, ROOT_TRESHOLD, CONVERGENCE_TRESHOLD,
+				function, functionRooted, derivative, WIDTH, HEIGHT, MAX_ITERATIONS, data);
+		return data;
+	}
+
+}
@@ -0,0 +1,69 @@
+package hr.fer.zemris.java.fractals;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import hr.fer.zemris.math.BenchmarkPolynomials;
+
+/**
+ * Mjeri trajanje jednog zahtjeva generatora {@link ParallelFractalProducer} za cijeli
+ * fraktal rezolucije 800x600, ovisno o broju dretvi, broju pločica i stupnju polinoma.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelFractalProducerBenchmark {
+
+	private static final int WIDTH = 800;
+	private static final int HEIGHT = 600;
+
+	@Param({"1", "2", "4", "8"})
+	private int workers;
+
+	@Param({"1", "4", "16", "64"})
+	private int tracks;
+
+	@Param({"2", "4", "8", "16"})
+	private int degree;
+
+	private ParallelFractalProducer producer;
+	private AtomicBoolean cancel;
+
+	@Setup
+	public void setup() {
+		producer = new ParallelFractalProducer(workers, tracks, BenchmarkPolynomials.ofDegree(degree));
+		cancel = new AtomicBoolean();
+	}
+
+	@TearDown
+	public void tearDown() {
+		producer.close();
+	}
+
+	@Benchmark
+	public void produce(Blackhole bh) {
+		producer.produce(-2.5, 1, -1.2, 1.2, WIDTH, HEIGHT, 0,
+				(data, limit, requestNo) -> bh.consume(data), cancel);
+	}
+
+}
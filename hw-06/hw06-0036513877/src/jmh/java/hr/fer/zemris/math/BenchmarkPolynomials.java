@@ -0,0 +1,49 @@
+package hr.fer.zemris.math;
+
+/**
+ * Pomoćni razred koji stvara polinome zadanog stupnja za mjerenja performansi, tako da
+ * mjerenja za isti stupanj uvijek koriste isti polinom.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public class BenchmarkPolynomials {
+
+	private BenchmarkPolynomials() {}
+
+	/**
+	 * Stvara polinom stupnja {@code degree} s vodećim koeficijentom 1 čije su nultočke
+	 * raspoređene oko jedinične kružnice, s modulima od 1 do 1.2 kako polinom ne bi bio
+	 * previše simetričan.
+	 *
+	 * @param degree stupanj polinoma.
+	 * @return polinom u faktoriziranom obliku.
+	 */
+	public static ComplexRootedPolynomial ofDegree(int degree) {
+		Complex[] roots = new Complex[degree];
+		for (int k = 0; k < degree; k++) {
+			double module = 1 + 0.1 * (k % 3);
+			double angle = 2 * Math.PI * k / degree + 0.3;
+			roots[k] = new Complex(module * Math.cos(angle), module * Math.sin(angle));
+		}
+		return new ComplexRootedPolynomial(Complex.ONE, roots);
+	}
+
+	/**
+	 * Stvara {@code count} točaka jednoliko raspoređenih po kvadratu [-2, 2] x [-2, 2].
+	 *
+	 * @param count broj točaka.
+	 * @return polje točaka.
+	 */
+	public static Complex[] points(int count) {
+		int side = (int) Math.ceil(Math.sqrt(count));
+		Complex[] points = new Complex[count];
+		for (int i = 0; i < count; i++) {
+			double re = -2 + 4.0 * (i % side) / side;
+			double im = -2 + 4.0 * (i / side) / side;
+			points[i] = new Complex(re, im);
+		}
+		return points;
+	}
+
+}
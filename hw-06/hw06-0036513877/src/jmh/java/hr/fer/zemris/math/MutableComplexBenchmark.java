@@ -0,0 +1,92 @@
+package hr.fer.zemris.math;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Uspoređuje jedan Newtonov korak {@code z - f(z)/f'(z)} (Hornerov izračun polinoma i
+ * njegove derivacije) računan nepromjenjivim {@link Complex} brojevima, koji za svaku
+ * operaciju stvaraju novi objekt, i promjenjivim {@link MutableComplex} brojevima koji
+ * se ponovno koriste. Vrijeme je izraženo po jednoj točki.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MutableComplexBenchmark {
+
+	private static final int POINTS = 1024;
+
+	@Param({"4", "16"})
+	private int degree;
+
+	private Complex[] coefs;
+	private Complex[] derivedCoefs;
+	private Complex[] points;
+
+	private final MutableComplex f = new MutableComplex();
+	private final MutableComplex df = new MutableComplex();
+
+	@Setup
+	public void setup() {
+		ComplexPolynomial polynomial = BenchmarkPolynomials.ofDegree(degree).toComplexPolynom();
+		coefs = polynomial.getCoefficients();
+		derivedCoefs = polynomial.derive().getCoefficients();
+		points = BenchmarkPolynomials.points(POINTS);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public void immutable(Blackhole bh) {
+		for (Complex z : points) {
+			Complex f = coefs[coefs.length - 1];
+			for (int i = coefs.length - 2; i >= 0; i--) {
+				f = f.multiply(z).add(coefs[i]);
+			}
+			Complex df = derivedCoefs[derivedCoefs.length - 1];
+			for (int i = derivedCoefs.length - 2; i >= 0; i--) {
+				df = df.multiply(z).add(derivedCoefs[i]);
+			}
+			Complex next = z.sub(f.divide(df));
+			bh.consume(next.getReal());
+			bh.consume(next.getImaginary());
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public void mutable(Blackhole bh) {
+		for (Complex z : points) {
+			f.set(coefs[coefs.length - 1]);
+			for (int i = coefs.length - 2; i >= 0; i--) {
+				f.multiply(z).add(coefs[i]);
+			}
+			df.set(derivedCoefs[derivedCoefs.length - 1]);
+			for (int i = derivedCoefs.length - 2; i >= 0; i--) {
+				df.multiply(z).add(derivedCoefs[i]);
+			}
+			f.divide(df).negate().add(z);
+			bh.consume(f.getReal());
+			bh.consume(f.getImaginary());
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+package hr.fer.zemris.math;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Uspoređuje izračun vrijednosti polinoma u obliku sume potencija
+ * ({@link ComplexPolynomial#apply(Complex)}) i u faktoriziranom obliku
+ * ({@link ComplexRootedPolynomial#apply(Complex)}), točku po točku i nad poljima točaka
+ * ({@code applyBatch}), te mjeri traženje najbliže nultočke
+ * ({@link ComplexRootedPolynomial#indexOfClosestRootFor(Complex, double)}) za različite
+ * stupnjeve polinoma. Vrijeme je izraženo po jednoj točki.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolynomialBenchmark {
+
+	private static final int POINTS = 1024;
+
+	@Param({"2", "3", "4", "6", "8", "12", "16"})
+	private int degree;
+
+	private ComplexRootedPolynomial rooted;
+	private ComplexPolynomial polynomial;
+	private Complex[] points;
+	private Complex[] nearRoots;
+	private double[] re;
+	private double[] im;
+	private double[] outRe;
+	private double[] outIm;
+
+	@Setup
+	public void setup() {
+		rooted = BenchmarkPolynomials.ofDegree(degree);
+		polynomial = rooted.toComplexPolynom();
+		points = BenchmarkPolynomials.points(POINTS);
+		re = new double[POINTS];
+		im = new double[POINTS];
+		for (int i = 0; i < POINTS; i++) {
+			re[i] = points[i].getReal();
+			im[i] = points[i].getImaginary();
+		}
+		outRe = new double[POINTS];
+		outIm = new double[POINTS];
+
+		// točke blizu nultočaka, kakve se pojavljuju na kraju Newtonove iteracije
+		Complex[] roots = rooted.getRoots();
+		nearRoots = new Complex[POINTS];
+		for (int i = 0; i < POINTS; i++) {
+			nearRoots[i] = roots[i % roots.length].add(new Complex(1e-4 * (i % 7), -1e-4 * (i % 5)));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public void polynomialApply(Blackhole bh) {
+		for (Complex z : points) {
+			bh.consume(polynomial.apply(z));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public void rootedApply(Blackhole bh) {
+		for (Complex z : points) {
+			bh.consume(rooted.apply(z));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public void polynomialApplyBatch(Blackhole bh) {
+		polynomial.applyBatch(re, im, outRe, outIm);
+		bh.consume(outRe);
+		bh.consume(outIm);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public void rootedApplyBatch(Blackhole bh) {
+		rooted.applyBatch(re, im, outRe, outIm);
+		bh.consume(outRe);
+		bh.consume(outIm);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public void indexOfClosestRootFor(Blackhole bh) {
+		for (Complex z : nearRoots) {
+			bh.consume(rooted.indexOfClosestRootFor(z, 0.002));
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+package hr.fer.zemris.math;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Uspoređuje traženje nultočke najbliže točki pregledavanjem svih nultočaka redom i
+ * prostornim indeksom {@link RootGrid}, za točke blizu nultočaka (kao na kraju Newtonove
+ * iteracije) i granicu udaljenosti 0.002. Vrijeme je izraženo po jednoj točki.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RootGridBenchmark {
+
+	private static final int POINTS = 1024;
+	private static final double TRESHOLD_SQ = 0.002 * 0.002;
+
+	@Param({"16", "64", "256", "1024"})
+	private int degree;
+
+	private double[] rootsRe;
+	private double[] rootsIm;
+	private RootGrid grid;
+	private double[] re;
+	private double[] im;
+
+	@Setup
+	public void setup() {
+		Complex[] roots = BenchmarkPolynomials.ofDegree(degree).getRoots();
+		rootsRe = new double[degree];
+		rootsIm = new double[degree];
+		for (int i = 0; i < degree; i++) {
+			rootsRe[i] = roots[i].getReal();
+			rootsIm[i] = roots[i].getImaginary();
+		}
+		grid = new RootGrid(rootsRe, rootsIm);
+
+		re = new double[POINTS];
+		im = new double[POINTS];
+		for (int i = 0; i < POINTS; i++) {
+			Complex root = roots[i * 7 % degree];
+			re[i] = root.getReal() + 1e-3 * Math.cos(i);
+			im[i] = root.getImaginary() + 1e-3 * Math.sin(i);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public void linear(Blackhole bh) {
+		for (int k = 0; k < POINTS; k++) {
+			int index = -1;
+			double minDistanceSq = Double.POSITIVE_INFINITY;
+			for (int i = 0; i < rootsRe.length; i++) {
+				double dRe = re[k] - rootsRe[i];
+				double dIm = im[k] - rootsIm[i];
+				double distanceSq = dRe * dRe + dIm * dIm;
+				if (distanceSq < minDistanceSq && distanceSq <= TRESHOLD_SQ) {
+					minDistanceSq = distanceSq;
+					index = i;
+				}
+			}
+			bh.consume(index);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public void grid(Blackhole bh) {
+		for (int k = 0; k < POINTS; k++) {
+			bh.consume(grid.indexOfClosest(re[k], im[k], TRESHOLD_SQ));
+		}
+	}
+
+}
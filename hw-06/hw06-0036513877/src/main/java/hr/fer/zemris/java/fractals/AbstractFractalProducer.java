@@ -1,5 +1,7 @@
 package hr.fer.zemris.java.fractals;
 
+import java.util.Objects;
+
 import hr.fer.zemris.java.fractals.viewer.IFractalProducer;
 import hr.fer.zemris.math.ComplexPolynomial;
 import hr.fer.zemris.math.ComplexRootedPolynomial;
@@ -22,21 +24,78 @@ public abstract class AbstractFractalProducer implements IFractalProducer {
 	 */
 	protected ComplexPolynomial function;
 	/**
-	 * Prva derivacija polinoma.
+	 * Izračun Newtonovog koraka za polinom Hornerovim postupkom, zajednički svim dretvama 
+	 * generatora.
+	 */
+	protected final PolynomialEvaluator evaluator;
+	/**
+	 * Izračun Newtonovog koraka za polinom preko nultočaka, koji dijeli polja s 
+	 * {@link #evaluator}.
 	 */
-	protected ComplexPolynomial derivative;
+	private final PolynomialEvaluator rootedEvaluator;
+	/**
+	 * Postavke izračuna koje se koriste za sljedeće zahtjeve.
+	 */
+	private volatile RenderOptions options = RenderOptions.DEFAULT;
 	
 	/**
 	 * Konstruktor namijenjen podrazredima koji prima polinom u faktoriziranom obliku koji će 
 	 * se koristiti za generiranje podataka o fraktalu. Polinom se zatim
-	 * pretvara u polinom u obliku sume i potencija te se derivira.
+	 * pretvara u polinom u obliku sume i potencija. Newtonov korak se priprema jednom, 
+	 * u objektu {@link PolynomialEvaluator}, iz istih koeficijenata.
 	 * 
 	 * @param functionRooted polinom u faktoriziranom obliku.
 	 */
 	protected AbstractFractalProducer(ComplexRootedPolynomial functionRooted) {
 		this.functionRooted = functionRooted;
 		function = functionRooted.toComplexPolynom();
-		derivative = function.derive();
+		evaluator = new PolynomialEvaluator(functionRooted, function, false);
+		rootedEvaluator = evaluator.getDegree() > 0 ? evaluator.withRooted(true) : evaluator;
+	}
+	
+	/**
+	 * Konstruktor namijenjen podrazredima koji prima polinom zadan koeficijentima. Nultočke 
+	 * polinoma se pronalaze metodom {@link ComplexPolynomial#findRoots()}, a generator se 
+	 * dalje stvara kao da je predan polinom u faktoriziranom obliku.
+	 * 
+	 * @param function polinom u obliku sume i potencija.
+	 * @throws NullPointerException ako je predani polinom {@code null}.
+	 */
+	protected AbstractFractalProducer(ComplexPolynomial function) {
+		this(Objects.requireNonNull(function, "Predani polinom je null.").findRoots());
+	}
+	
+	/**
+	 * Vraća izračun Newtonovog koraka koji odgovara postavkama {@code options}: preko 
+	 * nultočaka ako to postavke traže (vidi {@link RenderOptions#isRootedStep()}), a 
+	 * inače Hornerovim postupkom.
+	 * 
+	 * @param options postavke izračuna.
+	 * @return izračun Newtonovog koraka.
+	 */
+	protected PolynomialEvaluator evaluatorFor(RenderOptions options) {
+		return options.isRootedStep() ? rootedEvaluator : evaluator;
+	}
+	
+	/**
+	 * Vraća postavke izračuna koje ovaj generator koristi. Implementacije bi trebale 
+	 * dohvatiti postavke jednom na početku svakog zahtjeva i koristiti ih za cijeli zahtjev.
+	 * 
+	 * @return postavke izračuna.
+	 */
+	public RenderOptions getOptions() {
+		return options;
+	}
+	
+	/**
+	 * Postavlja postavke izračuna koje će se koristiti za sve sljedeće zahtjeve. 
+	 * Zahtjev koji je već u tijeku nastavlja s postavkama s kojima je započeo.
+	 * 
+	 * @param options nove postavke izračuna.
+	 * @throws NullPointerException ako su predane postavke {@code null}.
+	 */
+	public void setOptions(RenderOptions options) {
+		this.options = Objects.requireNonNull(options, "Predane postavke izračuna su null.");
 	}
 	
 }
@@ -0,0 +1,272 @@
+package hr.fer.zemris.java.fractals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import hr.fer.zemris.java.fractals.viewer.IFractalResultObserver;
+import hr.fer.zemris.math.ComplexRootedPolynomial;
+
+/**
+ * Paralelni generator podataka o fraktalu koji izračunate pločice sprema u priručnu
+ * memoriju {@link FractalTileCache}, tako da se prilikom pomicanja ili ponovnog prikaza
+ * istog područja računaju samo pločice koje još nisu izračunate.<br>
+ * Pločice su poravnate na globalnu mrežu piksela: piksel s globalnim koordinatama
+ * {@code (gx, gy)} odgovara kompleksnom broju {@code gx * scaleRe - i * gy * scaleIm}. Veličina
+ * piksela se zaokružuje na relativnu preciznost od oko 3e-7, a ishodište zahtjeva na
+ * najbliži piksel mreže, pa je generirana slika u odnosu na traženu pomaknuta za najviše
+ * pola piksela. Zahvaljujući tome pomaknuti i ponovljeni zahtjevi dijele iste pločice.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public class CachingFractalProducer extends ParallelFractalProducer {
+
+	/**
+	 * Pretpostavljena duljina stranice pločice u pikselima.
+	 */
+	public static final int DEFAULT_TILE_SIZE = 64;
+	/**
+	 * Broj koraka zaokruživanja veličine piksela po jednom udvostručenju.
+	 */
+	private static final double SCALE_STEPS = 1 << 20;
+
+	/**
+	 * Posao izračuna jedne pločice koja nije pronađena u priručnoj memoriji.
+	 *
+	 * @author Tomislav Bjelčić
+	 *
+	 */
+	private class TileTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		double scaleRe;
+		double scaleIm;
+		long tileX;
+		long tileY;
+		Viewport viewport;
+
+		TileTask(double scaleRe, double scaleIm, long tileX, long tileY, Viewport viewport) {
+			this.scaleRe = scaleRe;
+			this.scaleIm = scaleIm;
+			this.tileX = tileX;
+			this.tileY = tileY;
+			this.viewport = viewport;
+		}
+
+		@Override
+		protected void compute() {
+			if (viewport.cancel.get())
+				return;
+
+			long gx0 = tileX * tileSize;
+			long gy0 = tileY * tileSize;
+			long gx1 = gx0 + tileSize - 1;
+			long gy1 = gy0 + tileSize - 1;
+			short[] tile = new short[tileSize * tileSize];
+			calculateTile(gx0 * scaleRe, gx1 * scaleRe, -gy1 * scaleIm, -gy0 * scaleIm,
+					tileSize, tileSize, 0, tileSize - 1, 0, tileSize - 1,
+					viewport.options, tile, null, viewport.cancel);
+
+			// prekinuti izračun je mogao ostaviti pločicu nedovršenom
+			if (viewport.cancel.get())
+				return;
+			cache.put(functionRooted, viewport.options, scaleRe, scaleIm, tileX, tileY, tile);
+			viewport.copy(tile, tileX, tileY);
+		}
+	}
+
+	/**
+	 * Položaj zahtjeva u globalnoj mreži piksela i polje u koje se zapisuju podaci.
+	 *
+	 * @author Tomislav Bjelčić
+	 *
+	 */
+	private class Viewport {
+
+		long originX;
+		long originY;
+		int width;
+		int height;
+		RenderOptions options;
+		short[] data;
+		AtomicBoolean cancel;
+
+		Viewport(long originX, long originY, int width, int height, RenderOptions options,
+				short[] data, AtomicBoolean cancel) {
+			this.originX = originX;
+			this.originY = originY;
+			this.width = width;
+			this.height = height;
+			this.options = options;
+			this.data = data;
+			this.cancel = cancel;
+		}
+
+		/**
+		 * Kopira dio pločice {@code (tileX, tileY)} koji se preklapa sa zahtjevom u polje podataka.
+		 */
+		void copy(short[] tile, long tileX, long tileY) {
+			long gx0 = Math.max(tileX * tileSize, originX);
+			long gx1 = Math.min(tileX * tileSize + tileSize, originX + width);
+			long gy0 = Math.max(tileY * tileSize, originY);
+			long gy1 = Math.min(tileY * tileSize + tileSize, originY + height);
+			int length = (int) (gx1 - gx0);
+
+			for (long gy = gy0; gy < gy1; gy++) {
+				int src = (int) ((gy - tileY * tileSize) * tileSize + (gx0 - tileX * tileSize));
+				int dst = (int) ((gy - originY) * width + (gx0 - originX));
+				System.arraycopy(tile, src, data, dst, length);
+			}
+		}
+	}
+
+	/**
+	 * Priručna memorija pločica.
+	 */
+	private FractalTileCache cache;
+	/**
+	 * Duljina stranice pločice u pikselima.
+	 */
+	private int tileSize;
+
+	/**
+	 * Stvara novi generator podataka o fraktalu koristeći polinom {@code crp}, vlastiti
+	 * bazen od {@code workers} dretvi, priručnu memoriju {@code cache} i pločice sa
+	 * stranicom duljine {@code tileSize} piksela.
+	 *
+	 * @param workers broj dretvi.
+	 * @param crp polinom u faktoriziranom obliku.
+	 * @param cache priručna memorija pločica.
+	 * @param tileSize duljina stranice pločice.
+	 * @throws NullPointerException ako je priručna memorija {@code null}.
+	 * @throws IllegalArgumentException ako je broj dretvi manji od 1 ili je duljina stranice
+	 * pločice manja od 2.
+	 */
+	public CachingFractalProducer(int workers, ComplexRootedPolynomial crp,
+			FractalTileCache cache, int tileSize) {
+		super(workers, 1, crp);
+		init(cache, tileSize);
+	}
+
+	/**
+	 * Stvara novi generator podataka o fraktalu koristeći polinom {@code crp}, predani
+	 * bazen dretvi {@code pool}, priručnu memoriju {@code cache} i pločice sa stranicom
+	 * duljine {@code tileSize} piksela.
+	 *
+	 * @param pool bazen dretvi koji obavlja izračun.
+	 * @param crp polinom u faktoriziranom obliku.
+	 * @param cache priručna memorija pločica.
+	 * @param tileSize duljina stranice pločice.
+	 * @throws NullPointerException ako je bazen dretvi ili priručna memorija {@code null}.
+	 * @throws IllegalArgumentException ako je duljina stranice pločice manja od 2.
+	 */
+	public CachingFractalProducer(ForkJoinPool pool, ComplexRootedPolynomial crp,
+			FractalTileCache cache, int tileSize) {
+		super(pool, 1, crp);
+		init(cache, tileSize);
+	}
+
+	/**
+	 * Postavlja priručnu memoriju i duljinu stranice pločice.
+	 */
+	private void init(FractalTileCache cache, int tileSize) {
+		this.cache = Objects.requireNonNull(cache, "Predana priručna memorija je null.");
+		if (tileSize < 2)
+			throw new IllegalArgumentException("Duljina stranice pločice mora biti barem 2, a predano je " + tileSize);
+		this.tileSize = tileSize;
+	}
+
+	/**
+	 * Vraća priručnu memoriju pločica ovog generatora.
+	 *
+	 * @return priručna memorija pločica.
+	 */
+	public FractalTileCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * Ovaj generator ne generira broj iteracija za piksele.
+	 *
+	 * @throws IllegalArgumentException ako predane postavke traže broj iteracija
+	 * ({@link RenderOptions#isIterationCounts()}).
+	 */
+	@Override
+	public void setOptions(RenderOptions options) {
+		if (options != null && options.isIterationCounts())
+			throw new IllegalArgumentException("Generator s priručnom memorijom pločica ne generira broj iteracija.");
+		super.setOptions(options);
+	}
+
+	/**
+	 * Generira podatke o fraktalu slaganjem pločica iz priručne memorije i računanjem
+	 * samo onih pločica koje u njoj nisu pronađene, te generirani rezultat šalje
+	 * promatraču {@code observer}.
+	 */
+	@Override
+	public void produce(double reMin, double reMax, double imMin, double imMax,
+			int width, int height,
+			long requestNo, IFractalResultObserver observer,
+			AtomicBoolean cancel) {
+
+		double scaleRe = quantize((reMax - reMin) / (width - 1));
+		double scaleIm = quantize((imMax - imMin) / (height - 1));
+		if (width < 2 || height < 2 || !(scaleRe > 0) || !(scaleIm > 0)
+				|| Double.isInfinite(scaleRe) || Double.isInfinite(scaleIm)) {
+			super.produce(reMin, reMax, imMin, imMax, width, height, requestNo, observer, cancel);
+			return;
+		}
+
+		RenderOptions options = getOptions();
+		short[] data = new short[width * height];
+		long originX = Math.round(reMin / scaleRe);
+		long originY = Math.round(-imMax / scaleIm);
+		Viewport viewport = new Viewport(originX, originY, width, height, options, data, cancel);
+
+		long tileX0 = Math.floorDiv(originX, tileSize);
+		long tileX1 = Math.floorDiv(originX + width - 1, tileSize);
+		long tileY0 = Math.floorDiv(originY, tileSize);
+		long tileY1 = Math.floorDiv(originY + height - 1, tileSize);
+
+		List<TileTask> missing = new ArrayList<>();
+		for (long tileY = tileY0; tileY <= tileY1; tileY++) {
+			for (long tileX = tileX0; tileX <= tileX1; tileX++) {
+				short[] tile = cache.get(functionRooted, options, scaleRe, scaleIm, tileX, tileY);
+				if (tile != null)
+					viewport.copy(tile, tileX, tileY);
+				else
+					missing.add(new TileTask(scaleRe, scaleIm, tileX, tileY, viewport));
+			}
+		}
+
+		if (!missing.isEmpty()) {
+			invoke(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute() {
+					invokeAll(missing);
+				}
+			});
+		}
+
+		observer.acceptResult(data, (short)(function.order() + 1), requestNo);
+	}
+
+	/**
+	 * Zaokružuje veličinu piksela {@code scale} na najbližu vrijednost oblika
+	 * 2<sup>k / 2<sup>20</sup></sup>, tako da zahtjevi na istoj razini povećanja
+	 * imaju točno istu veličinu piksela.
+	 */
+	private static double quantize(double scale) {
+		double steps = Math.rint(StrictMath.log(scale) / StrictMath.log(2) * SCALE_STEPS);
+		return StrictMath.pow(2, steps / SCALE_STEPS);
+	}
+
+}
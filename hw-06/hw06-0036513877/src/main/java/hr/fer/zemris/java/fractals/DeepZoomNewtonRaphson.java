@@ -0,0 +1,300 @@
+package hr.fer.zemris.java.fractals;
+
+import static hr.fer.zemris.java.fractals.FractalConstants.DEEP_ZOOM_PIXEL_SIZE;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Izračun podataka o fraktalu Newton-Raphsonovom metodom u proširenoj preciznosti, za
+ * jako uvećana područja kompleksne ravnine.<br>
+ * Kad je razmak između susjednih piksela usporediv s preciznošću {@code double} brojeva,
+ * početne točke susjednih piksela postaju jednake (ili se razlikuju tek u zadnjim bitovima
+ * koje iteracija odmah izgubi), pa je slika "kockasta". Ovaj razred zato i početne točke i
+ * cijelu iteraciju računa u "double-double" aritmetici: svaki realni broj je zbroj dva
+ * {@code double} broja ({@code hi + lo}, {@code |lo| <= ulp(hi) / 2}), što daje oko 106 bitova
+ * mantise.<br>
+ * Newtonov korak se uvijek računa preko nultočaka, kao {@code 1 / sum 1/(z - z_i)}, jer su
+ * nultočke zadane točno, dok bi koeficijenti polinoma u obliku sume potencija već bili
+ * zaokruženi na {@code double} preciznost. Rezultati su stoga (do na piksele na samoj granici
+ * bazena) jednaki rezultatima {@link NewtonRaphson} uz {@link PolynomialEvaluator} koji
+ * korak računa preko nultočaka.<br>
+ * Metode razreda {@link NewtonRaphson} same prelaze na ovaj izračun ako je područje
+ * dovoljno uvećano (vidi {@link #isDeepZoom}), pa ga generatori koriste automatski.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public class DeepZoomNewtonRaphson {
+
+	private DeepZoomNewtonRaphson() {}
+
+	/**
+	 * Provjerava je li područje toliko uvećano da ga treba računati u proširenoj
+	 * preciznosti, tj. je li razmak između susjednih piksela manji od
+	 * {@link FractalConstants#DEEP_ZOOM_PIXEL_SIZE} puta veći od modula koordinata područja
+	 * (ali barem 1).
+	 *
+	 * @param reMin najmanji realni dio područja.
+	 * @param reMax najveći realni dio područja.
+	 * @param imMin najmanji imaginarni dio područja.
+	 * @param imMax najveći imaginarni dio područja.
+	 * @param width širina rastera.
+	 * @param height visina rastera.
+	 * @return {@code true} ako područje treba računati u proširenoj preciznosti.
+	 */
+	public static boolean isDeepZoom(double reMin, double reMax, double imMin, double imMax,
+			int width, int height) {
+		double pixelSize = Math.min((reMax - reMin) / width, (imMax - imMin) / height);
+		double magnitude = Math.max(Math.max(1, Math.max(Math.abs(reMin), Math.abs(reMax))),
+				Math.max(Math.abs(imMin), Math.abs(imMax)));
+		return pixelSize < DEEP_ZOOM_PIXEL_SIZE * magnitude;
+	}
+
+	/**
+	 * Računa podatke o fraktalu za pločicu određenu stupcima od {@code xmin} do {@code xmax}
+	 * i retcima od {@code ymin} do {@code ymax} (sve uključivo). Značenje parametara jednako je
+	 * kao kod metode {@link NewtonRaphson#calculate(double, double, double, double, double,
+	 * double, PolynomialEvaluator, int, int, int, int, int, int, int, short[], short[], AtomicBoolean)}.
+	 *
+	 */
+	public static void calculate(
+			double reMin,
+			double reMax,
+			double imMin,
+			double imMax,
+			double rootTreshold,
+			double convergenceTreshold,
+			PolynomialEvaluator evaluator,
+			int width,
+			int height,
+			int maxIter,
+			int xmin,
+			int xmax,
+			int ymin,
+			int ymax,
+			short[] data,
+			short[] iterations,
+			AtomicBoolean cancel) {
+
+		double convergenceTresholdSq = convergenceTreshold * convergenceTreshold;
+		double rootTresholdSq = rootTreshold * rootTreshold;
+		double[] t = new double[2];
+		double[] z0 = new double[4];
+
+		for(int y = ymin; y <= ymax; y++) {
+			if(cancel.get()) break;
+			int offset = y * width + xmin;
+			for(int x = xmin; x <= xmax; x++) {
+				startingPoint(x, y, reMin, reMax, imMin, imMax, width, height, z0, t);
+				int result = indexOfRootFor(z0, evaluator,
+						convergenceTresholdSq, rootTresholdSq, maxIter, t);
+				data[offset] = (short) result;
+				if (iterations != null)
+					iterations[offset] = (short) (result >>> 16);
+				offset++;
+			}
+		}
+	}
+
+	/**
+	 * Računa podatke o fraktalu samo za {@code count} piksela retka {@code y} čiji su stupci
+	 * zadani u polju {@code columns}. Značenje parametara jednako je kao kod metode
+	 * {@link NewtonRaphson#calculate(double, double, double, double, double, double,
+	 * PolynomialEvaluator, int, int, int, int, int[], int, short[])}.
+	 *
+	 */
+	public static void calculate(
+			double reMin,
+			double reMax,
+			double imMin,
+			double imMax,
+			double rootTreshold,
+			double convergenceTreshold,
+			PolynomialEvaluator evaluator,
+			int width,
+			int height,
+			int maxIter,
+			int y,
+			int[] columns,
+			int count,
+			short[] data) {
+
+		double convergenceTresholdSq = convergenceTreshold * convergenceTreshold;
+		double rootTresholdSq = rootTreshold * rootTreshold;
+		double[] t = new double[2];
+		double[] z0 = new double[4];
+
+		int rowOffset = y * width;
+		for (int i=0; i<count; i++) {
+			int x = columns[i];
+			startingPoint(x, y, reMin, reMax, imMin, imMax, width, height, z0, t);
+			int result = indexOfRootFor(z0, evaluator,
+					convergenceTresholdSq, rootTresholdSq, maxIter, t);
+			data[rowOffset + x] = (short) result;
+		}
+	}
+
+	/**
+	 * Računa početnu točku piksela {@code (x, y)} u proširenoj preciznosti i upisuje je u
+	 * polje {@code z0} redom kao {@code reHi, reLo, imHi, imLo}.
+	 */
+	private static void startingPoint(int x, int y, double reMin, double reMax,
+			double imMin, double imMax, int width, int height, double[] z0, double[] t) {
+		// razlika bliskih granica je točna, pa je jedina pogreška ona u udjelu piksela
+		twoProd(x / (width-1.0), reMax - reMin, t);
+		add(t[0], t[1], reMin, 0, t);
+		z0[0] = t[0];
+		z0[1] = t[1];
+		twoProd((height-1.0-y) / (height-1), imMax - imMin, t);
+		add(t[0], t[1], imMin, 0, t);
+		z0[2] = t[0];
+		z0[3] = t[1];
+	}
+
+	/**
+	 * Provodi Newton-Raphsonovu iteraciju u proširenoj preciznosti počevši od točke
+	 * {@code z0} i vraća poziciju nultočke kojoj je iteracija konvergirala uvećanu za 1
+	 * (0 ako takva ne postoji) u nižih 16 bitova, te broj provedenih iteracija u viših
+	 * 16 bitova rezultata.
+	 *
+	 * @param z0 početna točka, redom {@code reHi, reLo, imHi, imLo}.
+	 * @param evaluator izračun Newtonovog koraka čije se nultočke koriste.
+	 * @param convergenceTresholdSq kvadrat granice konvergencije.
+	 * @param rootTresholdSq kvadrat granične udaljenosti od nultočke.
+	 * @param maxIter najveći broj iteracija.
+	 * @param t pomoćno polje duljine 2.
+	 * @return pozicija nultočke uvećana za 1 i broj iteracija.
+	 */
+	private static int indexOfRootFor(double[] z0, PolynomialEvaluator evaluator,
+			double convergenceTresholdSq, double rootTresholdSq, int maxIter, double[] t) {
+		double[] rootsRe = evaluator.rootsRe();
+		double[] rootsIm = evaluator.rootsIm();
+		double zReHi = z0[0];
+		double zReLo = z0[1];
+		double zImHi = z0[2];
+		double zImLo = z0[3];
+
+		int iters = 0;
+		while (iters < maxIter) {
+			iters++;
+			// sum = sum 1/(zn - z_i)
+			double sumReHi = 0, sumReLo = 0, sumImHi = 0, sumImLo = 0;
+			boolean atRoot = false;
+			for (int i=0; i<rootsRe.length; i++) {
+				add(zReHi, zReLo, -rootsRe[i], 0, t);
+				double aReHi = t[0], aReLo = t[1];
+				add(zImHi, zImLo, -rootsIm[i], 0, t);
+				double aImHi = t[0], aImLo = t[1];
+
+				mul(aReHi, aReLo, aReHi, aReLo, t);
+				double mHi = t[0], mLo = t[1];
+				mul(aImHi, aImLo, aImHi, aImLo, t);
+				add(mHi, mLo, t[0], t[1], t);
+				if (t[0] == 0) {
+					atRoot = true;
+					break;
+				}
+				div(1, 0, t[0], t[1], t);
+				double invHi = t[0], invLo = t[1];
+
+				mul(aReHi, aReLo, invHi, invLo, t);
+				add(sumReHi, sumReLo, t[0], t[1], t);
+				sumReHi = t[0];
+				sumReLo = t[1];
+				mul(aImHi, aImLo, invHi, invLo, t);
+				add(sumImHi, sumImLo, -t[0], -t[1], t);
+				sumImHi = t[0];
+				sumImLo = t[1];
+			}
+
+			// diff = 1 / sum
+			double diffReHi = 0, diffReLo = 0, diffImHi = 0, diffImLo = 0;
+			if (!atRoot) {
+				mul(sumReHi, sumReLo, sumReHi, sumReLo, t);
+				double sHi = t[0], sLo = t[1];
+				mul(sumImHi, sumImLo, sumImHi, sumImLo, t);
+				add(sHi, sLo, t[0], t[1], t);
+				div(1, 0, t[0], t[1], t);
+				double invHi = t[0], invLo = t[1];
+				mul(sumReHi, sumReLo, invHi, invLo, t);
+				diffReHi = t[0];
+				diffReLo = t[1];
+				mul(sumImHi, sumImLo, invHi, invLo, t);
+				diffImHi = -t[0];
+				diffImLo = -t[1];
+				if (Double.isNaN(diffReHi) || Double.isNaN(diffImHi)) {
+					diffReHi = diffReLo = diffImHi = diffImLo = 0;
+				}
+			}
+			double diffModuleSq = diffReHi * diffReHi + diffImHi * diffImHi;
+
+			add(zReHi, zReLo, -diffReHi, -diffReLo, t);
+			zReHi = t[0];
+			zReLo = t[1];
+			add(zImHi, zImLo, -diffImHi, -diffImLo, t);
+			zImHi = t[0];
+			zImLo = t[1];
+			if (diffModuleSq <= convergenceTresholdSq)
+				break;
+		}
+
+		// niži dio točke je manji od pola ulp-a višeg, što je zanemarivo prema granici udaljenosti
+		int index = evaluator.indexOfClosestRoot(zReHi, zImHi, rootTresholdSq);
+		return iters << 16 | (index + 1);
+	}
+
+	/**
+	 * Upisuje točan umnožak {@code a * b} u polje {@code t} kao {@code hi, lo}.
+	 */
+	private static void twoProd(double a, double b, double[] t) {
+		double p = a * b;
+		t[0] = p;
+		t[1] = Math.fma(a, b, -p);
+	}
+
+	/**
+	 * Upisuje zbroj {@code (aHi + aLo) + (bHi + bLo)} u polje {@code t} kao {@code hi, lo}.
+	 */
+	private static void add(double aHi, double aLo, double bHi, double bLo, double[] t) {
+		double s = aHi + bHi;
+		double bb = s - aHi;
+		double e = (aHi - (s - bb)) + (bHi - bb);
+		double u = aLo + bLo;
+		double cc = u - aLo;
+		double f = (aLo - (u - cc)) + (bLo - cc);
+		e += u;
+		double hi = s + e;
+		e = e - (hi - s);
+		e += f;
+		double sum = hi + e;
+		t[0] = sum;
+		t[1] = e - (sum - hi);
+	}
+
+	/**
+	 * Upisuje umnožak {@code (aHi + aLo) * (bHi + bLo)} u polje {@code t} kao {@code hi, lo}.
+	 */
+	private static void mul(double aHi, double aLo, double bHi, double bLo, double[] t) {
+		double p = aHi * bHi;
+		double e = Math.fma(aHi, bHi, -p);
+		e += aHi * bLo + aLo * bHi;
+		double hi = p + e;
+		t[0] = hi;
+		t[1] = e - (hi - p);
+	}
+
+	/**
+	 * Upisuje kvocijent {@code (aHi + aLo) / (bHi + bLo)} u polje {@code t} kao {@code hi, lo}.
+	 */
+	private static void div(double aHi, double aLo, double bHi, double bLo, double[] t) {
+		double q1 = aHi / bHi;
+		// ostatak a - q1 * b
+		mul(q1, 0, bHi, bLo, t);
+		add(aHi, aLo, -t[0], -t[1], t);
+		double q2 = t[0] / bHi;
+		double hi = q1 + q2;
+		t[0] = hi;
+		t[1] = q2 - (hi - q1);
+	}
+
+}
@@ -14,5 +14,6 @@ public class FractalConstants {
 	public static final int MAX_ITERATIONS = 1 << 8;
 	public static final double CONVERGENCE_TRESHOLD = 0.001;
 	public static final double ROOT_TRESHOLD = 0.002;
+	public static final double DEEP_ZOOM_PIXEL_SIZE = 1e-13;
 	
 }
@@ -0,0 +1,162 @@
+package hr.fer.zemris.java.fractals;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Pomoćni razred koji podatke o fraktalu (polje indeksa nultočaka kakvo generira
+ * {@link hr.fer.zemris.java.fractals.viewer.IFractalProducer}) zapisuje izravno u datoteku,
+ * bez prikaznika fraktala.<br>
+ * Podržani su PNG zapis, u kojem se indeksi boje jednakom paletom kakvu koristi prikaznik
+ * fraktala, te sirovi zapis u kojem je svaki indeks zapisan kao dvobajtni broj (big-endian),
+ * redak po redak.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public class FractalImageWriter {
+
+	/**
+	 * Nastavak imena datoteke za PNG zapis.
+	 */
+	public static final String PNG_EXTENSION = ".png";
+	/**
+	 * Nastavak imena datoteke za sirovi zapis.
+	 */
+	public static final String RAW_EXTENSION = ".raw";
+
+	/**
+	 * Privatni konstruktor jer razred sadrži samo statičke metode.
+	 */
+	private FractalImageWriter() {
+	}
+
+	/**
+	 * Zapisuje podatke o fraktalu u datoteku {@code file}. Format zapisa određuje se prema
+	 * nastavku imena datoteke ({@value #PNG_EXTENSION} ili {@value #RAW_EXTENSION}).
+	 *
+	 * @param file datoteka u koju se zapisuju podaci.
+	 * @param data podaci o fraktalu.
+	 * @param limit broj nultočaka polinoma uvećan za 1.
+	 * @param width širina slike.
+	 * @param height visina slike.
+	 * @throws IOException ako zapisivanje ne uspije.
+	 * @throws NullPointerException ako je datoteka ili su podaci {@code null}.
+	 * @throws IllegalArgumentException ako nastavak imena datoteke nije podržan ili
+	 * veličina podataka ne odgovara dimenzijama slike.
+	 */
+	public static void write(Path file, short[] data, short limit, int width, int height) throws IOException {
+		Objects.requireNonNull(file, "Predana datoteka je null.");
+		String name = file.getFileName().toString().toLowerCase();
+		if (name.endsWith(PNG_EXTENSION))
+			writePng(file, data, limit, width, height);
+		else if (name.endsWith(RAW_EXTENSION))
+			writeRaw(file, data, width, height);
+		else
+			throw new IllegalArgumentException("Nepodržan nastavak imena datoteke: " + file);
+	}
+
+	/**
+	 * Zapisuje podatke o fraktalu kao PNG sliku, bojajući ih paletom prikaznika fraktala.
+	 *
+	 * @param file datoteka u koju se zapisuje slika.
+	 * @param data podaci o fraktalu.
+	 * @param limit broj nultočaka polinoma uvećan za 1.
+	 * @param width širina slike.
+	 * @param height visina slike.
+	 * @throws IOException ako zapisivanje ne uspije.
+	 */
+	public static void writePng(Path file, short[] data, short limit, int width, int height) throws IOException {
+		checkSize(data, width, height);
+
+		int[] palette = new int[limit + 1];
+		for (int v = 0; v <= limit; v++) {
+			palette[v] = rgb(v, limit);
+		}
+
+		int[] row = new int[width];
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		for (int y = 0; y < height; y++) {
+			int offset = y * width;
+			for (int x = 0; x < width; x++) {
+				row[x] = palette[data[offset + x]];
+			}
+			image.setRGB(0, y, width, 1, row, 0, width);
+		}
+
+		if (!ImageIO.write(image, "png", file.toFile()))
+			throw new IOException("Nije pronađen zapisivač PNG slika.");
+	}
+
+	/**
+	 * Zapisuje podatke o fraktalu u sirovom obliku preko memorijski mapirane datoteke.
+	 * Datoteka ima točno {@code 2 * width * height} bajtova.
+	 *
+	 * @param file datoteka u koju se zapisuju podaci.
+	 * @param data podaci o fraktalu.
+	 * @param width širina slike.
+	 * @param height visina slike.
+	 * @throws IOException ako zapisivanje ne uspije.
+	 */
+	public static void writeRaw(Path file, short[] data, int width, int height) throws IOException {
+		checkSize(data, width, height);
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) data.length * Short.BYTES);
+			buffer.asShortBuffer().put(data);
+			buffer.force();
+		}
+	}
+
+	/**
+	 * Vraća boju (u RGB zapisu) kojom prikaznik fraktala prikazuje indeks {@code value}
+	 * za polinom s {@code limit - 1} nultočaka.
+	 *
+	 * @param value indeks nultočke, 0 ako iteracija nije konvergirala.
+	 * @param limit broj nultočaka polinoma uvećan za 1.
+	 * @return boja u RGB zapisu.
+	 */
+	public static int rgb(int value, int limit) {
+		int r, g, b;
+		if (limit < 16) {
+			r = (int) (value / (limit - 1.0) * 255 + 0.5);
+			g = 255 - r;
+			int half = Math.max(limit / 2, 1);
+			b = (value % half) * 255 / half;
+		} else if (value == limit) {
+			r = g = b = 0;
+		} else {
+			int m = Math.min(limit, 32);
+			r = value * 255 / m;
+			g = (value % (m / 4)) * 255 / (m / 4);
+			b = (value % (m / 8)) * 255 / (m / 8);
+		}
+		return clamp(r) << 16 | clamp(g) << 8 | clamp(b);
+	}
+
+	/**
+	 * Ograničava komponentu boje na raspon od 0 do 255.
+	 */
+	private static int clamp(int component) {
+		return Math.max(0, Math.min(255, component));
+	}
+
+	/**
+	 * Provjerava odgovara li veličina podataka dimenzijama slike.
+	 */
+	private static void checkSize(short[] data, int width, int height) {
+		Objects.requireNonNull(data, "Predani podaci su null.");
+		if (width < 1 || height < 1 || (long) width * height != data.length)
+			throw new IllegalArgumentException("Veličina podataka " + data.length
+					+ " ne odgovara dimenzijama slike " + width + "x" + height);
+	}
+
+}
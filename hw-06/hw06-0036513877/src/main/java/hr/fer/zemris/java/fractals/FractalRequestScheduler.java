@@ -0,0 +1,142 @@
+package hr.fer.zemris.java.fractals;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import hr.fer.zemris.java.fractals.viewer.IFractalProducer;
+import hr.fer.zemris.java.fractals.viewer.IFractalResultObserver;
+
+/**
+ * Raspoređivač zahtjeva koji zahtjeve za generiranjem podataka prosljeđuje generatoru
+ * {@code delegate} jedan po jedan, dajući prednost najnovijem zahtjevu.<br>
+ * Prikaznik fraktala svaki zahtjev poziva u novoj dretvi, pa se kod brzog uvećavanja
+ * poziva više zahtjeva istovremeno. Ovaj raspoređivač u tom slučaju:
+ * <ul>
+ * <li>odmah prekida zahtjev koji se trenutno izvršava čim stigne zahtjev s većim rednim
+ * brojem (postavljanjem njegove zastavice prekida, koju generator provjerava prije
+ * svake pločice),</li>
+ * <li>ne pokreće zahtjeve koji su zastarjeli dok su čekali na red, već ih samo označava
+ * prekinutima, a</li>
+ * <li>nikad ne izvršava više od jednog zahtjeva odjednom, pa prekinuti zahtjevi ne
+ * zauzimaju dretve dok se računa najnoviji.</li>
+ * </ul>
+ * Zahtjevi se prosljeđuju s izvornim promatračem, pa se zadržava objavljivanje pojaseva
+ * i broja iteracija (vidi {@link IFractalBandObserver} i {@link IFractalIterationObserver}).
+ * Promatraču zastarjelog zahtjeva koji nije ni pokrenut ne objavljuje se rezultat.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public class FractalRequestScheduler implements IFractalProducer, AutoCloseable {
+
+	/**
+	 * Generator kojem se prosljeđuju zahtjevi.
+	 */
+	private final IFractalProducer delegate;
+	/**
+	 * Najveći redni broj zahtjeva koji je stigao.
+	 */
+	private long newest = Long.MIN_VALUE;
+	/**
+	 * Zastavica prekida zahtjeva koji se trenutno izvršava ili {@code null}.
+	 */
+	private AtomicBoolean running;
+
+	/**
+	 * Stvara novi raspoređivač koji zahtjeve prosljeđuje generatoru {@code delegate}.
+	 *
+	 * @param delegate generator koji obavlja izračun.
+	 * @throws NullPointerException ako je predani generator {@code null}.
+	 */
+	public FractalRequestScheduler(IFractalProducer delegate) {
+		this.delegate = Objects.requireNonNull(delegate, "Predani generator je null.");
+	}
+
+	/**
+	 * Prosljeđuje zahtjev generatoru čim završi zahtjev koji se trenutno izvršava, osim
+	 * ako u međuvremenu ne stigne noviji zahtjev. Zahtjev koji se trenutno izvršava
+	 * prekida se ako je ovaj zahtjev noviji od njega. Zastarjeli zahtjevi se označavaju
+	 * prekinutima postavljanjem zastavice {@code cancel}.
+	 */
+	@Override
+	public void produce(double reMin, double reMax, double imMin, double imMax,
+			int width, int height,
+			long requestNo, IFractalResultObserver observer,
+			AtomicBoolean cancel) {
+
+		if (!acquire(requestNo, cancel))
+			return;
+		try {
+			delegate.produce(reMin, reMax, imMin, imMax, width, height, requestNo, observer, cancel);
+		} finally {
+			release();
+		}
+	}
+
+	/**
+	 * Čeka da zahtjev s rednim brojem {@code requestNo} dođe na red.
+	 *
+	 * @return {@code true} ako se zahtjev treba izvršiti, a {@code false} ako je zastario
+	 * ili prekinut.
+	 */
+	private synchronized boolean acquire(long requestNo, AtomicBoolean cancel) {
+		if (requestNo < newest) {
+			cancel.set(true);
+			return false;
+		}
+		newest = requestNo;
+		if (running != null)
+			running.set(true);
+		notifyAll();
+
+		try {
+			while (running != null) {
+				wait();
+				if (requestNo != newest) {
+					cancel.set(true);
+					return false;
+				}
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			cancel.set(true);
+			return false;
+		}
+		if (cancel.get())
+			return false;
+
+		running = cancel;
+		return true;
+	}
+
+	/**
+	 * Oslobađa red za sljedeći zahtjev.
+	 */
+	private synchronized void release() {
+		running = null;
+		notifyAll();
+	}
+
+	/**
+	 * Zatvara generator kojem se prosljeđuju zahtjevi, ako je on {@link AutoCloseable}.
+	 * Neprovjerene iznimke generatora se prosljeđuju nepromijenjene.
+	 *
+	 * @throws IllegalStateException ako zatvaranje generatora baci provjerenu iznimku; 
+	 * ona je uzrok bačene iznimke.
+	 */
+	@Override
+	public void close() {
+		if (!(delegate instanceof AutoCloseable))
+			return;
+		try {
+			((AutoCloseable) delegate).close();
+		} catch (RuntimeException ex) {
+			throw ex;
+		} catch (Exception ex) {
+			if (ex instanceof InterruptedException)
+				Thread.currentThread().interrupt();
+			throw new IllegalStateException("Zatvaranje generatora nije uspjelo.", ex);
+		}
+	}
+
+}
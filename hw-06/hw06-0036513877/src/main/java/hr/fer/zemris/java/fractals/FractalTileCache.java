@@ -0,0 +1,195 @@
+package hr.fer.zemris.java.fractals;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Priručna memorija (cache) izračunatih pločica podataka o fraktalu ograničene veličine.
+ * Pločica je identificirana polinomom (instancom), postavkama izračuna, razinom povećanja
+ * (veličinom piksela u realnom i imaginarnom smjeru) i svojim koordinatama u globalnoj
+ * mreži pločica.<br>
+ * Kad ukupna veličina spremljenih pločica premaši zadanu granicu, izbacuju se pločice
+ * koje najdulje nisu korištene (LRU). Razred vodi evidenciju o broju pogodaka i promašaja
+ * kako bi se mogla podesiti veličina pločice.<br>
+ * Razred je siguran za korištenje iz više dretvi.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public class FractalTileCache {
+
+	/**
+	 * Ključ jedne pločice.
+	 *
+	 * @author Tomislav Bjelčić
+	 *
+	 */
+	private static final class TileKey {
+
+		private final Object polynomial;
+		private final RenderOptions options;
+		private final long scaleRe;
+		private final long scaleIm;
+		private final long tileX;
+		private final long tileY;
+
+		TileKey(Object polynomial, RenderOptions options, double scaleRe, double scaleIm,
+				long tileX, long tileY) {
+			this.polynomial = polynomial;
+			this.options = options;
+			this.scaleRe = Double.doubleToLongBits(scaleRe);
+			this.scaleIm = Double.doubleToLongBits(scaleIm);
+			this.tileX = tileX;
+			this.tileY = tileY;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(System.identityHashCode(polynomial), options, scaleRe, scaleIm, tileX, tileY);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof TileKey))
+				return false;
+			TileKey other = (TileKey) obj;
+			return polynomial == other.polynomial
+					&& Objects.equals(options, other.options)
+					&& scaleRe == other.scaleRe && scaleIm == other.scaleIm
+					&& tileX == other.tileX && tileY == other.tileY;
+		}
+	}
+
+	/**
+	 * Spremljene pločice, poredane od najdulje nekorištene do zadnje korištene.
+	 */
+	private Map<TileKey, short[]> tiles = new LinkedHashMap<>(16, 0.75f, true);
+	/**
+	 * Najveća dozvoljena ukupna veličina spremljenih pločica u bajtovima.
+	 */
+	private long maxBytes;
+	/**
+	 * Trenutna ukupna veličina spremljenih pločica u bajtovima.
+	 */
+	private long residentBytes;
+	/**
+	 * Broj pogodaka.
+	 */
+	private AtomicLong hits = new AtomicLong();
+	/**
+	 * Broj promašaja.
+	 */
+	private AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Stvara novu priručnu memoriju pločica koja zauzima najviše {@code maxBytes} bajtova
+	 * (računajući samo podatke pločica).
+	 *
+	 * @param maxBytes najveća ukupna veličina spremljenih pločica u bajtovima.
+	 * @throws IllegalArgumentException ako je predana veličina negativna.
+	 */
+	public FractalTileCache(long maxBytes) {
+		if (maxBytes < 0)
+			throw new IllegalArgumentException("Veličina priručne memorije ne može biti negativna, a predano je " + maxBytes);
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * Dohvaća pločicu polinoma {@code polynomial} izračunatu s postavkama {@code options}
+	 * na razini povećanja određenoj veličinom piksela {@code scaleRe} x {@code scaleIm}
+	 * i koordinatama {@code (tileX, tileY)}.
+	 *
+	 * @return podaci pločice ili {@code null} ako pločica nije spremljena.
+	 */
+	public short[] get(Object polynomial, RenderOptions options, double scaleRe, double scaleIm,
+			long tileX, long tileY) {
+		short[] tile;
+		synchronized (this) {
+			tile = tiles.get(new TileKey(polynomial, options, scaleRe, scaleIm, tileX, tileY));
+		}
+		(tile == null ? misses : hits).incrementAndGet();
+		return tile;
+	}
+
+	/**
+	 * Sprema pločicu polinoma {@code polynomial} izračunatu s postavkama {@code options}
+	 * na razini povećanja određenoj veličinom piksela {@code scaleRe} x {@code scaleIm}
+	 * i koordinatama {@code (tileX, tileY)}.
+	 * Nakon spremanja izbacuju se najdulje nekorištene pločice dok ukupna veličina ne padne
+	 * ispod granice. Predano polje se nakon spremanja ne smije mijenjati.
+	 *
+	 * @throws NullPointerException ako su predani podaci pločice {@code null}.
+	 */
+	public synchronized void put(Object polynomial, RenderOptions options, double scaleRe, double scaleIm,
+			long tileX, long tileY, short[] tile) {
+		Objects.requireNonNull(tile, "Predani podaci pločice su null.");
+
+		short[] old = tiles.put(new TileKey(polynomial, options, scaleRe, scaleIm, tileX, tileY), tile);
+		residentBytes += bytes(tile);
+		if (old != null)
+			residentBytes -= bytes(old);
+
+		Iterator<short[]> it = tiles.values().iterator();
+		while (residentBytes > maxBytes && it.hasNext()) {
+			residentBytes -= bytes(it.next());
+			it.remove();
+		}
+	}
+
+	/**
+	 * Izbacuje sve spremljene pločice.
+	 */
+	public synchronized void clear() {
+		tiles.clear();
+		residentBytes = 0;
+	}
+
+	/**
+	 * Vraća broj pogodaka od stvaranja ove priručne memorije.
+	 *
+	 * @return broj pogodaka.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Vraća broj promašaja od stvaranja ove priručne memorije.
+	 *
+	 * @return broj promašaja.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Vraća trenutnu ukupnu veličinu spremljenih pločica u bajtovima.
+	 *
+	 * @return ukupna veličina spremljenih pločica.
+	 */
+	public synchronized long getResidentBytes() {
+		return residentBytes;
+	}
+
+	/**
+	 * Vraća broj spremljenih pločica.
+	 *
+	 * @return broj spremljenih pločica.
+	 */
+	public synchronized int size() {
+		return tiles.size();
+	}
+
+	/**
+	 * Vraća veličinu podataka pločice u bajtovima.
+	 */
+	private static long bytes(short[] tile) {
+		return (long) tile.length * Short.BYTES;
+	}
+
+}
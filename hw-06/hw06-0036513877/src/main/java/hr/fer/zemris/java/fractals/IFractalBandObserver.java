@@ -0,0 +1,33 @@
+package hr.fer.zemris.java.fractals;
+
+import hr.fer.zemris.java.fractals.viewer.IFractalResultObserver;
+
+/**
+ * Promatrač rezultata generiranja podataka o fraktalu koji, osim konačnog rezultata,
+ * prima i obavijesti o dovršenim vodoravnim pojasevima (nizovima redaka) rastera, čim je
+ * pojedini pojas izračunat. Tako se reci slike mogu prikazivati ili zapisivati dok se
+ * ostatak slike još računa.<br>
+ * Pojasevi se objavljuju iz dretvi koje obavljaju izračun, istodobno i bez određenog
+ * redoslijeda, pa implementacija mora biti sigurna za korištenje iz više dretvi.
+ * Nakon svih pojaseva poziva se {@link #acceptResult(short[], short, long)} s cijelom slikom.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public interface IFractalBandObserver extends IFractalResultObserver {
+
+	/**
+	 * Prihvaća dovršeni pojas rastera koji obuhvaća retke od {@code ymin} do {@code ymax}
+	 * (uključivo). Podaci pojasa nalaze se u polju {@code data} na indeksima od
+	 * {@code ymin * width} do {@code (ymax + 1) * width - 1} i više se neće mijenjati;
+	 * ostatak polja se u trenutku poziva još može mijenjati.
+	 *
+	 * @param data podaci cijelog rastera.
+	 * @param width širina rastera.
+	 * @param ymin prvi redak pojasa.
+	 * @param ymax zadnji redak pojasa.
+	 * @param requestNo redni broj zahtjeva.
+	 */
+	void acceptBand(short[] data, int width, int ymin, int ymax, long requestNo);
+
+}
@@ -0,0 +1,27 @@
+package hr.fer.zemris.java.fractals;
+
+import hr.fer.zemris.java.fractals.viewer.IFractalResultObserver;
+
+/**
+ * Promatrač rezultata generiranja podataka o fraktalu koji, osim indeksa nultočaka, prima
+ * i broj Newtonovih iteracija koje je svaki piksel trebao do konvergencije (primjerice za
+ * glatko sjenčanje). Broj iteracija generira se samo ako je to uključeno u postavkama
+ * izračuna ({@link RenderOptions#isIterationCounts()}) i šalje se prije poziva
+ * {@link #acceptResult(short[], short, long)}.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public interface IFractalIterationObserver extends IFractalResultObserver {
+
+	/**
+	 * Prihvaća broj iteracija za svaki piksel rastera, u istom rasporedu kao i indeksi
+	 * nultočaka. Piksel koji nije konvergirao ima vrijednost {@code maxIterations}.
+	 *
+	 * @param iterations broj iteracija za svaki piksel.
+	 * @param maxIterations najveći broj iteracija korišten prilikom izračuna.
+	 * @param requestNo redni broj zahtjeva.
+	 */
+	void acceptIterations(short[] iterations, int maxIterations, long requestNo);
+
+}
@@ -0,0 +1,57 @@
+package hr.fer.zemris.java.fractals;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import hr.fer.zemris.math.ComplexRootedPolynomial;
+
+/**
+ * Paralelni generator podataka o fraktalu koji pločice rastera računa jezgrom 
+ * {@link NewtonRaphson#calculateLanes}, koja iterira po {@value NewtonRaphson#LANES} 
+ * piksela odjednom. Raspodjela posla po dretvama jednaka je onoj u razredu 
+ * {@link ParallelFractalProducer}, a generirani podaci jednaki su podacima koje 
+ * generira skalarna jezgra.
+ * 
+ * @author Tomislav Bjelčić
+ *
+ */
+public class LaneFractalProducer extends ParallelFractalProducer {
+	
+	/**
+	 * Stvara novi generator podataka o fraktalu koristeći polinom {@code crp}, 
+	 * podjelu na barem {@code tracks} pločica i vlastiti bazen od {@code workers} dretvi.
+	 * 
+	 * @param workers broj dretvi.
+	 * @param tracks najmanji broj pločica.
+	 * @param crp polinom u faktoriziranom obliku.
+	 * @throws IllegalArgumentException ako je broj dretvi ili broj pločica manji od 1.
+	 */
+	public LaneFractalProducer(int workers, int tracks, ComplexRootedPolynomial crp) {
+		super(workers, tracks, crp);
+	}
+	
+	/**
+	 * Stvara novi generator podataka o fraktalu koristeći polinom {@code crp}, 
+	 * podjelu na barem {@code tracks} pločica i predani bazen dretvi {@code pool}.
+	 * 
+	 * @param pool bazen dretvi koji obavlja izračun.
+	 * @param tracks najmanji broj pločica.
+	 * @param crp polinom u faktoriziranom obliku.
+	 * @throws NullPointerException ako je predani bazen dretvi {@code null}.
+	 * @throws IllegalArgumentException ako je broj pločica manji od 1.
+	 */
+	public LaneFractalProducer(ForkJoinPool pool, int tracks, ComplexRootedPolynomial crp) {
+		super(pool, tracks, crp);
+	}
+	
+	@Override
+	protected void calculateTile(double reMin, double reMax, double imMin, double imMax, 
+			int width, int height, int xmin, int xmax, int ymin, int ymax, 
+			RenderOptions options, short[] data, short[] iterations, AtomicBoolean cancel) {
+		NewtonRaphson.calculateLanes(reMin, reMax, imMin, imMax, options.getRootTreshold(), 
+				options.getConvergenceTreshold(), evaluatorFor(options), 
+				width, height, options.getMaxIterations(), 
+				xmin, xmax, ymin, ymax, data, iterations, cancel);
+	}
+	
+}
@@ -0,0 +1,238 @@
+package hr.fer.zemris.java.fractals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import hr.fer.zemris.java.fractals.viewer.IFractalResultObserver;
+import hr.fer.zemris.math.Complex;
+import hr.fer.zemris.math.ComplexRootedPolynomial;
+
+/**
+ * Program koji Newtonove fraktale generira bez prikaznika fraktala i zapisuje ih izravno
+ * u datoteke (PNG ili sirovi zapis, prema nastavku imena datoteke).<br>
+ * Poslovi se čitaju iz datoteke predane kao argument glavnog programa, jedan posao po retku:
+ * <pre>
+ * &lt;izlazna datoteka&gt; &lt;širina&gt;x&lt;visina&gt; &lt;reMin&gt; &lt;reMax&gt; &lt;imMin&gt; &lt;imMax&gt; &lt;nultočka&gt;;&lt;nultočka&gt;;...
+ * </pre>
+ * Prazni retci i retci koji počinju znakom {@code #} se preskaču. Sve slike se generiraju
+ * istodobno u jednom zajedničkom bazenu dretvi, čija se veličina može zadati argumentom
+ * {@code --workers=N}, a broj poslova po slici argumentom {@code --tracks=N}.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public class NewtonBatch {
+
+	/**
+	 * Argument za broj dretvi.
+	 */
+	private static final String WORKERS_ARG = "--workers=";
+	/**
+	 * Argument za broj poslova po slici.
+	 */
+	private static final String TRACKS_ARG = "--tracks=";
+	/**
+	 * Oznaka početka komentara u datoteci poslova.
+	 */
+	private static final String COMMENT = "#";
+	/**
+	 * Znak koji odvaja nultočke u zapisu posla.
+	 */
+	private static final String ROOT_SEPARATOR = ";";
+
+	/**
+	 * Jedan posao generiranja slike.
+	 *
+	 * @author Tomislav Bjelčić
+	 *
+	 */
+	static class Job {
+		Path output;
+		int width;
+		int height;
+		double reMin;
+		double reMax;
+		double imMin;
+		double imMax;
+		ComplexRootedPolynomial polynomial;
+
+		/**
+		 * Parsira posao iz jednog retka datoteke poslova.
+		 *
+		 * @param line redak datoteke poslova.
+		 * @return parsirani posao.
+		 * @throws IllegalArgumentException ako redak nije ispravan.
+		 */
+		static Job parse(String line) {
+			String[] parts = line.strip().split("\\s+", 7);
+			if (parts.length != 7)
+				throw new IllegalArgumentException("Invalid job: " + line);
+
+			Job job = new Job();
+			job.output = Paths.get(parts[0]);
+
+			String[] size = parts[1].split("x");
+			if (size.length != 2)
+				throw new IllegalArgumentException("Invalid image size: " + parts[1]);
+			try {
+				job.width = Integer.parseInt(size[0]);
+				job.height = Integer.parseInt(size[1]);
+				job.reMin = Double.parseDouble(parts[2]);
+				job.reMax = Double.parseDouble(parts[3]);
+				job.imMin = Double.parseDouble(parts[4]);
+				job.imMax = Double.parseDouble(parts[5]);
+			} catch (NumberFormatException ex) {
+				throw new IllegalArgumentException("Invalid job: " + line + ": " + ex.getMessage());
+			}
+			if (job.width < 1 || job.height < 1)
+				throw new IllegalArgumentException("Invalid image size: " + parts[1]);
+
+			String[] rootStrings = parts[6].split(ROOT_SEPARATOR);
+			Complex[] roots = new Complex[rootStrings.length];
+			for (int i = 0; i < roots.length; i++) {
+				try {
+					roots[i] = Complex.parse(rootStrings[i].strip());
+				} catch (NumberFormatException ex) {
+					throw new IllegalArgumentException("Invalid root: " + rootStrings[i] + ": " + ex.getMessage());
+				}
+			}
+			job.polynomial = new ComplexRootedPolynomial(Complex.ONE, roots);
+			return job;
+		}
+	}
+
+	/**
+	 * Posao koji generira jednu sliku i zapisuje je u datoteku. Generiranje se obavlja u
+	 * istom bazenu dretvi u kojem se izvršava ovaj posao.
+	 *
+	 * @author Tomislav Bjelčić
+	 *
+	 */
+	private static class RenderTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		Job job;
+		int tracks;
+
+		RenderTask(Job job, int tracks) {
+			this.job = job;
+			this.tracks = tracks;
+		}
+
+		@Override
+		protected void compute() {
+			ParallelFractalProducer producer = new ParallelFractalProducer(getPool(), tracks, job.polynomial);
+			IFractalResultObserver observer;
+			if (job.output.getFileName().toString().toLowerCase().endsWith(FractalImageWriter.RAW_EXTENSION)) {
+				// sirovi zapis se puni pojas po pojas, dok se ostatak slike još računa
+				try {
+					observer = new RawBandWriter(job.output, job.width, job.height);
+				} catch (IOException ex) {
+					System.out.println("Failed to write " + job.output + ": " + ex.getMessage());
+					return;
+				}
+			} else {
+				observer = (data, limit, requestNo) -> {
+					try {
+						FractalImageWriter.write(job.output, data, limit, job.width, job.height);
+						System.out.println("Written " + job.output);
+					} catch (IOException | IllegalArgumentException ex) {
+						System.out.println("Failed to write " + job.output + ": " + ex.getMessage());
+					}
+				};
+			}
+
+			producer.produce(job.reMin, job.reMax, job.imMin, job.imMax, job.width, job.height, 0,
+					observer, new AtomicBoolean());
+			if (observer instanceof RawBandWriter)
+				System.out.println("Written " + job.output);
+		}
+	}
+
+	/**
+	 * Glavni program koji čita datoteku poslova, istodobno generira sve slike u zajedničkom
+	 * bazenu dretvi i zapisuje ih u izlazne datoteke.
+	 *
+	 * @param args argumenti glavnog programa: opcionalno {@code --workers=N} i {@code --tracks=N},
+	 * te putanja do datoteke poslova.
+	 */
+	public static void main(String[] args) {
+		int workers = Runtime.getRuntime().availableProcessors();
+		int tracks = 4 * workers;
+		Path jobFile = null;
+
+		try {
+			for (String s : args) {
+				if (s.startsWith(WORKERS_ARG))
+					workers = parsePositive(s, s.substring(WORKERS_ARG.length()));
+				else if (s.startsWith(TRACKS_ARG))
+					tracks = parsePositive(s, s.substring(TRACKS_ARG.length()));
+				else if (jobFile == null && !s.startsWith("-"))
+					jobFile = Paths.get(s);
+				else
+					throw new IllegalArgumentException("Invalid argument input: " + s);
+			}
+			if (jobFile == null)
+				throw new IllegalArgumentException("Usage: NewtonBatch [--workers=N] [--tracks=N] <job_file>");
+		} catch (IllegalArgumentException ex) {
+			System.out.println(ex.getMessage());
+			return;
+		}
+
+		List<RenderTask> tasks = new ArrayList<>();
+		try {
+			List<String> lines = Files.readAllLines(jobFile);
+			for (int i = 0; i < lines.size(); i++) {
+				String line = lines.get(i).strip();
+				if (line.isEmpty() || line.startsWith(COMMENT))
+					continue;
+				try {
+					tasks.add(new RenderTask(Job.parse(line), tracks));
+				} catch (IllegalArgumentException ex) {
+					System.out.println("Line " + (i + 1) + ": " + ex.getMessage());
+				}
+			}
+		} catch (IOException ex) {
+			System.out.println("Cannot read job file " + jobFile + ": " + ex.getMessage());
+			return;
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(workers);
+		try {
+			pool.invoke(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute() {
+					invokeAll(tasks);
+				}
+			});
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Parsira pozitivan cijeli broj {@code value} iz argumenta {@code arg}.
+	 */
+	static int parsePositive(String arg, String value) {
+		int n;
+		try {
+			n = Integer.parseInt(value);
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid argument input: " + arg + ": " + value + " is not an integer.");
+		}
+		if (n < 1)
+			throw new IllegalArgumentException("Invalid argument input: " + arg + ": value has to be at least 1.");
+		return n;
+	}
+
+}
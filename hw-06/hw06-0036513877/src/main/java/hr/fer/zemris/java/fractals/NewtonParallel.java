@@ -1,5 +1,7 @@
 package hr.fer.zemris.java.fractals;
 
+import java.io.IOException;
+
 import hr.fer.zemris.java.fractals.viewer.FractalViewer;
 import hr.fer.zemris.java.fractals.viewer.IFractalProducer;
 import hr.fer.zemris.math.ComplexRootedPolynomial;
@@ -9,7 +11,18 @@ import hr.fer.zemris.math.ComplexRootedPolynomial;
  * crtanje Newtonovog fraktala.<br>
  * Sam izračun Newtonove iteracije za prikaz fraktala je paralelizirano. 
  * Može se preko argumenata glavnog programa specificirati koliko dretvi će sudjelovati u 
- * izračunu i na koliko manjih poslova će rastaviti cjelokupni posao. 
+ * izračunu i na koliko manjih poslova će rastaviti cjelokupni posao (vrijednošću 
+ * {@code auto} se oni određuju mjerenjem, vidi {@link ParallelismTuner}), te 
+ * jezgra izračuna ({@code --kernel=scalar} ili {@code --kernel=lanes}). Zastavicom 
+ * {@code --progressive} slika se generira progresivno, u prolazima sve veće rezolucije, a 
+ * zastavicom {@code --subdivide} rekurzivnom podjelom rastera. Argumentom {@code --cache=<MB>} 
+ * izračunate pločice se pamte u priručnoj memoriji zadane veličine. Najviše se jedan od 
+ * tih načina može koristiti, i to samo sa skalarnom jezgrom i bez broja poslova 
+ * ({@code --tracks}), jer ti generatori sami dijele posao. Oni ne generiraju broj iteracija 
+ * po pikselu ({@link RenderOptions#isIterationCounts()}) i takve postavke odbijaju 
+ * iznimkom {@link IllegalArgumentException}.<br>
+ * Zahtjevi prikaznika se izvršavaju jedan po jedan, a novi zahtjev prekida zastarjeli 
+ * (vidi {@link FractalRequestScheduler}). 
  * 
  * @author Tomislav Bjelčić
  *
@@ -49,6 +62,34 @@ public class NewtonParallel {
 		 * Kraći zapis argumenta za broj poslova.
 		 */
 		static final String TRACKS_ARG_SHORT = "-t";
+		/**
+		 * Argument za odabir jezgre izračuna.
+		 */
+		static final String KERNEL_ARG = "--kernel";
+		/**
+		 * Oznaka skalarne jezgre izračuna (pretpostavljena).
+		 */
+		static final String KERNEL_SCALAR = "scalar";
+		/**
+		 * Oznaka jezgre izračuna koja iterira po više piksela odjednom.
+		 */
+		static final String KERNEL_LANES = "lanes";
+		/**
+		 * Argument za progresivno generiranje slike.
+		 */
+		static final String PROGRESSIVE_ARG = "--progressive";
+		/**
+		 * Argument za generiranje slike rekurzivnom podjelom rastera.
+		 */
+		static final String SUBDIVIDE_ARG = "--subdivide";
+		/**
+		 * Argument za veličinu priručne memorije pločica u megabajtima.
+		 */
+		static final String CACHE_ARG = "--cache";
+		/**
+		 * Vrijednost argumenta za broj dretvi ili poslova koja se određuje mjerenjem.
+		 */
+		static final String AUTO = "auto";
 		
 		/**
 		 * Broj dretvi.
@@ -58,6 +99,30 @@ public class NewtonParallel {
 		 * Broj poslova.
 		 */
 		int tracks = TRACKS_DEFAULT;
+		/**
+		 * Određuje li se broj dretvi mjerenjem.
+		 */
+		boolean workersAuto = false;
+		/**
+		 * Određuje li se broj poslova mjerenjem.
+		 */
+		boolean tracksAuto = false;
+		/**
+		 * Jezgra izračuna.
+		 */
+		String kernel = KERNEL_SCALAR;
+		/**
+		 * Generira li se slika progresivno.
+		 */
+		boolean progressive = false;
+		/**
+		 * Generira li se slika rekurzivnom podjelom rastera.
+		 */
+		boolean subdivide = false;
+		/**
+		 * Veličina priručne memorije pločica u megabajtima, 0 ako se ne koristi.
+		 */
+		int cacheMegabytes = 0;
 		
 		/**
 		 * Preuzima argumente glavnog programa, parsira ih i stvara objekt ovog 
@@ -70,6 +135,7 @@ public class NewtonParallel {
 		static Args parse(String[] args) {
 			boolean workersSpecified = false;
 			boolean tracksSpecified = false;
+			boolean kernelSpecified = false;
 			char eq = '=';
 			Args arguments = new Args();
 			
@@ -88,6 +154,11 @@ public class NewtonParallel {
 						throw new IllegalArgumentException("Invalid argument input: " + s + ": correct usage: " + WORKERS_ARG + "=<number_of_workers>");
 					
 					String rest = s.substring(nextIndex + 1);
+					if (rest.equals(AUTO)) {
+						arguments.workersAuto = true;
+						workersSpecified = true;
+						continue;
+					}
 					int w = 0;
 					try {
 						w = Integer.parseInt(rest);
@@ -113,6 +184,11 @@ public class NewtonParallel {
 					
 					String nextStr = args[next];
 					String joined = s + " " + nextStr;
+					if (nextStr.equals(AUTO)) {
+						arguments.workersAuto = true;
+						workersSpecified = true;
+						continue;
+					}
 					int w = 0;
 					try {
 						w = Integer.parseInt(nextStr);
@@ -141,6 +217,11 @@ public class NewtonParallel {
 						throw new IllegalArgumentException("Invalid argument input: " + s + ": correct usage: " + TRACKS_ARG + "=<number_of_tracks>");
 					
 					String rest = s.substring(nextIndex + 1);
+					if (rest.equals(AUTO)) {
+						arguments.tracksAuto = true;
+						tracksSpecified = true;
+						continue;
+					}
 					int t = 0;
 					try {
 						t = Integer.parseInt(rest);
@@ -166,6 +247,11 @@ public class NewtonParallel {
 					
 					String nextStr = args[next];
 					String joined = s + " " + nextStr;
+					if (nextStr.equals(AUTO)) {
+						arguments.tracksAuto = true;
+						tracksSpecified = true;
+						continue;
+					}
 					int t = 0;
 					try {
 						t = Integer.parseInt(nextStr);
@@ -181,8 +267,76 @@ public class NewtonParallel {
 					continue;
 				}
 				
+				if (s.equals(PROGRESSIVE_ARG)) {
+					if (arguments.progressive)
+						throw new IllegalArgumentException("Progressive mode specified more than once.");
+					
+					arguments.progressive = true;
+					continue;
+				}
+				
+				if (s.equals(SUBDIVIDE_ARG)) {
+					if (arguments.subdivide)
+						throw new IllegalArgumentException("Subdivision specified more than once.");
+					
+					arguments.subdivide = true;
+					continue;
+				}
+				
+				if (s.startsWith(CACHE_ARG)) {
+					if (arguments.cacheMegabytes != 0)
+						throw new IllegalArgumentException("Cache size specified more than once.");
+					
+					int nextIndex = CACHE_ARG.length();
+					if (nextIndex == s.length() || s.charAt(nextIndex) != eq)
+						throw new IllegalArgumentException("Invalid argument input: " + s + ": correct usage: " + CACHE_ARG + "=<megabytes>");
+					
+					String rest = s.substring(nextIndex + 1);
+					int mb = 0;
+					try {
+						mb = Integer.parseInt(rest);
+					} catch (NumberFormatException ex) {
+						throw new IllegalArgumentException("Invalid argument input: " + s + ": " + rest + " is not an integer.");
+					}
+					
+					if (mb<1)
+						throw new IllegalArgumentException("Invalid argument input: " + s + ": cache size has to be at least 1.");
+					
+					arguments.cacheMegabytes = mb;
+					continue;
+				}
+				
+				if (s.startsWith(KERNEL_ARG)) {
+					if (kernelSpecified)
+						throw new IllegalArgumentException("Kernel specified more than once.");
+					
+					int nextIndex = KERNEL_ARG.length();
+					if (nextIndex == s.length() || s.charAt(nextIndex) != eq)
+						throw new IllegalArgumentException("Invalid argument input: " + s + ": correct usage: " + KERNEL_ARG + "=" + KERNEL_SCALAR + "|" + KERNEL_LANES);
+					
+					String rest = s.substring(nextIndex + 1);
+					if (!rest.equals(KERNEL_SCALAR) && !rest.equals(KERNEL_LANES))
+						throw new IllegalArgumentException("Invalid argument input: " + s + ": unknown kernel " + rest + ".");
+					
+					arguments.kernel = rest;
+					kernelSpecified = true;
+					continue;
+				}
+				
 				throw new IllegalArgumentException("Invalid argument input: " + s);
 			}
+			
+			int modes = (arguments.progressive ? 1 : 0) + (arguments.subdivide ? 1 : 0) 
+					+ (arguments.cacheMegabytes != 0 ? 1 : 0);
+			if (modes > 1)
+				throw new IllegalArgumentException("Invalid argument input: only one of " + PROGRESSIVE_ARG + ", " 
+						+ SUBDIVIDE_ARG + " and " + CACHE_ARG + " can be used.");
+			if (modes > 0 && arguments.kernel.equals(KERNEL_LANES))
+				throw new IllegalArgumentException("Invalid argument input: " + KERNEL_ARG + "=" + KERNEL_LANES
+						+ " cannot be used with " + PROGRESSIVE_ARG + ", " + SUBDIVIDE_ARG + " or " + CACHE_ARG + ".");
+			if (modes > 0 && tracksSpecified)
+				throw new IllegalArgumentException("Invalid argument input: " + TRACKS_ARG + " cannot be used with " 
+						+ PROGRESSIVE_ARG + ", " + SUBDIVIDE_ARG + " or " + CACHE_ARG + ".");
 			return arguments;
 		}
 	}
@@ -208,9 +362,67 @@ public class NewtonParallel {
 		
 		int w = arguments.workers;
 		int t = arguments.tracks;
+		boolean mode = arguments.progressive || arguments.subdivide || arguments.cacheMegabytes != 0;
 		ComplexRootedPolynomial crp = Newton.getPolynomialFromInput();
-		IFractalProducer producer = new ParallelFractalProducer(w, t, crp);
-		FractalViewer.show(producer);
+		if (arguments.workersAuto || arguments.tracksAuto) {
+			ParallelismTuner.Configuration configuration = tune(crp);
+			if (arguments.workersAuto)
+				w = configuration.getWorkers();
+			if (arguments.tracksAuto)
+				t = configuration.getTracks();
+			// generatori načina rada sami dijele posao, pa broj poslova ne koriste
+			if (mode)
+				System.out.println("Using " + w + " workers.");
+			else
+				System.out.println("Using " + w + " workers and " + t + " tracks.");
+		}
+		IFractalProducer producer;
+		if (arguments.progressive)
+			producer = new ProgressiveFractalProducer(w, crp);
+		else if (arguments.subdivide)
+			producer = new SubdividingFractalProducer(w, crp);
+		else if (arguments.cacheMegabytes != 0)
+			producer = new CachingFractalProducer(w, crp, 
+					new FractalTileCache(arguments.cacheMegabytes * (1L << 20)), 
+					CachingFractalProducer.DEFAULT_TILE_SIZE);
+		else if (arguments.kernel.equals(Args.KERNEL_LANES))
+			producer = new LaneFractalProducer(w, t, crp);
+		else
+			producer = new ParallelFractalProducer(w, t, crp);
+		FractalViewer.show(new FractalRequestScheduler(producer));
+	}
+	
+	/**
+	 * Vraća najbolju konfiguraciju za polinom {@code crp}, zapamćenu u datoteci 
+	 * {@link ParallelismTuner#DEFAULT_FILE} ili određenu mjerenjem. Ako datoteku nije moguće 
+	 * pročitati, konfiguracija se određuje mjerenjem bez pamćenja.
+	 * 
+	 * @param crp polinom u faktoriziranom obliku.
+	 * @return najbolja konfiguracija.
+	 */
+	private static ParallelismTuner.Configuration tune(ComplexRootedPolynomial crp) {
+		ParallelismTuner tuner;
+		try {
+			tuner = new ParallelismTuner(ParallelismTuner.DEFAULT_FILE);
+		} catch (IOException ex) {
+			System.out.println("Cannot read tuning file: " + ex.getMessage());
+			System.out.println("Calibrating...");
+			return ParallelismTuner.calibrate(crp);
+		}
+		
+		int degree = crp.getRoots().length;
+		ParallelismTuner.Configuration stored = tuner.lookup(degree);
+		if (stored != null)
+			return stored;
+		
+		System.out.println("Calibrating workers and tracks for polynomial of degree " + degree + "...");
+		ParallelismTuner.Configuration configuration = tuner.tune(crp);
+		try {
+			tuner.save();
+		} catch (IOException ex) {
+			System.out.println("Cannot save tuning file: " + ex.getMessage());
+		}
+		return configuration;
 	}
 	
 	
@@ -1,71 +1,538 @@
 package hr.fer.zemris.java.fractals;
 
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import hr.fer.zemris.math.Complex;
-import hr.fer.zemris.math.ComplexPolynomial;
 import hr.fer.zemris.math.ComplexRootedPolynomial;
 
 /**
- * Razred koji sadrži jednu statičku metodu za izračun podataka o fraktalu 
- * koristeći Newton-Raphsonovu metodu.
- * 
+ * Razred koji sadrži jednu statičku metodu za izračun podataka o fraktalu
+ * koristeći Newton-Raphsonovu metodu.<br>
+ * Sam izračun ne stvara objekte razreda {@link Complex} za svaki piksel, već
+ * radi isključivo nad realnim i imaginarnim dijelovima spremljenima u lokalnim varijablama
+ * i poljima {@code double} brojeva. Newtonov korak računa predani {@link PolynomialEvaluator}
+ * koji se stvara jednom po generatoru; ako ga računa Hornerovim postupkom, rezultati su
+ * jednaki onima koji bi se dobili korištenjem operacija razreda {@link Complex}.<br>
+ * Ako se ne traži broj iteracija po pikselu, retci pločice čije su sve početne točke dovoljno
+ * daleko od nultočaka preskaču se bez iteriranja (vidi {@link #escapeRadius}); takvi pikseli
+ * ionako ne bi konvergirali niti jednoj nultočki unutar zadanog broja iteracija.<br>
+ * Za jako uvećana područja (vidi {@link DeepZoomNewtonRaphson#isDeepZoom}) izračun se
+ * prepušta razredu {@link DeepZoomNewtonRaphson} koji računa u proširenoj preciznosti.
+ *
  * @author Tomislav Bjelčić
  *
  */
 public class NewtonRaphson {
-	
+
+	/**
+	 * Broj piksela koji se istovremeno iteriraju u metodi {@link #calculateLanes}.
+	 */
+	public static final int LANES = 8;
+
 	private NewtonRaphson() {}
-	
-	
+
+
 	/**
-	 * Računa podatke o fraktalu na temelju predanih parametara i 
+	 * Računa podatke o fraktalu na temelju predanih parametara i
 	 * puni polje {@code data} izračunatim podacima.
-	 * 
+	 *
 	 */
-	public static void calculate​(
-			double reMin, 
-			double reMax, 
-			double imMin, 
-			double imMax, 
-			double rootTreshold, 
-			double convergenceTreshold, 
-			ComplexPolynomial function, 
-			ComplexRootedPolynomial functionRooted, 
-			ComplexPolynomial derivative, 
-			int width, 
-			int height, 
-			int maxIter, 
-			int ymin, 
-			int ymax, 
-			short[] data, 
+	public static void calculate(
+			double reMin,
+			double reMax,
+			double imMin,
+			double imMax,
+			double rootTreshold,
+			double convergenceTreshold,
+			PolynomialEvaluator evaluator,
+			int width,
+			int height,
+			int maxIter,
+			int ymin,
+			int ymax,
+			short[] data,
 			AtomicBoolean cancel) {
-		
-		int offset = ymin * width;
+
+		calculate(reMin, reMax, imMin, imMax, rootTreshold, convergenceTreshold,
+				evaluator, width, height, maxIter,
+				0, width - 1, ymin, ymax, data, null, cancel);
+	}
+
+	/**
+	 * Računa podatke o fraktalu samo za pravokutni dio rastera (pločicu) određen
+	 * stupcima od {@code xmin} do {@code xmax} i retcima od {@code ymin} do {@code ymax}
+	 * (sve uključivo) i puni odgovarajući dio polja {@code data} izračunatim podacima.<br>
+	 * Polje {@code data} i dalje predstavlja cijeli raster dimenzija {@code width} x {@code height}.
+	 * Ako polje {@code iterations} nije {@code null}, u njega se (u istom rasporedu) upisuje
+	 * broj iteracija svakog piksela.
+	 *
+	 */
+	public static void calculate(
+			double reMin,
+			double reMax,
+			double imMin,
+			double imMax,
+			double rootTreshold,
+			double convergenceTreshold,
+			PolynomialEvaluator evaluator,
+			int width,
+			int height,
+			int maxIter,
+			int xmin,
+			int xmax,
+			int ymin,
+			int ymax,
+			short[] data,
+			short[] iterations,
+			AtomicBoolean cancel) {
+
+		if (DeepZoomNewtonRaphson.isDeepZoom(reMin, reMax, imMin, imMax, width, height)) {
+			DeepZoomNewtonRaphson.calculate(reMin, reMax, imMin, imMax, rootTreshold, convergenceTreshold,
+					evaluator, width, height, maxIter, xmin, xmax, ymin, ymax, data, iterations, cancel);
+			return;
+		}
+
+		double[] rootsRe = evaluator.rootsRe();
+		double[] rootsIm = evaluator.rootsIm();
+		double[] step = new double[2];
+
+		double convergenceTresholdSq = convergenceTreshold * convergenceTreshold;
+		double rootTresholdSq = rootTreshold * rootTreshold;
+
+		double escapeRadius = iterations == null
+				? escapeRadius(rootsRe, rootsIm, rootTreshold, maxIter)
+				: Double.POSITIVE_INFINITY;
+		double minReSq = minSquare(reMin, reMax, width, xmin, xmax);
+
 		for(int y = ymin; y <= ymax; y++) {
 			if(cancel.get()) break;
-			for(int x = 0; x < width; x++) {
+			int offset = y * width + xmin;
+			double imZ0 = (height-1.0-y) / (height-1) * (imMax - imMin) + imMin;
+			if (imZ0 * imZ0 + minReSq > escapeRadius * escapeRadius) {
+				Arrays.fill(data, offset, offset + xmax - xmin + 1, (short) 0);
+				continue;
+			}
+			for(int x = xmin; x <= xmax; x++) {
 				double reZ0 = x / (width-1.0) * (reMax - reMin) + reMin;
-				double imZ0 = (height-1.0-y) / (height-1) * (imMax - imMin) + imMin;
-				Complex z0 = new Complex(reZ0, imZ0);
-				Complex zn = z0;
-				
-				for (int iters=0; iters<maxIter; iters++) {
-					Complex fzn = function.apply(zn);
-					Complex derivativeFzn = derivative.apply(zn);
-					Complex diff = fzn.divide(derivativeFzn);
-					double diffModule = diff.module();
-					
-					zn = zn.sub(diff);
-					if (diffModule <= convergenceTreshold)
-						break;
-				}
-				int index = functionRooted.indexOfClosestRootFor(zn, rootTreshold);
-				data[offset] = (short) (index + 1);
+				int result = indexOfRootFor(reZ0, imZ0, evaluator, step,
+						convergenceTresholdSq, rootTresholdSq, maxIter);
+				data[offset] = (short) result;
+				if (iterations != null)
+					iterations[offset] = (short) (result >>> 16);
+				offset++;
+			}
+		}
+	}
+
+	/**
+	 * Računa podatke o fraktalu samo za {@code count} piksela retka {@code y} čiji su stupci
+	 * zadani u polju {@code columns} i upisuje ih u polje {@code data} koje predstavlja
+	 * cijeli raster dimenzija {@code width} x {@code height}.
+	 *
+	 */
+	public static void calculate(
+			double reMin,
+			double reMax,
+			double imMin,
+			double imMax,
+			double rootTreshold,
+			double convergenceTreshold,
+			PolynomialEvaluator evaluator,
+			int width,
+			int height,
+			int maxIter,
+			int y,
+			int[] columns,
+			int count,
+			short[] data) {
+
+		if (DeepZoomNewtonRaphson.isDeepZoom(reMin, reMax, imMin, imMax, width, height)) {
+			DeepZoomNewtonRaphson.calculate(reMin, reMax, imMin, imMax, rootTreshold, convergenceTreshold,
+					evaluator, width, height, maxIter, y, columns, count, data);
+			return;
+		}
+
+		double[] step = new double[2];
+
+		double convergenceTresholdSq = convergenceTreshold * convergenceTreshold;
+		double rootTresholdSq = rootTreshold * rootTreshold;
+
+		int rowOffset = y * width;
+		double imZ0 = (height-1.0-y) / (height-1) * (imMax - imMin) + imMin;
+		for (int i=0; i<count; i++) {
+			int x = columns[i];
+			double reZ0 = x / (width-1.0) * (reMax - reMin) + reMin;
+			int result = indexOfRootFor(reZ0, imZ0, evaluator, step,
+					convergenceTresholdSq, rootTresholdSq, maxIter);
+			data[rowOffset + x] = (short) result;
+		}
+	}
+
+	/**
+	 * Provodi Newton-Raphsonovu iteraciju počevši od točke {@code (reZ0, imZ0)} i vraća
+	 * poziciju nultočke kojoj je iteracija konvergirala uvećanu za 1 (0 ako takva ne postoji)
+	 * u nižih 16 bitova, te broj provedenih iteracija u viših 16 bitova rezultata.
+	 *
+	 * @param reZ0 realni dio početne točke.
+	 * @param imZ0 imaginarni dio početne točke.
+	 * @param evaluator izračun Newtonovog koraka.
+	 * @param step polje duljine 2 za Newtonov korak.
+	 * @param convergenceTresholdSq kvadrat granice konvergencije.
+	 * @param rootTresholdSq kvadrat granične udaljenosti od nultočke.
+	 * @param maxIter najveći broj iteracija.
+	 * @return pozicija nultočke uvećana za 1 i broj iteracija.
+	 */
+	private static int indexOfRootFor(double reZ0, double imZ0,
+			PolynomialEvaluator evaluator, double[] step,
+			double convergenceTresholdSq, double rootTresholdSq, int maxIter) {
+		double znRe = reZ0;
+		double znIm = imZ0;
+
+		int iters = 0;
+		while (iters < maxIter) {
+			iters++;
+			// diff = f(zn) / f'(zn)
+			evaluator.step(znRe, znIm, step);
+			double diffRe = step[0];
+			double diffIm = step[1];
+			double diffModuleSq = diffRe * diffRe + diffIm * diffIm;
+
+			znRe = znRe - diffRe;
+			znIm = znIm - diffIm;
+			if (diffModuleSq <= convergenceTresholdSq)
+				break;
+		}
+		int index = evaluator.indexOfClosestRoot(znRe, znIm, rootTresholdSq);
+		return iters << 16 | (index + 1);
+	}
+
+	/**
+	 * Računa iste podatke kao i metoda {@link #calculate(double, double, double, double, double, double,
+	 * PolynomialEvaluator, int, int, int, int, int, int, int, short[], short[], AtomicBoolean)}, uz
+	 * pretpostavljene nultočke piksela zadane u polju {@code seeds} (u istom rasporedu kao
+	 * {@code data}, pozicija nultočke uvećana za 1, a 0 ako pretpostavke nema), npr. iz
+	 * prethodne slike animacije.<br>
+	 * Iteracija piksela s pretpostavkom prekida se čim točka uđe u krug oko pretpostavljene
+	 * nultočke iz kojeg iteracija sigurno konvergira toj nultočki, a da se iz njega više ne
+	 * udaljava (vidi {@link #captureRadiiSq}). Rezultat je zato jednak rezultatu bez
+	 * pretpostavki, a pogrešna pretpostavka samo ne donosi uštedu. Broj iteracija se ne računa.
+	 *
+	 */
+	public static void calculateSeeded(
+			double reMin,
+			double reMax,
+			double imMin,
+			double imMax,
+			double rootTreshold,
+			double convergenceTreshold,
+			PolynomialEvaluator evaluator,
+			int width,
+			int height,
+			int maxIter,
+			int xmin,
+			int xmax,
+			int ymin,
+			int ymax,
+			short[] data,
+			short[] seeds,
+			AtomicBoolean cancel) {
+
+		if (DeepZoomNewtonRaphson.isDeepZoom(reMin, reMax, imMin, imMax, width, height)) {
+			DeepZoomNewtonRaphson.calculate(reMin, reMax, imMin, imMax, rootTreshold, convergenceTreshold,
+					evaluator, width, height, maxIter, xmin, xmax, ymin, ymax, data, null, cancel);
+			return;
+		}
+
+		double[] rootsRe = evaluator.rootsRe();
+		double[] rootsIm = evaluator.rootsIm();
+		double[] captureRadiiSq = captureRadiiSq(rootsRe, rootsIm, rootTreshold);
+		double[] step = new double[2];
+
+		double convergenceTresholdSq = convergenceTreshold * convergenceTreshold;
+		double rootTresholdSq = rootTreshold * rootTreshold;
+
+		double escapeRadius = escapeRadius(rootsRe, rootsIm, rootTreshold, maxIter);
+		double minReSq = minSquare(reMin, reMax, width, xmin, xmax);
+
+		for(int y = ymin; y <= ymax; y++) {
+			if(cancel.get()) break;
+			int offset = y * width + xmin;
+			double imZ0 = (height-1.0-y) / (height-1) * (imMax - imMin) + imMin;
+			if (imZ0 * imZ0 + minReSq > escapeRadius * escapeRadius) {
+				Arrays.fill(data, offset, offset + xmax - xmin + 1, (short) 0);
+				continue;
+			}
+			for(int x = xmin; x <= xmax; x++) {
+				double reZ0 = x / (width-1.0) * (reMax - reMin) + reMin;
+				int seed = seeds[offset] - 1;
+				int result = seed < 0 || seed >= rootsRe.length
+						? indexOfRootFor(reZ0, imZ0, evaluator, step,
+								convergenceTresholdSq, rootTresholdSq, maxIter)
+						: indexOfSeededRootFor(reZ0, imZ0, evaluator, step, rootsRe, rootsIm,
+								convergenceTresholdSq, rootTresholdSq, maxIter, seed, captureRadiiSq[seed]);
+				data[offset] = (short) result;
 				offset++;
 			}
 		}
 	}
-	
-	
+
+	/**
+	 * Radi isto što i metoda {@link #indexOfRootFor}, ali iteraciju prekida i vraća
+	 * nultočku {@code seed} čim je kvadrat udaljenosti točke od te nultočke manji ili
+	 * jednak {@code captureRadiusSq}.
+	 */
+	private static int indexOfSeededRootFor(double reZ0, double imZ0,
+			PolynomialEvaluator evaluator, double[] step,
+			double[] rootsRe, double[] rootsIm,
+			double convergenceTresholdSq, double rootTresholdSq, int maxIter,
+			int seed, double captureRadiusSq) {
+		double seedRe = rootsRe[seed];
+		double seedIm = rootsIm[seed];
+		double znRe = reZ0;
+		double znIm = imZ0;
+
+		int iters = 0;
+		while (iters < maxIter) {
+			iters++;
+			evaluator.step(znRe, znIm, step);
+			double diffRe = step[0];
+			double diffIm = step[1];
+			double diffModuleSq = diffRe * diffRe + diffIm * diffIm;
+
+			znRe = znRe - diffRe;
+			znIm = znIm - diffIm;
+			if (diffModuleSq <= convergenceTresholdSq)
+				break;
+
+			double dRe = znRe - seedRe;
+			double dIm = znIm - seedIm;
+			if (dRe * dRe + dIm * dIm <= captureRadiusSq)
+				return iters << 16 | (seed + 1);
+		}
+		int index = evaluator.indexOfClosestRoot(znRe, znIm, rootTresholdSq);
+		return iters << 16 | (index + 1);
+	}
+
+	/**
+	 * Vraća kvadrate polumjera krugova oko nultočaka iz kojih Newtonova iteracija sigurno
+	 * konvergira toj nultočki i u kojima se zadržava.<br>
+	 * Neka je {@code d} udaljenost nultočke {@code z_i} do najbliže druge nultočke, {@code n}
+	 * stupanj polinoma i {@code e = z - z_i}. Iz {@code f(z)/f'(z) = e / (1 + e S)}, uz
+	 * {@code S = sum_(j != i) 1/(z - z_j)}, slijedi {@code |e'| <= |e| q / (1 - q)} za
+	 * {@code q = |e| |S|}. Za {@code |e| <= d / (2n)} je {@code q <= (n-1)/(2n-1) < 1/2}, pa se
+	 * udaljenost od {@code z_i} u svakom koraku smanjuje. Polumjer je još ograničen s
+	 * {@code rootTreshold}, tako da završna točka bude dovoljno blizu nultočki {@code z_i}, a
+	 * kako je on manji od {@code d / 2}, niti jedna druga nultočka nije bliža.
+	 *
+	 * @param rootsRe realni dijelovi nultočaka.
+	 * @param rootsIm imaginarni dijelovi nultočaka.
+	 * @param rootTreshold granična udaljenost od nultočke.
+	 * @return kvadrati polumjera za svaku nultočku.
+	 */
+	static double[] captureRadiiSq(double[] rootsRe, double[] rootsIm, double rootTreshold) {
+		int n = rootsRe.length;
+		double[] radiiSq = new double[n];
+		for (int i=0; i<n; i++) {
+			double d = Double.POSITIVE_INFINITY;
+			for (int j=0; j<n; j++) {
+				if (j != i)
+					d = Math.min(d, Math.hypot(rootsRe[i] - rootsRe[j], rootsIm[i] - rootsIm[j]));
+			}
+			double radius = Math.min(rootTreshold, d / (2 * n));
+			radiiSq[i] = radius * radius;
+		}
+		return radiiSq;
+	}
+
+	/**
+	 * Računa iste podatke kao i metoda {@link #calculate(double, double, double, double, double, double,
+	 * PolynomialEvaluator, int, int, int, int, int, int, int,
+	 * short[], short[], AtomicBoolean)}, ali iterira po {@value #LANES} piksela pločice odjednom.<br>
+	 * Stanja piksela (trake) spremljena su u poljima fiksne duljine, a petlje po trakama
+	 * nemaju grananja. Maska aktivnih traka prati koje trake još iteriraju; čim piksel u nekoj
+	 * traci konvergira (ili potroši sve iteracije), njegov se rezultat zapisuje, a traka
+	 * preuzima sljedeći piksel pločice, tako da trake ne stoje neiskorištene dok čekaju
+	 * najsporiji piksel.
+	 *
+	 */
+	public static void calculateLanes(
+			double reMin,
+			double reMax,
+			double imMin,
+			double imMax,
+			double rootTreshold,
+			double convergenceTreshold,
+			PolynomialEvaluator evaluator,
+			int width,
+			int height,
+			int maxIter,
+			int xmin,
+			int xmax,
+			int ymin,
+			int ymax,
+			short[] data,
+			short[] iterations,
+			AtomicBoolean cancel) {
+
+		if (maxIter < 1 || DeepZoomNewtonRaphson.isDeepZoom(reMin, reMax, imMin, imMax, width, height)) {
+			calculate(reMin, reMax, imMin, imMax, rootTreshold, convergenceTreshold,
+					evaluator, width, height, maxIter,
+					xmin, xmax, ymin, ymax, data, iterations, cancel);
+			return;
+		}
+
+		double[] rootsRe = evaluator.rootsRe();
+		double[] rootsIm = evaluator.rootsIm();
+
+		double convergenceTresholdSq = convergenceTreshold * convergenceTreshold;
+		double rootTresholdSq = rootTreshold * rootTreshold;
+
+		double[] znRe = new double[LANES];
+		double[] znIm = new double[LANES];
+		double[] diffRe = new double[LANES];
+		double[] diffIm = new double[LANES];
+		double[] workRe = new double[LANES];
+		double[] workIm = new double[LANES];
+		int[] pixel = new int[LANES];
+		int[] iters = new int[LANES];
+
+		double escapeRadius = iterations == null
+				? escapeRadius(rootsRe, rootsIm, rootTreshold, maxIter)
+				: Double.POSITIVE_INFINITY;
+		double minReSq = minSquare(reMin, reMax, width, xmin, xmax);
+		double escapeRadiusSq = escapeRadius * escapeRadius;
+
+		int tileWidth = xmax - xmin + 1;
+		int pixels = tileWidth * (ymax - ymin + 1);
+		int next = skipEscapingRows(0, pixels, xmin, ymin, tileWidth, imMin, imMax,
+				width, height, minReSq, escapeRadiusSq, data);
+		int active = 0;
+
+		for (int l=0; l<LANES && next<pixels && !cancel.get(); l++) {
+			loadLane(l, next++, xmin, ymin, tileWidth, reMin, reMax, imMin, imMax,
+					width, height, znRe, znIm, pixel, iters);
+			active |= 1 << l;
+			next = skipEscapingRows(next, pixels, xmin, ymin, tileWidth, imMin, imMax,
+					width, height, minReSq, escapeRadiusSq, data);
+		}
+
+		while (active != 0) {
+			evaluator.step(znRe, znIm, diffRe, diffIm, workRe, workIm);
+
+			for (int l=0; l<LANES; l++) {
+				int bit = 1 << l;
+				if ((active & bit) == 0)
+					continue;
+				double diffModuleSq = diffRe[l] * diffRe[l] + diffIm[l] * diffIm[l];
+				znRe[l] = znRe[l] - diffRe[l];
+				znIm[l] = znIm[l] - diffIm[l];
+				iters[l]++;
+				if (diffModuleSq > convergenceTresholdSq && iters[l] < maxIter)
+					continue;
+
+				// piksel je gotov, zapiši rezultat i preuzmi sljedeći
+				int p = pixel[l];
+				int offset = (ymin + p / tileWidth) * width + xmin + p % tileWidth;
+				int index = evaluator.indexOfClosestRoot(znRe[l], znIm[l], rootTresholdSq);
+				data[offset] = (short) (index + 1);
+				if (iterations != null)
+					iterations[offset] = (short) iters[l];
+
+				if (next < pixels && !cancel.get()) {
+					loadLane(l, next++, xmin, ymin, tileWidth, reMin, reMax, imMin, imMax,
+							width, height, znRe, znIm, pixel, iters);
+					next = skipEscapingRows(next, pixels, xmin, ymin, tileWidth, imMin, imMax,
+							width, height, minReSq, escapeRadiusSq, data);
+				} else {
+					active &= ~bit;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Ako piksel pločice s rednim brojem {@code next} započinje redak pločice koji se može
+	 * preskočiti (sve su njegove početne točke od ishodišta udaljene više od polumjera čiji je
+	 * kvadrat {@code escapeRadiusSq}), upisuje 0 u sve piksele tog retka i ponavlja postupak
+	 * za sljedeći redak.
+	 *
+	 * @return redni broj prvog piksela koji treba izračunati.
+	 */
+	private static int skipEscapingRows(int next, int pixels, int xmin, int ymin, int tileWidth,
+			double imMin, double imMax, int width, int height,
+			double minReSq, double escapeRadiusSq, short[] data) {
+		while (next < pixels && next % tileWidth == 0) {
+			int y = ymin + next / tileWidth;
+			double imZ0 = (height-1.0-y) / (height-1) * (imMax - imMin) + imMin;
+			if (imZ0 * imZ0 + minReSq <= escapeRadiusSq)
+				break;
+			int offset = y * width + xmin;
+			Arrays.fill(data, offset, offset + tileWidth, (short) 0);
+			next += tileWidth;
+		}
+		return next;
+	}
+
+	/**
+	 * Vraća polumjer kružnice oko ishodišta izvan koje niti jedna početna točka ne može u
+	 * {@code maxIter} iteracija doći bliže od {@code rootTreshold} nekoj nultočki, ili
+	 * beskonačnost ako takva procjena nije moguća.<br>
+	 * Za polinom stupnja {@code n} s nultočkama unutar kruga polumjera {@code rho} i točku
+	 * {@code z} za koju je {@code |z| = R > rho} vrijedi
+	 * {@code |f(z)/f'(z)| = 1 / |sum 1/(z - z_i)| <= (R + rho) / n}, pa je
+	 * {@code |z_(k+1)| + rho >= (1 - 1/n) (|z_k| + rho)}. Nakon {@code maxIter} koraka
+	 * točka je stoga izvan kruga polumjera {@code rho + rootTreshold} ako je početna točka
+	 * izvan kruga polumjera {@code (2 rho + rootTreshold) / (1 - 1/n)^maxIter - rho}.
+	 * Zbog pogrešaka zaokruživanja vraćeni polumjer je dvostruko veći od te granice,
+	 * tako da je preskakanje korisno samo za malen broj iteracija.
+	 *
+	 * @param rootsRe realni dijelovi nultočaka.
+	 * @param rootsIm imaginarni dijelovi nultočaka.
+	 * @param rootTreshold granična udaljenost od nultočke.
+	 * @param maxIter najveći broj iteracija.
+	 * @return polumjer izvan kojeg se pikseli ne moraju iterirati.
+	 */
+	static double escapeRadius(double[] rootsRe, double[] rootsIm, double rootTreshold, int maxIter) {
+		int n = rootsRe.length;
+		if (n < 2)
+			return Double.POSITIVE_INFINITY;
+
+		double rho = 0;
+		for (int i=0; i<n; i++)
+			rho = Math.max(rho, Math.hypot(rootsRe[i], rootsIm[i]));
+
+		double contraction = Math.pow(1 - 1.0 / n, Math.max(maxIter, 0));
+		double radius = 2 * ((2 * rho + rootTreshold) / contraction - rho);
+		return Double.isNaN(radius) ? Double.POSITIVE_INFINITY : radius;
+	}
+
+	/**
+	 * Vraća najmanji kvadrat realnog dijela početne točke u stupcima od {@code xmin}
+	 * do {@code xmax}.
+	 */
+	private static double minSquare(double reMin, double reMax, int width, int xmin, int xmax) {
+		double first = xmin / (width-1.0) * (reMax - reMin) + reMin;
+		double last = xmax / (width-1.0) * (reMax - reMin) + reMin;
+		if ((first <= 0 && last >= 0) || (first >= 0 && last <= 0))
+			return 0;
+		double min = Math.min(Math.abs(first), Math.abs(last));
+		return min * min;
+	}
+
+	/**
+	 * Postavlja traku {@code lane} na početno stanje iteracije za piksel pločice
+	 * s rednim brojem {@code p} (brojeći po retcima pločice).
+	 */
+	private static void loadLane(int lane, int p, int xmin, int ymin, int tileWidth,
+			double reMin, double reMax, double imMin, double imMax, int width, int height,
+			double[] znRe, double[] znIm, int[] pixel, int[] iters) {
+		int x = xmin + p % tileWidth;
+		int y = ymin + p / tileWidth;
+		znRe[lane] = x / (width-1.0) * (reMax - reMin) + reMin;
+		znIm[lane] = (height-1.0-y) / (height-1) * (imMax - imMin) + imMin;
+		pixel[lane] = p;
+		iters[lane] = 0;
+	}
+
 }
@@ -0,0 +1,183 @@
+package hr.fer.zemris.java.fractals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.IllegalFormatException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import hr.fer.zemris.java.fractals.ZoomSequenceRenderer.Keyframe;
+import hr.fer.zemris.math.Complex;
+import hr.fer.zemris.math.ComplexRootedPolynomial;
+
+/**
+ * Program koji generira niz slika (animaciju) Newtonovog fraktala duž putanje zadane
+ * ključnim slikama i zapisuje ih u numerirane datoteke (vidi {@link ZoomSequenceRenderer}).<br>
+ * Putanja se čita iz datoteke predane kao argument glavnog programa. Prvi redak sadrži
+ * dimenzije slika i nultočke polinoma, a svaki sljedeći po jednu ključnu sliku:
+ * <pre>
+ * &lt;širina&gt;x&lt;visina&gt; &lt;nultočka&gt;;&lt;nultočka&gt;;...
+ * &lt;redni broj slike&gt; &lt;reMin&gt; &lt;reMax&gt; &lt;imMin&gt; &lt;imMax&gt;
+ * </pre>
+ * Prazni retci i retci koji počinju znakom {@code #} se preskaču. Drugi argument je
+ * predložak imena izlaznih datoteka s oznakom za redni broj slike, npr.
+ * {@code frames/frame%05d.png}. Veličina bazena dretvi može se zadati argumentom
+ * {@code --workers=N}, a broj poslova po slici argumentom {@code --tracks=N}.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public class NewtonZoom {
+
+	/**
+	 * Argument za broj dretvi.
+	 */
+	private static final String WORKERS_ARG = "--workers=";
+	/**
+	 * Argument za broj poslova po slici.
+	 */
+	private static final String TRACKS_ARG = "--tracks=";
+	/**
+	 * Oznaka početka komentara u datoteci putanje.
+	 */
+	private static final String COMMENT = "#";
+	/**
+	 * Znak koji odvaja nultočke u zapisu polinoma.
+	 */
+	private static final String ROOT_SEPARATOR = ";";
+
+	/**
+	 * Glavni program koji čita putanju, generira sve slike i zapisuje ih u numerirane datoteke.
+	 *
+	 * @param args argumenti glavnog programa: opcionalno {@code --workers=N} i {@code --tracks=N},
+	 * te putanja do datoteke putanje i predložak imena izlaznih datoteka.
+	 */
+	public static void main(String[] args) {
+		int workers = Runtime.getRuntime().availableProcessors();
+		int tracks = 4 * workers;
+		List<String> positional = new ArrayList<>();
+
+		try {
+			for (String s : args) {
+				if (s.startsWith(WORKERS_ARG))
+					workers = NewtonBatch.parsePositive(s, s.substring(WORKERS_ARG.length()));
+				else if (s.startsWith(TRACKS_ARG))
+					tracks = NewtonBatch.parsePositive(s, s.substring(TRACKS_ARG.length()));
+				else if (!s.startsWith("-"))
+					positional.add(s);
+				else
+					throw new IllegalArgumentException("Invalid argument input: " + s);
+			}
+			if (positional.size() != 2)
+				throw new IllegalArgumentException("Usage: NewtonZoom [--workers=N] [--tracks=N] <path_file> <output_pattern>");
+			checkPattern(positional.get(1));
+		} catch (IllegalArgumentException ex) {
+			System.out.println(ex.getMessage());
+			return;
+		}
+
+		Path pathFile = Paths.get(positional.get(0));
+		String pattern = positional.get(1);
+		List<String> lines;
+		try {
+			lines = Files.readAllLines(pathFile);
+		} catch (IOException ex) {
+			System.out.println("Cannot read path file " + pathFile + ": " + ex.getMessage());
+			return;
+		}
+
+		int width = 0;
+		int height = 0;
+		ComplexRootedPolynomial polynomial = null;
+		List<Keyframe> keyframes = new ArrayList<>();
+		try {
+			for (int i = 0; i < lines.size(); i++) {
+				String line = lines.get(i).strip();
+				if (line.isEmpty() || line.startsWith(COMMENT))
+					continue;
+				try {
+					if (polynomial == null) {
+						String[] parts = line.split("\\s+", 2);
+						if (parts.length != 2)
+							throw new IllegalArgumentException("expected <width>x<height> <roots>");
+						String[] size = parts[0].split("x");
+						if (size.length != 2)
+							throw new IllegalArgumentException("invalid image size: " + parts[0]);
+						width = Integer.parseInt(size[0]);
+						height = Integer.parseInt(size[1]);
+						polynomial = parsePolynomial(parts[1]);
+					} else {
+						keyframes.add(parseKeyframe(line));
+					}
+				} catch (IllegalArgumentException ex) {
+					throw new IllegalArgumentException("Line " + (i + 1) + ": " + ex.getMessage());
+				}
+			}
+			if (polynomial == null || keyframes.isEmpty())
+				throw new IllegalArgumentException("Path file has to specify the image size, the roots and at least one keyframe.");
+			keyframes = ZoomSequenceRenderer.interpolate(keyframes);
+		} catch (IllegalArgumentException ex) {
+			System.out.println(ex.getMessage());
+			return;
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(workers);
+		try {
+			ZoomSequenceRenderer renderer = new ZoomSequenceRenderer(pool, tracks, polynomial, width, height);
+			long start = System.nanoTime();
+			renderer.render(keyframes, frame -> Paths.get(String.format(pattern, frame)));
+			System.out.printf("Written %d frames in %.1f s%n", keyframes.size(), (System.nanoTime() - start) / 1e9);
+		} catch (IOException | IllegalArgumentException ex) {
+			System.out.println("Failed to render sequence: " + ex.getMessage());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Provjerava da predložak imena datoteka daje različita imena za različite redne brojeve.
+	 */
+	private static void checkPattern(String pattern) {
+		try {
+			if (String.format(pattern, 0).equals(String.format(pattern, 1)))
+				throw new IllegalArgumentException("Output pattern has to contain the frame number, e.g. frame%05d.png");
+		} catch (IllegalFormatException ex) {
+			throw new IllegalArgumentException("Invalid output pattern: " + pattern + ": " + ex.getMessage());
+		}
+	}
+
+	/**
+	 * Parsira polinom iz nultočaka odvojenih znakom {@value #ROOT_SEPARATOR}.
+	 */
+	private static ComplexRootedPolynomial parsePolynomial(String rootsString) {
+		String[] rootStrings = rootsString.split(ROOT_SEPARATOR);
+		Complex[] roots = new Complex[rootStrings.length];
+		for (int i = 0; i < roots.length; i++) {
+			try {
+				roots[i] = Complex.parse(rootStrings[i].strip());
+			} catch (NumberFormatException ex) {
+				throw new IllegalArgumentException("invalid root: " + rootStrings[i] + ": " + ex.getMessage());
+			}
+		}
+		return new ComplexRootedPolynomial(Complex.ONE, roots);
+	}
+
+	/**
+	 * Parsira ključnu sliku iz jednog retka datoteke putanje.
+	 */
+	private static Keyframe parseKeyframe(String line) {
+		String[] parts = line.split("\\s+");
+		if (parts.length != 5)
+			throw new IllegalArgumentException("expected <frame> <reMin> <reMax> <imMin> <imMax>");
+		try {
+			return new Keyframe(Integer.parseInt(parts[0]), Double.parseDouble(parts[1]),
+					Double.parseDouble(parts[2]), Double.parseDouble(parts[3]), Double.parseDouble(parts[4]));
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException(ex.getMessage());
+		}
+	}
+
+}
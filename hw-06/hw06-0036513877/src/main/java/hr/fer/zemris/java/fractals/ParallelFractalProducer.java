@@ -1,188 +1,336 @@
 package hr.fer.zemris.java.fractals;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import hr.fer.zemris.java.fractals.viewer.IFractalResultObserver;
 import hr.fer.zemris.math.ComplexPolynomial;
 import hr.fer.zemris.math.ComplexRootedPolynomial;
-import static hr.fer.zemris.java.fractals.FractalConstants.*;
 
 /**
- * Implementacija sučelja {@link IFractalProducer} koji koristi kompleksne polinome za 
+ * Implementacija sučelja {@link IFractalProducer} koji koristi kompleksne polinome za
  * generiranje podataka o fraktalu.<br>
- * Pri tome se sam zadatak generiranja podataka može podijeliti na proizvoljno mnogo 
- * dijelova (poslova) koje će obavljati proizvoljno mnogo dretvi.
- * 
+ * Posao generiranja podataka obavljaju dretve jednog dugoživućeg {@link ForkJoinPool}-a
+ * koji se stvara samo jednom, prilikom stvaranja generatora, a ne za svaki zahtjev.
+ * Raster se rekurzivno dijeli na pravokutne pločice (dijeljenjem dulje stranice na pola)
+ * i dretve koje ostanu bez posla "kradu" preostale pločice od ostalih dretvi, pa je
+ * opterećenje ravnomjerno raspoređeno i kad su neki dijelovi slike puno skuplji od drugih.<br>
+ * Ako je promatrač ujedno i {@link IFractalBandObserver}, svaki vodoravni pojas od
+ * {@value #BAND_HEIGHT} redaka mu se objavljuje čim su izračunate sve pločice koje ga pokrivaju.
+ * Ako je promatrač {@link IFractalIterationObserver} i postavke izračuna to traže, generira se
+ * i broj iteracija za svaki piksel.
+ *
  * @author Tomislav Bjelčić
  *
  */
-public class ParallelFractalProducer extends AbstractFractalProducer {
-	
+public class ParallelFractalProducer extends AbstractFractalProducer implements AutoCloseable {
+
+	/**
+	 * Najmanja površina pločice (u pikselima) ispod koje se pločica više ne dijeli.
+	 */
+	private static final int MIN_TILE_AREA = 16 * 16;
 	/**
-	 * Predstavlja model posla koji obavlja izračun podataka potrebnih za vizualizaciju 
-	 * fraktala.
-	 * 
+	 * Broj poslova koji smiju čekati u redu dretve, a da se pločica ipak dodatno podijeli
+	 * kako bi besposlene dretve imale što ukrasti.
+	 */
+	private static final int SURPLUS_TASKS = 2;
+	/**
+	 * Visina pojasa (u retcima) koji se objavljuje promatraču {@link IFractalBandObserver}.
+	 */
+	public static final int BAND_HEIGHT = 16;
+
+	/**
+	 * Pomoćni razred koji sadrži parametre jednog zahtjeva za generiranjem podataka,
+	 * zajedničke svim pločicama tog zahtjeva.
+	 *
 	 * @author Tomislav Bjelčić
 	 *
 	 */
-	private static class Job implements Runnable {
-		
+	private static class Request {
+
 		double reMin;
 		double reMax;
 		double imMin;
 		double imMax;
-		double rootTreshold;
-		double convergenceTreshold;
-		ComplexPolynomial function;
-		ComplexRootedPolynomial functionRooted;
-		ComplexPolynomial derivative;
 		int width;
 		int height;
-		int maxIter;
-		int ymin;
-		int ymax;
+		int maxTileArea;
+		RenderOptions options;
 		short[] data;
+		short[] iterations;
 		AtomicBoolean cancel;
-		
-		Job(double reMin, double reMax, double imMin, double imMax, double rootTreshold, double convergenceTreshold,
-				ComplexPolynomial function, ComplexRootedPolynomial functionRooted, ComplexPolynomial derivative,
-				int width, int height, int maxIter, int ymin, int ymax, short[] data, AtomicBoolean cancel) {
-			super();
+		/**
+		 * Promatrač kojem se objavljuju dovršeni pojasevi ili {@code null}.
+		 */
+		IFractalBandObserver bandObserver;
+		/**
+		 * Broj još neizračunatih piksela svakog pojasa.
+		 */
+		AtomicInteger[] bandRemaining;
+		long requestNo;
+
+		Request(double reMin, double reMax, double imMin, double imMax,
+				int width, int height, int maxTileArea, RenderOptions options,
+				short[] data, short[] iterations, AtomicBoolean cancel) {
 			this.reMin = reMin;
 			this.reMax = reMax;
 			this.imMin = imMin;
 			this.imMax = imMax;
-			this.rootTreshold = rootTreshold;
-			this.convergenceTreshold = convergenceTreshold;
-			this.function = function;
-			this.functionRooted = functionRooted;
-			this.derivative = derivative;
 			this.width = width;
 			this.height = height;
-			this.maxIter = maxIter;
-			this.ymin = ymin;
-			this.ymax = ymax;
+			this.maxTileArea = maxTileArea;
+			this.options = options;
 			this.data = data;
+			this.iterations = iterations;
 			this.cancel = cancel;
 		}
-		
+
+		/**
+		 * Uključuje objavljivanje dovršenih pojaseva promatraču {@code observer}.
+		 */
+		void publishBands(IFractalBandObserver observer, long requestNo) {
+			this.bandObserver = observer;
+			this.requestNo = requestNo;
+			bandRemaining = new AtomicInteger[(height + BAND_HEIGHT - 1) / BAND_HEIGHT];
+			for (int i = 0; i < bandRemaining.length; i++) {
+				int rows = Math.min(BAND_HEIGHT, height - i * BAND_HEIGHT);
+				bandRemaining[i] = new AtomicInteger(rows * width);
+			}
+		}
+
+		/**
+		 * Bilježi da je pločica određena stupcima od {@code xmin} do {@code xmax} i retcima
+		 * od {@code ymin} do {@code ymax} izračunata, te objavljuje pojaseve koji su time dovršeni.
+		 */
+		void tileDone(int xmin, int xmax, int ymin, int ymax) {
+			if (bandObserver == null || cancel.get())
+				return;
+
+			int tileWidth = xmax - xmin + 1;
+			for (int band = ymin / BAND_HEIGHT; band <= ymax / BAND_HEIGHT; band++) {
+				int bandMin = band * BAND_HEIGHT;
+				int bandMax = Math.min(bandMin + BAND_HEIGHT, height) - 1;
+				int rows = Math.min(ymax, bandMax) - Math.max(ymin, bandMin) + 1;
+				if (bandRemaining[band].addAndGet(-rows * tileWidth) == 0)
+					bandObserver.acceptBand(data, width, bandMin, bandMax, requestNo);
+			}
+		}
+	}
+
+	/**
+	 * Predstavlja posao izračuna podataka za jednu pravokutnu pločicu rastera određenu
+	 * stupcima od {@code xmin} do {@code xmax} i retcima od {@code ymin} do {@code ymax}.
+	 * Ako je pločica prevelika, ili ako ostale dretve nemaju posla, pločica se dijeli na dvije
+	 * manje po duljoj stranici.
+	 *
+	 * @author Tomislav Bjelčić
+	 *
+	 */
+	private class TileTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		Request request;
+		int xmin;
+		int xmax;
+		int ymin;
+		int ymax;
+
+		TileTask(Request request, int xmin, int xmax, int ymin, int ymax) {
+			this.request = request;
+			this.xmin = xmin;
+			this.xmax = xmax;
+			this.ymin = ymin;
+			this.ymax = ymax;
+		}
+
 		@Override
-		public void run() {
-			NewtonRaphson.calculate​(reMin, reMax, imMin, imMax, rootTreshold, 
-					convergenceTreshold, function, functionRooted, derivative, 
-					width, height, maxIter, ymin, ymax, data, cancel);
+		protected void compute() {
+			if (request.cancel.get())
+				return;
+
+			int tileWidth = xmax - xmin + 1;
+			int tileHeight = ymax - ymin + 1;
+			int area = tileWidth * tileHeight;
+			boolean split = area > MIN_TILE_AREA
+					&& (area > request.maxTileArea || getSurplusQueuedTaskCount() < SURPLUS_TASKS);
+
+			if (!split) {
+				calculateTile(request.reMin, request.reMax, request.imMin, request.imMax,
+						request.width, request.height, xmin, xmax, ymin, ymax,
+						request.options, request.data, request.iterations, request.cancel);
+				request.tileDone(xmin, xmax, ymin, ymax);
+				return;
+			}
+
+			if (tileWidth >= tileHeight) {
+				int xmid = xmin + tileWidth / 2;
+				invokeAll(new TileTask(request, xmin, xmid - 1, ymin, ymax),
+						new TileTask(request, xmid, xmax, ymin, ymax));
+			} else {
+				int ymid = ymin + tileHeight / 2;
+				invokeAll(new TileTask(request, xmin, xmax, ymin, ymid - 1),
+						new TileTask(request, xmin, xmax, ymid, ymax));
+			}
 		}
-		
+
 	}
-	
+
 	/**
-	 * Broj dretvi koje obavljaju posao izračuna podataka.
+	 * Bazen dretvi koje obavljaju posao izračuna podataka.
 	 */
-	private int workers;
+	private ForkJoinPool pool;
 	/**
-	 * Broj poslova (u smislu prikaza fraktala na rasteru: broj horizontalnih traka) 
-	 * koje obavljaju dretve kojih ima {@code workers}.
+	 * Je li bazen dretvi stvoren od strane ovog generatora (pa ga ovaj generator i gasi).
+	 */
+	private boolean ownsPool;
+	/**
+	 * Najmanji broj pločica na koji se dijeli raster prilikom svakog zahtjeva.
 	 */
 	private int tracks;
-	
+
 	/**
-	 * Stvara novi generator podataka o fraktalu koristeći polinom {@code functionRooted}, 
-	 * podjelu na {@code tracks} poslova i {@code workers} dretvi.
-	 * 
-	 * @param functionRooted polinom u faktoriziranom obliku.
-	 * @param tracks broj poslova.
+	 * Stvara novi generator podataka o fraktalu koristeći polinom {@code crp},
+	 * podjelu na barem {@code tracks} pločica i vlastiti bazen od {@code workers} dretvi.
+	 *
 	 * @param workers broj dretvi.
+	 * @param tracks najmanji broj pločica.
+	 * @param crp polinom u faktoriziranom obliku.
+	 * @throws IllegalArgumentException ako je broj dretvi ili broj pločica manji od 1.
 	 */
 	public ParallelFractalProducer(int workers, int tracks, ComplexRootedPolynomial crp) {
+		this(new ForkJoinPool(checkPositive(workers, "dretvi")), tracks, crp);
+		this.ownsPool = true;
+	}
+
+	/**
+	 * Stvara novi generator podataka o fraktalu za polinom {@code function} zadan koeficijentima,
+	 * koristeći podjelu na barem {@code tracks} pločica i vlastiti bazen od {@code workers} dretvi.
+	 * Nultočke polinoma se pronalaze metodom {@link ComplexPolynomial#findRoots()}.
+	 *
+	 * @param workers broj dretvi.
+	 * @param tracks najmanji broj pločica.
+	 * @param function polinom u obliku sume i potencija.
+	 * @throws NullPointerException ako je predani polinom {@code null}.
+	 * @throws IllegalArgumentException ako je broj dretvi ili broj pločica manji od 1.
+	 */
+	public ParallelFractalProducer(int workers, int tracks, ComplexPolynomial function) {
+		this(workers, tracks, Objects.requireNonNull(function, "Predani polinom je null.").findRoots());
+	}
+
+	/**
+	 * Stvara novi generator podataka o fraktalu koristeći polinom {@code crp},
+	 * podjelu na barem {@code tracks} pločica i predani bazen dretvi {@code pool}.<br>
+	 * Bazen dretvi se može dijeliti između više generatora i ovaj ga generator ne gasi.
+	 *
+	 * @param pool bazen dretvi koji obavlja izračun.
+	 * @param tracks najmanji broj pločica.
+	 * @param crp polinom u faktoriziranom obliku.
+	 * @throws NullPointerException ako je predani bazen dretvi {@code null}.
+	 * @throws IllegalArgumentException ako je broj pločica manji od 1.
+	 */
+	public ParallelFractalProducer(ForkJoinPool pool, int tracks, ComplexRootedPolynomial crp) {
 		super(crp);
-		this.workers = workers;
-		this.tracks = tracks;
+		this.pool = Objects.requireNonNull(pool, "Predani bazen dretvi je null.");
+		this.tracks = checkPositive(tracks, "pločica");
 	}
-	
+
 	/**
-	 * Generira podatke kao polje short brojeva koje se koriste za vizualizaciju 
+	 * Provjerava je li predani broj {@code n} pozitivan.
+	 *
+	 * @param n broj koji se provjerava.
+	 * @param what što broj predstavlja, za poruku iznimke.
+	 * @return predani broj.
+	 * @throws IllegalArgumentException ako predani broj nije pozitivan.
+	 */
+	private static int checkPositive(int n, String what) {
+		if (n < 1)
+			throw new IllegalArgumentException("Broj " + what + " mora biti barem 1, a predano je " + n);
+		return n;
+	}
+
+	/**
+	 * Vraća bazen dretvi koji koristi ovaj generator.
+	 *
+	 * @return bazen dretvi ovog generatora.
+	 */
+	protected ForkJoinPool getPool() {
+		return pool;
+	}
+
+	/**
+	 * Izvršava posao {@code task} u bazenu dretvi ovog generatora i čeka njegov završetak.
+	 * Ako je pozivatelj i sam dretva tog bazena (primjerice kad se više slika generira
+	 * paralelno u istom bazenu), posao se izvršava izravno u toj dretvi.
+	 *
+	 * @param task posao koji se izvršava.
+	 */
+	protected void invoke(ForkJoinTask<?> task) {
+		if (ForkJoinTask.getPool() == pool)
+			task.invoke();
+		else
+			pool.invoke(task);
+	}
+
+	/**
+	 * Generira podatke kao polje short brojeva koje se koriste za vizualizaciju
 	 * fraktala i generirani rezultat šalje promatraču {@code observer}.<br>
-	 * Prilikom izračuna generiranih podataka koristi se onoliko mnogo dretvi koliko 
-	 * je specificirano prilikom stvaranja instance ovog razreda, i posao generiranja 
-	 * se isto tako dijeli na onoliko poslova koliko je specificirano.
+	 * Raster se dijeli na barem onoliko pločica koliko je specificirano prilikom
+	 * stvaranja instance ovog razreda, a pločice obrađuju dretve bazena ovog generatora.
+	 * Ako je promatrač {@link IFractalBandObserver}, pojasevi mu se objavljuju čim su dovršeni.
 	 */
 	@Override
 	public void produce(double reMin, double reMax, double imMin, double imMax,
-			int width, int height, 
-			long requestNo, IFractalResultObserver observer, 
+			int width, int height,
+			long requestNo, IFractalResultObserver observer,
 			AtomicBoolean cancel) {
-		
+
+		RenderOptions options = getOptions();
 		short[] data = new short[width * height];
-		int jobCount = tracks > height ? height : tracks;
-		int rowCountPerJob = height / jobCount;
-		
-		BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
-		Runnable doNothing = () -> {};
-		Runnable workerRunnable = () -> {
-			while(true) {
-				Runnable r = null;
-				try {
-					r = queue.take();
-					if(r == doNothing)
-						break;
-				} catch (InterruptedException e) {
-					continue;
-				}
-				r.run();
-			}
-		};
-		Thread[] workersArray = new Thread[workers];
-		
-		// inicijaliziraj dretve radnika
-		for(int i = 0; i < workersArray.length; i++) {
-			workersArray[i] = new Thread(workerRunnable);
-		}
-		
-		// pokreni dretve radnika koje će se zaglaviti na blokirajućem redu poslova jer je prazan
-		for(int i = 0; i < workersArray.length; i++) {
-			workersArray[i].start();
-		}
-		
-		// napuni red korisnim poslovima
-		for(int i = 0; i < jobCount; i++) {
-			int ymin = i * rowCountPerJob;
-			int ymax = i == jobCount-1 ? height - 1 : (i+1)*rowCountPerJob - 1;
-			
-			Job job = new Job(reMin, reMax, imMin, imMax, ROOT_TRESHOLD, 
-					CONVERGENCE_TRESHOLD, function, functionRooted, derivative, 
-					width, height, MAX_ITERATIONS, ymin, ymax, data, cancel);
-			while(true) {
-				try {
-					queue.put(job);
-					break;
-				} catch (InterruptedException e) {}
-			}
-		}
-		
-		// na kraj reda stavi prazne poslove
-		for(int i = 0; i < workersArray.length; i++) {
-			while(true) {
-				try {
-					queue.put(doNothing);
-					break;
-				} catch (InterruptedException e) {}
-			}
-		}
-		
-		// sačekaj sve dretve radnika da završe
-		for(int i = 0; i < workersArray.length; i++) {
-			while(true) {
-				try {
-					workersArray[i].join();
-					break;
-				} catch (InterruptedException e) {}
-			}
-		}
-		
-		
+		short[] iterations = options.isIterationCounts()
+				&& observer instanceof IFractalIterationObserver ? new short[width * height] : null;
+		int maxTileArea = Math.max(MIN_TILE_AREA, width * height / tracks);
+		Request request = new Request(reMin, reMax, imMin, imMax,
+				width, height, maxTileArea, options, data, iterations, cancel);
+		if (observer instanceof IFractalBandObserver)
+			request.publishBands((IFractalBandObserver) observer, requestNo);
+
+		invoke(new TileTask(request, 0, width - 1, 0, height - 1));
+
+		if (iterations != null)
+			((IFractalIterationObserver) observer).acceptIterations(iterations,
+					options.getMaxIterations(), requestNo);
 		observer.acceptResult(data, (short)(function.order() + 1), requestNo);
 	}
 
+	/**
+	 * Računa podatke o fraktalu za jednu pločicu rastera određenu stupcima od {@code xmin}
+	 * do {@code xmax} i retcima od {@code ymin} do {@code ymax} koristeći postavke {@code options}
+	 * i upisuje ih u polje {@code data}, a broj iteracija u polje {@code iterations} ako ono nije
+	 * {@code null}.<br>
+	 * Podrazredi mogu nadjačati ovu metodu kako bi pločice računali drugačijom jezgrom.
+	 */
+	protected void calculateTile(double reMin, double reMax, double imMin, double imMax,
+			int width, int height, int xmin, int xmax, int ymin, int ymax,
+			RenderOptions options, short[] data, short[] iterations, AtomicBoolean cancel) {
+		NewtonRaphson.calculate(reMin, reMax, imMin, imMax, options.getRootTreshold(),
+				options.getConvergenceTreshold(), evaluatorFor(options),
+				width, height, options.getMaxIterations(),
+				xmin, xmax, ymin, ymax, data, iterations, cancel);
+	}
+
+	/**
+	 * Gasi bazen dretvi ovog generatora ako ga je generator sam stvorio.
+	 * Bazen predan prilikom stvaranja se ne gasi.
+	 */
+	@Override
+	public void close() {
+		if (ownsPool)
+			pool.shutdown();
+	}
+
 }
@@ -0,0 +1,258 @@
+package hr.fer.zemris.java.fractals;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import hr.fer.zemris.math.ComplexRootedPolynomial;
+
+/**
+ * Razred koji mjerenjem određuje broj dretvi i broj pločica s kojima generator
+ * {@link ParallelFractalProducer} na trenutnom računalu najbrže generira fraktal.<br>
+ * Najbolja konfiguracija se određuje kratkim probnim generiranjima i pamti za svako računalo
+ * i stupanj polinoma u datoteci svojstava, koja se učitava prilikom stvaranja objekta, pa se
+ * mjerenje za isto računalo i stupanj polinoma provodi samo jednom.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public class ParallelismTuner {
+
+	/**
+	 * Pretpostavljena datoteka u kojoj se pamte izmjerene konfiguracije.
+	 */
+	public static final Path DEFAULT_FILE = Paths.get(System.getProperty("user.home"), ".newton-parallel.properties");
+
+	/**
+	 * Širina slike probnog generiranja.
+	 */
+	private static final int CALIBRATION_WIDTH = 320;
+	/**
+	 * Visina slike probnog generiranja.
+	 */
+	private static final int CALIBRATION_HEIGHT = 240;
+	/**
+	 * Broj mjerenih probnih generiranja za svaku konfiguraciju (nakon jednog zagrijavanja).
+	 */
+	private static final int REPEATS = 3;
+	/**
+	 * Višekratnici broja dretvi koji se isprobavaju kao broj pločica.
+	 */
+	private static final int[] TRACKS_PER_WORKER = {1, 2, 4, 8, 16};
+
+	/**
+	 * Konfiguracija generatora: broj dretvi i broj pločica.
+	 *
+	 * @author Tomislav Bjelčić
+	 *
+	 */
+	public static class Configuration {
+
+		private final int workers;
+		private final int tracks;
+
+		/**
+		 * Stvara novu konfiguraciju.
+		 *
+		 * @param workers broj dretvi.
+		 * @param tracks broj pločica.
+		 */
+		public Configuration(int workers, int tracks) {
+			this.workers = workers;
+			this.tracks = tracks;
+		}
+
+		/**
+		 * Vraća broj dretvi.
+		 *
+		 * @return broj dretvi.
+		 */
+		public int getWorkers() {
+			return workers;
+		}
+
+		/**
+		 * Vraća broj pločica.
+		 *
+		 * @return broj pločica.
+		 */
+		public int getTracks() {
+			return tracks;
+		}
+
+		@Override
+		public String toString() {
+			return workers + " workers, " + tracks + " tracks";
+		}
+	}
+
+	/**
+	 * Datoteka u kojoj se pamte konfiguracije.
+	 */
+	private Path file;
+	/**
+	 * Zapamćene konfiguracije.
+	 */
+	private Properties properties = new Properties();
+	/**
+	 * Oznaka računala koja je dio ključa zapamćenih konfiguracija.
+	 */
+	private String host;
+
+	/**
+	 * Stvara novi objekt koji konfiguracije pamti u datoteci {@code file} i učitava
+	 * konfiguracije koje su u njoj već zapamćene. Nepostojeća datoteka se tretira kao prazna.
+	 *
+	 * @param file datoteka u kojoj se pamte konfiguracije.
+	 * @throws IOException ako postojeću datoteku nije moguće pročitati.
+	 * @throws NullPointerException ako je predana datoteka {@code null}.
+	 */
+	public ParallelismTuner(Path file) throws IOException {
+		this.file = Objects.requireNonNull(file, "Predana datoteka je null.");
+		this.host = hostName() + "-" + Runtime.getRuntime().availableProcessors();
+
+		try (Reader reader = Files.newBufferedReader(file)) {
+			properties.load(reader);
+		} catch (NoSuchFileException ex) {
+			// još ništa nije zapamćeno
+		}
+	}
+
+	/**
+	 * Vraća zapamćenu konfiguraciju za ovo računalo i polinom stupnja {@code degree}.
+	 *
+	 * @param degree stupanj polinoma.
+	 * @return zapamćena konfiguracija ili {@code null} ako ne postoji.
+	 */
+	public Configuration lookup(int degree) {
+		String workers = properties.getProperty(key(degree, "workers"));
+		String tracks = properties.getProperty(key(degree, "tracks"));
+		if (workers == null || tracks == null)
+			return null;
+
+		try {
+			int w = Integer.parseInt(workers);
+			int t = Integer.parseInt(tracks);
+			return w > 0 && t > 0 ? new Configuration(w, t) : null;
+		} catch (NumberFormatException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Vraća najbolju konfiguraciju za polinom {@code crp}. Ako konfiguracija za ovo računalo
+	 * i stupanj polinoma nije zapamćena, određuje se mjerenjem i pamti (ali se ne zapisuje
+	 * u datoteku dok se ne pozove {@link #save()}).
+	 *
+	 * @param crp polinom u faktoriziranom obliku.
+	 * @return najbolja konfiguracija.
+	 */
+	public Configuration tune(ComplexRootedPolynomial crp) {
+		int degree = crp.getRoots().length;
+		Configuration configuration = lookup(degree);
+		if (configuration != null)
+			return configuration;
+
+		configuration = calibrate(crp);
+		properties.setProperty(key(degree, "workers"), Integer.toString(configuration.getWorkers()));
+		properties.setProperty(key(degree, "tracks"), Integer.toString(configuration.getTracks()));
+		return configuration;
+	}
+
+	/**
+	 * Zapisuje sve zapamćene konfiguracije u datoteku.
+	 *
+	 * @throws IOException ako datoteku nije moguće zapisati.
+	 */
+	public void save() throws IOException {
+		try (Writer writer = Files.newBufferedWriter(file)) {
+			properties.store(writer, "NewtonParallel: best workers and tracks per host and polynomial degree");
+		}
+	}
+
+	/**
+	 * Mjerenjem određuje najbolju konfiguraciju za polinom {@code crp}. Najprije se, uz
+	 * {@code 4 * workers} pločica, traži najbolji broj dretvi među potencijama broja 2 i
+	 * brojem procesora, a zatim se za taj broj dretvi traži najbolji broj pločica.
+	 *
+	 * @param crp polinom u faktoriziranom obliku.
+	 * @return najbolja izmjerena konfiguracija.
+	 */
+	public static Configuration calibrate(ComplexRootedPolynomial crp) {
+		int processors = Runtime.getRuntime().availableProcessors();
+
+		int bestWorkers = 1;
+		long bestTime = Long.MAX_VALUE;
+		for (int w = 1; ; w *= 2) {
+			int workers = Math.min(w, processors);
+			long time = measure(crp, workers, 4 * workers);
+			if (time < bestTime) {
+				bestTime = time;
+				bestWorkers = workers;
+			}
+			if (workers == processors)
+				break;
+		}
+
+		int bestTracks = 4 * bestWorkers;
+		for (int perWorker : TRACKS_PER_WORKER) {
+			int t = perWorker * bestWorkers;
+			if (t == 4 * bestWorkers)
+				continue;
+			long time = measure(crp, bestWorkers, t);
+			if (time < bestTime) {
+				bestTime = time;
+				bestTracks = t;
+			}
+		}
+		return new Configuration(bestWorkers, bestTracks);
+	}
+
+	/**
+	 * Vraća najkraće trajanje probnog generiranja (u nanosekundama) s {@code workers}
+	 * dretvi i {@code tracks} pločica.
+	 */
+	private static long measure(ComplexRootedPolynomial crp, int workers, int tracks) {
+		long best = Long.MAX_VALUE;
+		try (ParallelFractalProducer producer = new ParallelFractalProducer(workers, tracks, crp)) {
+			for (int i = 0; i <= REPEATS; i++) {
+				long start = System.nanoTime();
+				producer.produce(-2.5, 1, -1.2, 1.2, CALIBRATION_WIDTH, CALIBRATION_HEIGHT, 0,
+						(data, limit, requestNo) -> {}, new AtomicBoolean());
+				long time = System.nanoTime() - start;
+				// prvo generiranje služi samo za zagrijavanje
+				if (i > 0)
+					best = Math.min(best, time);
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Vraća ključ svojstva {@code what} za ovo računalo i stupanj polinoma {@code degree}.
+	 */
+	private String key(int degree, String what) {
+		return host + ".degree" + degree + "." + what;
+	}
+
+	/**
+	 * Vraća ime ovog računala.
+	 */
+	private static String hostName() {
+		try {
+			return InetAddress.getLocalHost().getHostName();
+		} catch (UnknownHostException ex) {
+			return "localhost";
+		}
+	}
+
+}
@@ -0,0 +1,382 @@
+package hr.fer.zemris.java.fractals;
+
+import java.util.Objects;
+
+import hr.fer.zemris.math.Complex;
+import hr.fer.zemris.math.ComplexPolynomial;
+import hr.fer.zemris.math.ComplexRootedPolynomial;
+import hr.fer.zemris.math.RootGrid;
+
+/**
+ * Unaprijed pripremljen ("prevedeni") izračun Newtonovog koraka {@code f(z) / f'(z)} za
+ * zadani polinom.<br>
+ * Koeficijenti polinoma, njegove derivacije i nultočke spremljeni su u poljima {@code double}
+ * brojeva, pa izračun ne stvara objekte razreda {@link Complex}. Objekt se stvara jednom po
+ * generatoru fraktala i nepromjenjiv je, pa ga sve dretve mogu istovremeno koristiti.<br>
+ * Korak se računa na jedan od dva načina:
+ * <ul>
+ * <li>Hornerovim postupkom, pri čemu se {@code f(z)} i {@code f'(z)} računaju u istoj petlji.
+ * Rezultat je jednak onome koji bi se dobio metodama {@link ComplexPolynomial#apply(Complex)} i
+ * {@link Complex#divide(Complex)}.</li>
+ * <li>preko nultočaka, kao {@code 1 / sum 1/(z - z_i)}. Za polinome stupnja od oko 8 naviše
+ * to je jeftinije od dva Hornerova postupka, a i točnije jer koeficijenti polinoma u obliku
+ * sume potencija mogu biti jako veliki u odnosu na vrijednost polinoma. Rezultat se zbog
+ * drugačijeg zaokruživanja može razlikovati od Hornerovog, pa se iteracija na granicama
+ * bazena privlačenja može završiti u drugoj nultočki.</li>
+ * </ul>
+ * Pretpostavljeno se korak računa Hornerovim postupkom; izračun preko nultočaka se odabire
+ * eksplicitno (vidi {@link RenderOptions#isRootedStep()}).
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public class PolynomialEvaluator {
+
+	/**
+	 * Realni dijelovi koeficijenata polinoma.
+	 */
+	private final double[] fRe;
+	/**
+	 * Imaginarni dijelovi koeficijenata polinoma.
+	 */
+	private final double[] fIm;
+	/**
+	 * Realni dijelovi koeficijenata derivacije polinoma.
+	 */
+	private final double[] dRe;
+	/**
+	 * Imaginarni dijelovi koeficijenata derivacije polinoma.
+	 */
+	private final double[] dIm;
+	/**
+	 * Realni dijelovi nultočaka.
+	 */
+	private final double[] rootsRe;
+	/**
+	 * Imaginarni dijelovi nultočaka.
+	 */
+	private final double[] rootsIm;
+	/**
+	 * Računa li se korak preko nultočaka.
+	 */
+	private final boolean rooted;
+	/**
+	 * Prostorni indeks nultočaka za traženje najbliže nultočke.
+	 */
+	private final RootGrid rootGrid;
+
+	/**
+	 * Stvara novi objekt za polinom {@code functionRooted} koji korak računa Hornerovim 
+	 * postupkom.
+	 *
+	 * @param functionRooted polinom u faktoriziranom obliku.
+	 * @throws NullPointerException ako je predani polinom {@code null}.
+	 */
+	public PolynomialEvaluator(ComplexRootedPolynomial functionRooted) {
+		this(functionRooted, false);
+	}
+
+	/**
+	 * Stvara novi objekt za polinom {@code functionRooted}.
+	 *
+	 * @param functionRooted polinom u faktoriziranom obliku.
+	 * @param rooted računa li se korak preko nultočaka (inače Hornerovim postupkom).
+	 * @throws NullPointerException ako je predani polinom {@code null}.
+	 * @throws IllegalArgumentException ako se korak treba računati preko nultočaka, a
+	 * polinom nema nultočaka.
+	 */
+	public PolynomialEvaluator(ComplexRootedPolynomial functionRooted, boolean rooted) {
+		this(functionRooted, 
+				Objects.requireNonNull(functionRooted, "Predani polinom je null.").toComplexPolynom(), 
+				rooted);
+	}
+
+	/**
+	 * Stvara novi objekt za polinom {@code functionRooted} čiji je oblik sume i potencija
+	 * {@code function} već izračunat, tako da se umnožak faktora ne računa ponovno.
+	 *
+	 * @param functionRooted polinom u faktoriziranom obliku.
+	 * @param function isti polinom u obliku sume i potencija.
+	 * @param rooted računa li se korak preko nultočaka (inače Hornerovim postupkom).
+	 * @throws NullPointerException ako je neki od predanih polinoma {@code null}.
+	 * @throws IllegalArgumentException ako se korak treba računati preko nultočaka, a
+	 * polinom nema nultočaka.
+	 */
+	PolynomialEvaluator(ComplexRootedPolynomial functionRooted, ComplexPolynomial function, boolean rooted) {
+		Objects.requireNonNull(functionRooted, "Predani polinom je null.");
+		Objects.requireNonNull(function, "Predani polinom je null.");
+		Complex[] roots = functionRooted.getRoots();
+		if (rooted && roots.length == 0)
+			throw new IllegalArgumentException("Polinom bez nultočaka se ne može računati preko nultočaka.");
+
+		Complex[] functionCoefs = function.getCoefficients();
+		Complex[] derivativeCoefs = function.derive().getCoefficients();
+		fRe = real(functionCoefs);
+		fIm = imaginary(functionCoefs);
+		dRe = real(derivativeCoefs);
+		dIm = imaginary(derivativeCoefs);
+		rootsRe = real(roots);
+		rootsIm = imaginary(roots);
+		rootGrid = new RootGrid(rootsRe, rootsIm);
+		this.rooted = rooted;
+	}
+
+	/**
+	 * Stvara objekt za isti polinom kao {@code other} koji korak računa na način 
+	 * {@code rooted}. Polja koeficijenata i nultočaka se dijele, a ne kopiraju.
+	 */
+	private PolynomialEvaluator(PolynomialEvaluator other, boolean rooted) {
+		fRe = other.fRe;
+		fIm = other.fIm;
+		dRe = other.dRe;
+		dIm = other.dIm;
+		rootsRe = other.rootsRe;
+		rootsIm = other.rootsIm;
+		rootGrid = other.rootGrid;
+		this.rooted = rooted;
+	}
+
+	/**
+	 * Vraća objekt za isti polinom koji korak računa na način {@code rooted}. Ako ovaj 
+	 * objekt već računa korak na taj način, vraća se on sam.
+	 *
+	 * @param rooted računa li se korak preko nultočaka (inače Hornerovim postupkom).
+	 * @return objekt za isti polinom sa zadanim načinom izračuna koraka.
+	 * @throws IllegalArgumentException ako se korak treba računati preko nultočaka, a
+	 * polinom nema nultočaka.
+	 */
+	public PolynomialEvaluator withRooted(boolean rooted) {
+		if (rooted == this.rooted)
+			return this;
+		if (rooted && rootsRe.length == 0)
+			throw new IllegalArgumentException("Polinom bez nultočaka se ne može računati preko nultočaka.");
+		return new PolynomialEvaluator(this, rooted);
+	}
+
+	/**
+	 * Vraća stupanj polinoma.
+	 *
+	 * @return stupanj polinoma.
+	 */
+	public int getDegree() {
+		return rootsRe.length;
+	}
+
+	/**
+	 * Vraća računa li se korak preko nultočaka.
+	 *
+	 * @return {@code true} ako se korak računa preko nultočaka, {@code false} ako se
+	 * računa Hornerovim postupkom.
+	 */
+	public boolean isRooted() {
+		return rooted;
+	}
+
+	/**
+	 * Vraća realne dijelove nultočaka. Vraćeno polje se ne smije mijenjati.
+	 *
+	 * @return realni dijelovi nultočaka.
+	 */
+	double[] rootsRe() {
+		return rootsRe;
+	}
+
+	/**
+	 * Vraća imaginarne dijelove nultočaka. Vraćeno polje se ne smije mijenjati.
+	 *
+	 * @return imaginarni dijelovi nultočaka.
+	 */
+	double[] rootsIm() {
+		return rootsIm;
+	}
+
+	/**
+	 * Vraća poziciju nultočke najbliže točki {@code (re, im)} čiji je kvadrat udaljenosti
+	 * od te točke manji ili jednak {@code rootTresholdSq}, ili -1 ako takva ne postoji
+	 * (vidi {@link RootGrid#indexOfClosest(double, double, double)}).
+	 *
+	 * @param re realni dio točke.
+	 * @param im imaginarni dio točke.
+	 * @param rootTresholdSq kvadrat granične udaljenosti.
+	 * @return pozicija najbliže nultočke ili -1.
+	 */
+	int indexOfClosestRoot(double re, double im, double rootTresholdSq) {
+		return rootGrid.indexOfClosest(re, im, rootTresholdSq);
+	}
+
+	/**
+	 * Računa Newtonov korak {@code f(z) / f'(z)} u točki {@code (re, im)} i upisuje njegov
+	 * realni dio u {@code step[0]}, a imaginarni u {@code step[1]}.<br>
+	 * Ako je točka točno jednaka nekoj nultočki, korak je 0.
+	 *
+	 * @param re realni dio točke.
+	 * @param im imaginarni dio točke.
+	 * @param step polje duljine barem 2 u koje se upisuje korak.
+	 */
+	public void step(double re, double im, double[] step) {
+		if (rooted) {
+			double sumRe = 0;
+			double sumIm = 0;
+			for (int i=0; i<rootsRe.length; i++) {
+				double aRe = re - rootsRe[i];
+				double aIm = im - rootsIm[i];
+				double amodsq = aRe * aRe + aIm * aIm;
+				sumRe += aRe / amodsq;
+				sumIm -= aIm / amodsq;
+			}
+			double smodsq = sumRe * sumRe + sumIm * sumIm;
+			double stepRe = sumRe / smodsq;
+			double stepIm = -sumIm / smodsq;
+			step[0] = Double.isNaN(stepRe) ? 0 : stepRe;
+			step[1] = Double.isNaN(stepIm) ? 0 : stepIm;
+			return;
+		}
+
+		// f(z) i f'(z) u istoj petlji, Hornerovim postupkom
+		int fLast = fRe.length - 1;
+		double fzRe = fRe[fLast];
+		double fzIm = fIm[fLast];
+		double dzRe = dRe[dRe.length - 1];
+		double dzIm = dIm[dIm.length - 1];
+		for (int i=fLast-1; i>=1; i--) {
+			double pRe = fzRe * re - fzIm * im;
+			double pIm = fzRe * im + re * fzIm;
+			fzRe = pRe + fRe[i];
+			fzIm = pIm + fIm[i];
+			double qRe = dzRe * re - dzIm * im;
+			double qIm = dzRe * im + re * dzIm;
+			dzRe = qRe + dRe[i-1];
+			dzIm = qIm + dIm[i-1];
+		}
+		if (fLast >= 1) {
+			double pRe = fzRe * re - fzIm * im;
+			double pIm = fzRe * im + re * fzIm;
+			fzRe = pRe + fRe[0];
+			fzIm = pIm + fIm[0];
+		}
+
+		double dmodsq = dzRe * dzRe + dzIm * dzIm;
+		step[0] = (fzRe * dzRe + fzIm * dzIm) / dmodsq;
+		step[1] = (dzRe * fzIm - fzRe * dzIm) / dmodsq;
+	}
+
+	/**
+	 * Računa Newtonov korak za sve točke {@code (re[l], im[l])} odjednom i upisuje ga u
+	 * polja {@code stepRe} i {@code stepIm}. Rezultat za svaku točku jednak je rezultatu
+	 * metode {@link #step(double, double, double[])}, ali petlje po točkama nemaju grananja.<br>
+	 * Polja {@code workRe} i {@code workIm} služe kao radna memorija. Sva polja moraju biti
+	 * jednake duljine.
+	 *
+	 * @param re realni dijelovi točaka.
+	 * @param im imaginarni dijelovi točaka.
+	 * @param stepRe polje u koje se upisuju realni dijelovi koraka.
+	 * @param stepIm polje u koje se upisuju imaginarni dijelovi koraka.
+	 * @param workRe radno polje.
+	 * @param workIm radno polje.
+	 */
+	public void step(double[] re, double[] im, double[] stepRe, double[] stepIm,
+			double[] workRe, double[] workIm) {
+		int lanes = re.length;
+		if (rooted) {
+			for (int l=0; l<lanes; l++) {
+				stepRe[l] = 0;
+				stepIm[l] = 0;
+			}
+			for (int i=0; i<rootsRe.length; i++) {
+				double rRe = rootsRe[i];
+				double rIm = rootsIm[i];
+				for (int l=0; l<lanes; l++) {
+					double aRe = re[l] - rRe;
+					double aIm = im[l] - rIm;
+					double amodsq = aRe * aRe + aIm * aIm;
+					stepRe[l] += aRe / amodsq;
+					stepIm[l] -= aIm / amodsq;
+				}
+			}
+			for (int l=0; l<lanes; l++) {
+				double sumRe = stepRe[l];
+				double sumIm = stepIm[l];
+				double smodsq = sumRe * sumRe + sumIm * sumIm;
+				double sRe = sumRe / smodsq;
+				double sIm = -sumIm / smodsq;
+				stepRe[l] = Double.isNaN(sRe) ? 0 : sRe;
+				stepIm[l] = Double.isNaN(sIm) ? 0 : sIm;
+			}
+			return;
+		}
+
+		// f(z) u poljima stepRe i stepIm, f'(z) u radnim poljima
+		int fLast = fRe.length - 1;
+		for (int l=0; l<lanes; l++) {
+			stepRe[l] = fRe[fLast];
+			stepIm[l] = fIm[fLast];
+			workRe[l] = dRe[dRe.length - 1];
+			workIm[l] = dIm[dIm.length - 1];
+		}
+		for (int i=fLast-1; i>=1; i--) {
+			double aRe = fRe[i];
+			double aIm = fIm[i];
+			double bRe = dRe[i-1];
+			double bIm = dIm[i-1];
+			for (int l=0; l<lanes; l++) {
+				double zRe = re[l];
+				double zIm = im[l];
+				double pRe = stepRe[l] * zRe - stepIm[l] * zIm;
+				double pIm = stepRe[l] * zIm + zRe * stepIm[l];
+				stepRe[l] = pRe + aRe;
+				stepIm[l] = pIm + aIm;
+				double qRe = workRe[l] * zRe - workIm[l] * zIm;
+				double qIm = workRe[l] * zIm + zRe * workIm[l];
+				workRe[l] = qRe + bRe;
+				workIm[l] = qIm + bIm;
+			}
+		}
+		if (fLast >= 1) {
+			double aRe = fRe[0];
+			double aIm = fIm[0];
+			for (int l=0; l<lanes; l++) {
+				double pRe = stepRe[l] * re[l] - stepIm[l] * im[l];
+				double pIm = stepRe[l] * im[l] + re[l] * stepIm[l];
+				stepRe[l] = pRe + aRe;
+				stepIm[l] = pIm + aIm;
+			}
+		}
+
+		for (int l=0; l<lanes; l++) {
+			double fzRe = stepRe[l];
+			double fzIm = stepIm[l];
+			double dzRe = workRe[l];
+			double dzIm = workIm[l];
+			double dmodsq = dzRe * dzRe + dzIm * dzIm;
+			stepRe[l] = (fzRe * dzRe + fzIm * dzIm) / dmodsq;
+			stepIm[l] = (dzRe * fzIm - fzRe * dzIm) / dmodsq;
+		}
+	}
+
+	/**
+	 * Vraća polje realnih dijelova predanih kompleksnih brojeva.
+	 *
+	 * @param numbers kompleksni brojevi.
+	 * @return polje realnih dijelova.
+	 */
+	private static double[] real(Complex[] numbers) {
+		double[] re = new double[numbers.length];
+		for (int i=0; i<numbers.length; i++)
+			re[i] = numbers[i].getReal();
+		return re;
+	}
+
+	/**
+	 * Vraća polje imaginarnih dijelova predanih kompleksnih brojeva.
+	 *
+	 * @param numbers kompleksni brojevi.
+	 * @return polje imaginarnih dijelova.
+	 */
+	private static double[] imaginary(Complex[] numbers) {
+		double[] im = new double[numbers.length];
+		for (int i=0; i<numbers.length; i++)
+			im[i] = numbers[i].getImaginary();
+		return im;
+	}
+
+}
@@ -0,0 +1,230 @@
+package hr.fer.zemris.java.fractals;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import hr.fer.zemris.java.fractals.viewer.IFractalResultObserver;
+import hr.fer.zemris.math.ComplexRootedPolynomial;
+
+/**
+ * Paralelni generator podataka o fraktalu koji sliku generira progresivno, u više prolaza
+ * sve veće rezolucije: prvo se računa svaki osmi piksel (u oba smjera), zatim svaki četvrti,
+ * svaki drugi i na kraju svaki piksel. Nakon svakog prolaza promatraču se šalje slika pune
+ * veličine (u kojoj je svaki izračunati piksel razvučen na blok piksela koji još nisu izračunati),
+ * uvijek s istim rednim brojem zahtjeva, tako da se gruba slika prikaže puno prije nego što je
+ * gotova puna rezolucija.<br>
+ * Piksel novog prolaza se ne iterira ako su sva četiri susjedna piksela prethodnog (grubljeg)
+ * prolaza konvergirala istoj nultočki, već se preuzima njihova vrijednost. Zbog toga konačna
+ * slika može odstupati od slike generirane izračunom svakog piksela u rijetkim tankim
+ * detaljima koji se nalaze unutar takvih blokova.<br>
+ * Zahtjev za prekidom se provjerava između prolaza; prekinuti prolaz se ne šalje promatraču.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public class ProgressiveFractalProducer extends ParallelFractalProducer {
+
+	/**
+	 * Razmak između piksela u prvom (najgrubljem) prolazu.
+	 */
+	private static final int COARSEST_STEP = 8;
+	/**
+	 * Najveći broj redaka prolaza koje obrađuje jedan posao.
+	 */
+	private static final int ROWS_PER_TASK = 4;
+
+	/**
+	 * Posao izračuna jednog prolaza za retke prolaza od {@code rowMin} (uključivo)
+	 * do {@code rowMax} (isključivo), gdje redak prolaza {@code r} odgovara retku rastera
+	 * {@code r * step}.
+	 *
+	 * @author Tomislav Bjelčić
+	 *
+	 */
+	private class PassTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		double reMin;
+		double reMax;
+		double imMin;
+		double imMax;
+		int width;
+		int height;
+		int step;
+		int rowMin;
+		int rowMax;
+		RenderOptions options;
+		short[] data;
+		AtomicBoolean cancel;
+
+		PassTask(double reMin, double reMax, double imMin, double imMax, int width, int height,
+				int step, int rowMin, int rowMax, RenderOptions options, short[] data,
+				AtomicBoolean cancel) {
+			this.reMin = reMin;
+			this.reMax = reMax;
+			this.imMin = imMin;
+			this.imMax = imMax;
+			this.width = width;
+			this.height = height;
+			this.step = step;
+			this.rowMin = rowMin;
+			this.rowMax = rowMax;
+			this.options = options;
+			this.data = data;
+			this.cancel = cancel;
+		}
+
+		@Override
+		protected void compute() {
+			if (cancel.get())
+				return;
+
+			if (rowMax - rowMin > ROWS_PER_TASK) {
+				int rowMid = (rowMin + rowMax) >>> 1;
+				invokeAll(new PassTask(reMin, reMax, imMin, imMax, width, height,
+								step, rowMin, rowMid, options, data, cancel),
+						new PassTask(reMin, reMax, imMin, imMax, width, height,
+								step, rowMid, rowMax, options, data, cancel));
+				return;
+			}
+
+			int[] columns = new int[width];
+			for (int r = rowMin; r < rowMax && !cancel.get(); r++) {
+				calculateRow(r * step, columns);
+			}
+		}
+
+		/**
+		 * Računa nove piksele prolaza u retku rastera {@code y} i popunjava njihove blokove.
+		 */
+		private void calculateRow(int y, int[] columns) {
+			int coarse = 2 * step;
+			boolean first = step == COARSEST_STEP;
+			boolean coarseRow = y % coarse == 0;
+			// u retku grubljeg prolaza nove su samo točke na neparnim višekratnicima koraka
+			int xStart = !first && coarseRow ? step : 0;
+			int xStep = !first && coarseRow ? coarse : step;
+
+			int count = 0;
+			for (int x = xStart; x < width; x += xStep) {
+				short known = first ? 0 : agreedNeighbourValue(x, y, coarse);
+				if (known != 0) {
+					data[y * width + x] = known;
+				} else {
+					columns[count++] = x;
+				}
+			}
+
+			NewtonRaphson.calculate(reMin, reMax, imMin, imMax, options.getRootTreshold(),
+					options.getConvergenceTreshold(), evaluatorFor(options),
+					width, height, options.getMaxIterations(), y, columns, count, data);
+
+			int yEnd = Math.min(y + step, height);
+			for (int x = xStart; x < width; x += xStep) {
+				short value = data[y * width + x];
+				int xEnd = Math.min(x + step, width);
+				for (int yy = y; yy < yEnd; yy++) {
+					int offset = yy * width;
+					for (int xx = x; xx < xEnd; xx++) {
+						data[offset + xx] = value;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Vraća vrijednost koju imaju svi vrhovi ćelije grubljeg prolaza (s razmakom
+		 * {@code coarse}) u kojoj se nalazi piksel {@code (x, y)}, ako su svi vrhovi unutar
+		 * rastera konvergirali istoj nultočki, inače vraća 0.
+		 */
+		private short agreedNeighbourValue(int x, int y, int coarse) {
+			int x0 = x - x % coarse;
+			int y0 = y - y % coarse;
+			int x1 = x0 + coarse;
+			int y1 = y0 + coarse;
+
+			short value = data[y0 * width + x0];
+			if (value == 0)
+				return 0;
+			if (x1 < width && data[y0 * width + x1] != value)
+				return 0;
+			if (y1 < height && data[y1 * width + x0] != value)
+				return 0;
+			if (x1 < width && y1 < height && data[y1 * width + x1] != value)
+				return 0;
+			return value;
+		}
+
+	}
+
+	/**
+	 * Stvara novi progresivni generator podataka o fraktalu koristeći polinom {@code crp}
+	 * i vlastiti bazen od {@code workers} dretvi.
+	 *
+	 * @param workers broj dretvi.
+	 * @param crp polinom u faktoriziranom obliku.
+	 * @throws IllegalArgumentException ako je broj dretvi manji od 1.
+	 */
+	public ProgressiveFractalProducer(int workers, ComplexRootedPolynomial crp) {
+		super(workers, 1, crp);
+	}
+
+	/**
+	 * Stvara novi progresivni generator podataka o fraktalu koristeći polinom {@code crp}
+	 * i predani bazen dretvi {@code pool}.
+	 *
+	 * @param pool bazen dretvi koji obavlja izračun.
+	 * @param crp polinom u faktoriziranom obliku.
+	 * @throws NullPointerException ako je predani bazen dretvi {@code null}.
+	 */
+	public ProgressiveFractalProducer(ForkJoinPool pool, ComplexRootedPolynomial crp) {
+		super(pool, 1, crp);
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * Ovaj generator ne generira broj iteracija za piksele.
+	 *
+	 * @throws IllegalArgumentException ako predane postavke traže broj iteracija
+	 * ({@link RenderOptions#isIterationCounts()}).
+	 */
+	@Override
+	public void setOptions(RenderOptions options) {
+		if (options != null && options.isIterationCounts())
+			throw new IllegalArgumentException("Progresivni generator ne generira broj iteracija.");
+		super.setOptions(options);
+	}
+
+	/**
+	 * Generira podatke o fraktalu u prolazima sve veće rezolucije i nakon svakog
+	 * prolaza šalje trenutnu sliku promatraču {@code observer} s istim rednim brojem
+	 * zahtjeva {@code requestNo}.
+	 */
+	@Override
+	public void produce(double reMin, double reMax, double imMin, double imMax,
+			int width, int height,
+			long requestNo, IFractalResultObserver observer,
+			AtomicBoolean cancel) {
+
+		RenderOptions options = getOptions();
+		short[] data = new short[width * height];
+		short limit = (short)(function.order() + 1);
+
+		for (int step = COARSEST_STEP; step >= 1; step /= 2) {
+			if (cancel.get())
+				return;
+
+			int rows = (height + step - 1) / step;
+			invoke(new PassTask(reMin, reMax, imMin, imMax, width, height,
+					step, 0, rows, options, data, cancel));
+
+			if (cancel.get())
+				return;
+			// promatrač može sliku čitati dok se računa sljedeći prolaz, pa dobiva kopiju
+			observer.acceptResult(step == 1 ? data : data.clone(), limit, requestNo);
+		}
+	}
+
+}
@@ -0,0 +1,85 @@
+package hr.fer.zemris.java.fractals;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Promatrač koji podatke o fraktalu zapisuje u sirovom obliku (kao i
+ * {@link FractalImageWriter#writeRaw(Path, short[], int, int)}) u memorijski mapiranu datoteku,
+ * pojas po pojas, čim je pojedini pojas izračunat. Datoteka se mapira prilikom stvaranja
+ * promatrača, a nakon primitka konačnog rezultata podaci se zapisuju na disk.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public class RawBandWriter implements IFractalBandObserver {
+
+	/**
+	 * Memorijski mapirana izlazna datoteka.
+	 */
+	private MappedByteBuffer buffer;
+	/**
+	 * Broj piksela slike.
+	 */
+	private int size;
+	/**
+	 * Broj piksela zapisanih kroz pojaseve.
+	 */
+	private AtomicInteger written = new AtomicInteger();
+
+	/**
+	 * Stvara novi promatrač koji zapisuje sliku dimenzija {@code width} x {@code height}
+	 * u datoteku {@code file}.
+	 *
+	 * @param file izlazna datoteka.
+	 * @param width širina slike.
+	 * @param height visina slike.
+	 * @throws IOException ako se datoteka ne može stvoriti ili mapirati.
+	 * @throws NullPointerException ako je predana datoteka {@code null}.
+	 * @throws IllegalArgumentException ako dimenzije slike nisu pozitivne.
+	 */
+	public RawBandWriter(Path file, int width, int height) throws IOException {
+		Objects.requireNonNull(file, "Predana datoteka je null.");
+		if (width < 1 || height < 1)
+			throw new IllegalArgumentException("Neispravne dimenzije slike: " + width + "x" + height);
+		this.size = width * height;
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) size * Short.BYTES);
+		}
+	}
+
+	@Override
+	public void acceptBand(short[] data, int width, int ymin, int ymax, long requestNo) {
+		int offset = ymin * width;
+		// svaka dretva piše kroz vlastiti pogled na mapiranu datoteku
+		ShortBuffer view = buffer.duplicate().asShortBuffer();
+		view.position(offset);
+		view.put(data, offset, (ymax - ymin + 1) * width);
+		written.addAndGet((ymax - ymin + 1) * width);
+	}
+
+	/**
+	 * Zapisuje cijelu sliku ako nisu primljeni svi pojasevi (primjerice ako generator ne
+	 * objavljuje pojaseve) i osigurava da su podaci zapisani na disk.
+	 *
+	 * @throws IllegalArgumentException ako veličina podataka ne odgovara veličini slike.
+	 */
+	@Override
+	public void acceptResult(short[] data, short limit, long requestNo) {
+		if (data.length != size)
+			throw new IllegalArgumentException("Veličina podataka " + data.length
+					+ " ne odgovara veličini slike " + size);
+		if (written.get() != size)
+			buffer.duplicate().asShortBuffer().put(data);
+		buffer.force();
+	}
+
+}
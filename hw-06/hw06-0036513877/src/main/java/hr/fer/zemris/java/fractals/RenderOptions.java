@@ -0,0 +1,165 @@
+package hr.fer.zemris.java.fractals;
+
+import static hr.fer.zemris.java.fractals.FractalConstants.*;
+
+import java.util.Objects;
+
+/**
+ * Nepromjenjive postavke izračuna podataka o fraktalu: najveći broj Newtonovih iteracija,
+ * granica konvergencije, granična udaljenost od nultočke, zastavica koja određuje hoće li
+ * se uz indekse nultočaka generirati i broj iteracija do konvergencije za svaki piksel te 
+ * zastavica koja određuje računa li se Newtonov korak preko nultočaka.<br>
+ * Pretpostavljene postavke ({@link #DEFAULT}) odgovaraju vrijednostima iz razreda
+ * {@link FractalConstants}.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public class RenderOptions {
+
+	/**
+	 * Pretpostavljene postavke izračuna.
+	 */
+	public static final RenderOptions DEFAULT = new RenderOptions(MAX_ITERATIONS,
+			CONVERGENCE_TRESHOLD, ROOT_TRESHOLD, false);
+
+	/**
+	 * Najveći broj iteracija.
+	 */
+	private final int maxIterations;
+	/**
+	 * Granica konvergencije.
+	 */
+	private final double convergenceTreshold;
+	/**
+	 * Granična udaljenost od nultočke.
+	 */
+	private final double rootTreshold;
+	/**
+	 * Generira li se broj iteracija za svaki piksel.
+	 */
+	private final boolean iterationCounts;
+	/**
+	 * Računa li se Newtonov korak preko nultočaka.
+	 */
+	private final boolean rootedStep;
+
+	/**
+	 * Stvara nove postavke izračuna u kojima se Newtonov korak računa Hornerovim postupkom.
+	 *
+	 * @param maxIterations najveći broj iteracija, od 1 do {@value Short#MAX_VALUE}.
+	 * @param convergenceTreshold granica konvergencije.
+	 * @param rootTreshold granična udaljenost od nultočke.
+	 * @param iterationCounts generira li se broj iteracija za svaki piksel.
+	 * @throws IllegalArgumentException ako broj iteracija nije u dozvoljenom rasponu
+	 * ili neka od granica nije pozitivan konačan broj.
+	 */
+	public RenderOptions(int maxIterations, double convergenceTreshold, double rootTreshold,
+			boolean iterationCounts) {
+		this(maxIterations, convergenceTreshold, rootTreshold, iterationCounts, false);
+	}
+
+	/**
+	 * Stvara nove postavke izračuna.
+	 *
+	 * @param maxIterations najveći broj iteracija, od 1 do {@value Short#MAX_VALUE}.
+	 * @param convergenceTreshold granica konvergencije.
+	 * @param rootTreshold granična udaljenost od nultočke.
+	 * @param iterationCounts generira li se broj iteracija za svaki piksel.
+	 * @param rootedStep računa li se Newtonov korak preko nultočaka (vidi 
+	 * {@link #isRootedStep()}).
+	 * @throws IllegalArgumentException ako broj iteracija nije u dozvoljenom rasponu
+	 * ili neka od granica nije pozitivan konačan broj.
+	 */
+	public RenderOptions(int maxIterations, double convergenceTreshold, double rootTreshold,
+			boolean iterationCounts, boolean rootedStep) {
+		if (maxIterations < 1 || maxIterations > Short.MAX_VALUE)
+			throw new IllegalArgumentException("Najveći broj iteracija mora biti od 1 do "
+					+ Short.MAX_VALUE + ", a predano je " + maxIterations);
+		checkTreshold(convergenceTreshold, "Granica konvergencije");
+		checkTreshold(rootTreshold, "Granična udaljenost od nultočke");
+
+		this.maxIterations = maxIterations;
+		this.convergenceTreshold = convergenceTreshold;
+		this.rootTreshold = rootTreshold;
+		this.iterationCounts = iterationCounts;
+		this.rootedStep = rootedStep;
+	}
+
+	/**
+	 * Provjerava je li granica pozitivan konačan broj.
+	 */
+	private static void checkTreshold(double treshold, String what) {
+		if (!(treshold > 0) || Double.isInfinite(treshold))
+			throw new IllegalArgumentException(what + " mora biti pozitivan konačan broj, a predano je " + treshold);
+	}
+
+	/**
+	 * Vraća najveći broj iteracija.
+	 *
+	 * @return najveći broj iteracija.
+	 */
+	public int getMaxIterations() {
+		return maxIterations;
+	}
+
+	/**
+	 * Vraća granicu konvergencije.
+	 *
+	 * @return granica konvergencije.
+	 */
+	public double getConvergenceTreshold() {
+		return convergenceTreshold;
+	}
+
+	/**
+	 * Vraća graničnu udaljenost od nultočke.
+	 *
+	 * @return granična udaljenost od nultočke.
+	 */
+	public double getRootTreshold() {
+		return rootTreshold;
+	}
+
+	/**
+	 * Vraća generira li se broj iteracija za svaki piksel.
+	 *
+	 * @return {@code true} ako se generira broj iteracija, inače {@code false}.
+	 */
+	public boolean isIterationCounts() {
+		return iterationCounts;
+	}
+
+	/**
+	 * Vraća računa li se Newtonov korak preko nultočaka, kao {@code 1 / sum 1/(z - z_i)}, 
+	 * umjesto Hornerovim postupkom (vidi {@link PolynomialEvaluator}). Za polinome stupnja 
+	 * od oko 8 naviše to je brže, ali se pojedini pikseli na granicama bazena privlačenja 
+	 * mogu razlikovati od rezultata Hornerovog postupka. Za polinom bez nultočaka ova 
+	 * zastavica nema učinka.
+	 *
+	 * @return {@code true} ako se korak računa preko nultočaka, inače {@code false}.
+	 */
+	public boolean isRootedStep() {
+		return rootedStep;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(maxIterations, convergenceTreshold, rootTreshold, iterationCounts, rootedStep);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof RenderOptions))
+			return false;
+		RenderOptions other = (RenderOptions) obj;
+		return maxIterations == other.maxIterations
+				&& Double.doubleToLongBits(convergenceTreshold) == Double.doubleToLongBits(other.convergenceTreshold)
+				&& Double.doubleToLongBits(rootTreshold) == Double.doubleToLongBits(other.rootTreshold)
+				&& iterationCounts == other.iterationCounts
+				&& rootedStep == other.rootedStep;
+	}
+
+}
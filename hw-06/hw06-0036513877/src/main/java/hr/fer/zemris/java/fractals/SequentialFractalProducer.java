@@ -4,7 +4,6 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import hr.fer.zemris.java.fractals.viewer.IFractalResultObserver;
 import hr.fer.zemris.math.ComplexRootedPolynomial;
-import static hr.fer.zemris.java.fractals.FractalConstants.*;
 
 /**
  * Implementacija sučelja {@link IFractalProducer} koji koristi kompleksne polinome za 
@@ -28,6 +27,8 @@ public class SequentialFractalProducer extends AbstractFractalProducer {
 	 * Generira podatke kao polje short brojeva koje se koriste za vizualizaciju 
 	 * fraktala i generirani rezultat šalje promatraču {@code observer}.<br>
 	 * Prilikom izračuna generiranih podataka koristi se samo jedna dretva.
+	 * Ako postavke izračuna to traže, a promatrač je {@link IFractalIterationObserver}, 
+	 * generira se i broj iteracija za svaki piksel.
 	 */
 	@Override
 	public void produce(double reMin, double reMax, double imMin, double imMax,
@@ -35,14 +36,19 @@ public class SequentialFractalProducer extends AbstractFractalProducer {
 			long requestNo, IFractalResultObserver observer, 
 			AtomicBoolean cancel) {
 		
+		RenderOptions options = getOptions();
 		short[] data = new short[width * height];
-		int ymin = 0;
-		int ymax = height - 1;
+		short[] iterations = options.isIterationCounts() 
+				&& observer instanceof IFractalIterationObserver ? new short[width * height] : null;
 		
-		NewtonRaphson.calculate​(reMin, reMax, imMin, imMax, ROOT_TRESHOLD, 
-				CONVERGENCE_TRESHOLD, function, functionRooted, derivative, 
-				width, height, MAX_ITERATIONS, ymin, ymax, data, cancel);
+		NewtonRaphson.calculate(reMin, reMax, imMin, imMax, options.getRootTreshold(), 
+				options.getConvergenceTreshold(), evaluatorFor(options), 
+				width, height, options.getMaxIterations(), 0, width - 1, 0, height - 1, 
+				data, iterations, cancel);
 		
+		if (iterations != null)
+			((IFractalIterationObserver) observer).acceptIterations(iterations, 
+					options.getMaxIterations(), requestNo);
 		observer.acceptResult(data, (short)(function.order() + 1), requestNo);
 	}
 	
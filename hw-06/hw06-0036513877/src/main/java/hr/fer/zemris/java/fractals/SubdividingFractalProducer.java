@@ -0,0 +1,222 @@
+package hr.fer.zemris.java.fractals;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import hr.fer.zemris.java.fractals.viewer.IFractalResultObserver;
+import hr.fer.zemris.math.ComplexRootedPolynomial;
+
+/**
+ * Paralelni generator podataka o fraktalu koji koristi rekurzivnu podjelu rastera
+ * (Mariani-Silver algoritam): za pravokutnik rastera računaju se samo pikseli njegovog ruba,
+ * i ako su svi pikseli ruba konvergirali istoj nultočki, unutrašnjost pravokutnika se
+ * popunjava tom vrijednošću bez iteriranja. Inače se pravokutnik dijeli na dva manja
+ * izračunom jednog retka ili stupca, a postupak se ponavlja za obje polovice koje se
+ * obrađuju paralelno.<br>
+ * Budući da Newtonov fraktal ima velika područja koja konvergiraju istoj nultočki, većina
+ * piksela se na taj način uopće ne iterira. Generirani podaci mogu odstupati od podataka
+ * dobivenih izračunom svakog piksela jedino u detaljima fraktala koji se u potpunosti nalaze
+ * unutar pravokutnika jednolikog ruba.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public class SubdividingFractalProducer extends ParallelFractalProducer {
+
+	/**
+	 * Najveća površina unutrašnjosti pravokutnika koja se računa izravno, bez daljnje podjele.
+	 */
+	private static final int MIN_SUBDIVIDE_AREA = 8 * 8;
+
+	/**
+	 * Posao obrade pravokutnika rastera određenog stupcima od {@code xmin} do {@code xmax}
+	 * i retcima od {@code ymin} do {@code ymax}, čiji su pikseli ruba već izračunati.
+	 *
+	 * @author Tomislav Bjelčić
+	 *
+	 */
+	private class SubdivideTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		double reMin;
+		double reMax;
+		double imMin;
+		double imMax;
+		int width;
+		int height;
+		int xmin;
+		int xmax;
+		int ymin;
+		int ymax;
+		RenderOptions options;
+		short[] data;
+		AtomicBoolean cancel;
+
+		SubdivideTask(double reMin, double reMax, double imMin, double imMax, int width, int height,
+				int xmin, int xmax, int ymin, int ymax, RenderOptions options, short[] data,
+				AtomicBoolean cancel) {
+			this.reMin = reMin;
+			this.reMax = reMax;
+			this.imMin = imMin;
+			this.imMax = imMax;
+			this.width = width;
+			this.height = height;
+			this.xmin = xmin;
+			this.xmax = xmax;
+			this.ymin = ymin;
+			this.ymax = ymax;
+			this.options = options;
+			this.data = data;
+			this.cancel = cancel;
+		}
+
+		@Override
+		protected void compute() {
+			if (cancel.get())
+				return;
+
+			int innerWidth = xmax - xmin - 1;
+			int innerHeight = ymax - ymin - 1;
+			if (innerWidth < 1 || innerHeight < 1)
+				return;
+
+			short value = uniformBorderValue();
+			if (value != 0) {
+				for (int y = ymin + 1; y < ymax; y++) {
+					int offset = y * width;
+					for (int x = xmin + 1; x < xmax; x++) {
+						data[offset + x] = value;
+					}
+				}
+				return;
+			}
+
+			if (innerWidth * innerHeight <= MIN_SUBDIVIDE_AREA) {
+				calculate(xmin + 1, xmax - 1, ymin + 1, ymax - 1);
+				return;
+			}
+
+			if (innerWidth >= innerHeight) {
+				int xmid = (xmin + xmax) >>> 1;
+				calculate(xmid, xmid, ymin + 1, ymax - 1);
+				invokeAll(subtask(xmin, xmid, ymin, ymax), subtask(xmid, xmax, ymin, ymax));
+			} else {
+				int ymid = (ymin + ymax) >>> 1;
+				calculate(xmin + 1, xmax - 1, ymid, ymid);
+				invokeAll(subtask(xmin, xmax, ymin, ymid), subtask(xmin, xmax, ymid, ymax));
+			}
+		}
+
+		/**
+		 * Stvara posao za dio ovog pravokutnika.
+		 */
+		private SubdivideTask subtask(int xmin, int xmax, int ymin, int ymax) {
+			return new SubdivideTask(reMin, reMax, imMin, imMax, width, height,
+					xmin, xmax, ymin, ymax, options, data, cancel);
+		}
+
+		/**
+		 * Računa piksele pravokutnika određenog predanim stupcima i retcima.
+		 */
+		private void calculate(int xmin, int xmax, int ymin, int ymax) {
+			calculateTile(reMin, reMax, imMin, imMax, width, height,
+					xmin, xmax, ymin, ymax, options, data, null, cancel);
+		}
+
+		/**
+		 * Vraća vrijednost koju imaju svi pikseli ruba ovog pravokutnika ako su svi
+		 * konvergirali istoj nultočki, inače vraća 0.
+		 */
+		private short uniformBorderValue() {
+			short value = data[ymin * width + xmin];
+			if (value == 0)
+				return 0;
+
+			int top = ymin * width;
+			int bottom = ymax * width;
+			for (int x = xmin; x <= xmax; x++) {
+				if (data[top + x] != value || data[bottom + x] != value)
+					return 0;
+			}
+			for (int y = ymin + 1; y < ymax; y++) {
+				int offset = y * width;
+				if (data[offset + xmin] != value || data[offset + xmax] != value)
+					return 0;
+			}
+			return value;
+		}
+
+	}
+
+	/**
+	 * Stvara novi generator podataka o fraktalu koristeći polinom {@code crp}
+	 * i vlastiti bazen od {@code workers} dretvi.
+	 *
+	 * @param workers broj dretvi.
+	 * @param crp polinom u faktoriziranom obliku.
+	 * @throws IllegalArgumentException ako je broj dretvi manji od 1.
+	 */
+	public SubdividingFractalProducer(int workers, ComplexRootedPolynomial crp) {
+		super(workers, 1, crp);
+	}
+
+	/**
+	 * Stvara novi generator podataka o fraktalu koristeći polinom {@code crp}
+	 * i predani bazen dretvi {@code pool}.
+	 *
+	 * @param pool bazen dretvi koji obavlja izračun.
+	 * @param crp polinom u faktoriziranom obliku.
+	 * @throws NullPointerException ako je predani bazen dretvi {@code null}.
+	 */
+	public SubdividingFractalProducer(ForkJoinPool pool, ComplexRootedPolynomial crp) {
+		super(pool, 1, crp);
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * Ovaj generator ne generira broj iteracija za piksele.
+	 *
+	 * @throws IllegalArgumentException ako predane postavke traže broj iteracija
+	 * ({@link RenderOptions#isIterationCounts()}).
+	 */
+	@Override
+	public void setOptions(RenderOptions options) {
+		if (options != null && options.isIterationCounts())
+			throw new IllegalArgumentException("Generator s rekurzivnom podjelom rastera ne generira broj iteracija.");
+		super.setOptions(options);
+	}
+
+	/**
+	 * Generira podatke o fraktalu rekurzivnom podjelom rastera i generirani rezultat
+	 * šalje promatraču {@code observer}.
+	 */
+	@Override
+	public void produce(double reMin, double reMax, double imMin, double imMax,
+			int width, int height,
+			long requestNo, IFractalResultObserver observer,
+			AtomicBoolean cancel) {
+
+		RenderOptions options = getOptions();
+		short[] data = new short[width * height];
+
+		if (width > 0 && height > 0) {
+			// rub cijelog rastera
+			calculateTile(reMin, reMax, imMin, imMax, width, height,
+					0, width - 1, 0, 0, options, data, null, cancel);
+			calculateTile(reMin, reMax, imMin, imMax, width, height,
+					0, width - 1, height - 1, height - 1, options, data, null, cancel);
+			calculateTile(reMin, reMax, imMin, imMax, width, height,
+					0, 0, 1, height - 2, options, data, null, cancel);
+			calculateTile(reMin, reMax, imMin, imMax, width, height,
+					width - 1, width - 1, 1, height - 2, options, data, null, cancel);
+
+			invoke(new SubdivideTask(reMin, reMax, imMin, imMax, width, height,
+					0, width - 1, 0, height - 1, options, data, cancel));
+		}
+
+		observer.acceptResult(data, (short)(function.order() + 1), requestNo);
+	}
+
+}
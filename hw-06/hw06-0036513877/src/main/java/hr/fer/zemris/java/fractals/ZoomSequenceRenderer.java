@@ -0,0 +1,340 @@
+package hr.fer.zemris.java.fractals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+
+import hr.fer.zemris.math.ComplexRootedPolynomial;
+
+/**
+ * Generator niza slika (animacije) Newtonovog fraktala duž putanje zadane ključnim
+ * slikama, koji slike zapisuje u numerirane datoteke.<br>
+ * Sve slike niza računaju se u jednom zajedničkom bazenu dretvi, a dok se slika
+ * {@code N} zapisuje u datoteku (također u tom bazenu), već se računa slika {@code N+1}.
+ * Indeksi nultočaka prethodne slike koriste se kao pretpostavke za piksele sljedeće slike
+ * (vidi {@link NewtonRaphson#calculateSeeded}), pa se iteracija piksela čija je pretpostavka
+ * točna prekida ranije, a generirane slike su jednake onima koje bi se dobile zasebnim
+ * generiranjem svake slike.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public class ZoomSequenceRenderer {
+
+	/**
+	 * Ključna slika putanje: redni broj slike i područje kompleksne ravnine koje prikazuje.
+	 *
+	 * @author Tomislav Bjelčić
+	 *
+	 */
+	public static class Keyframe {
+
+		private final int frame;
+		private final double reMin;
+		private final double reMax;
+		private final double imMin;
+		private final double imMax;
+
+		/**
+		 * Stvara novu ključnu sliku.
+		 *
+		 * @param frame redni broj slike.
+		 * @param reMin najmanji realni dio područja.
+		 * @param reMax najveći realni dio područja.
+		 * @param imMin najmanji imaginarni dio područja.
+		 * @param imMax najveći imaginarni dio područja.
+		 * @throws IllegalArgumentException ako je redni broj slike negativan ili područje prazno.
+		 */
+		public Keyframe(int frame, double reMin, double reMax, double imMin, double imMax) {
+			if (frame < 0)
+				throw new IllegalArgumentException("Redni broj slike ne smije biti negativan: " + frame);
+			if (!(reMin < reMax) || !(imMin < imMax))
+				throw new IllegalArgumentException("Područje slike " + frame + " je prazno.");
+			this.frame = frame;
+			this.reMin = reMin;
+			this.reMax = reMax;
+			this.imMin = imMin;
+			this.imMax = imMax;
+		}
+
+		/**
+		 * Vraća redni broj slike.
+		 *
+		 * @return redni broj slike.
+		 */
+		public int getFrame() {
+			return frame;
+		}
+
+		/**
+		 * Vraća najmanji realni dio područja.
+		 *
+		 * @return najmanji realni dio područja.
+		 */
+		public double getReMin() {
+			return reMin;
+		}
+
+		/**
+		 * Vraća najveći realni dio područja.
+		 *
+		 * @return najveći realni dio područja.
+		 */
+		public double getReMax() {
+			return reMax;
+		}
+
+		/**
+		 * Vraća najmanji imaginarni dio područja.
+		 *
+		 * @return najmanji imaginarni dio područja.
+		 */
+		public double getImMin() {
+			return imMin;
+		}
+
+		/**
+		 * Vraća najveći imaginarni dio područja.
+		 *
+		 * @return najveći imaginarni dio područja.
+		 */
+		public double getImMax() {
+			return imMax;
+		}
+
+		@Override
+		public String toString() {
+			return frame + ": [" + reMin + ", " + reMax + "] x [" + imMin + ", " + imMax + "]";
+		}
+	}
+
+	/**
+	 * Generator koji pločice računa uz pretpostavke nultočaka zadane prije svakog zahtjeva.
+	 *
+	 * @author Tomislav Bjelčić
+	 *
+	 */
+	private static class SeededProducer extends ParallelFractalProducer {
+
+		/**
+		 * Pretpostavke za sljedeći zahtjev ili {@code null}.
+		 */
+		volatile short[] seeds;
+
+		SeededProducer(ForkJoinPool pool, int tracks, ComplexRootedPolynomial crp) {
+			super(pool, tracks, crp);
+		}
+
+		@Override
+		protected void calculateTile(double reMin, double reMax, double imMin, double imMax,
+				int width, int height, int xmin, int xmax, int ymin, int ymax,
+				RenderOptions options, short[] data, short[] iterations, AtomicBoolean cancel) {
+			short[] seeds = this.seeds;
+			if (seeds == null || iterations != null) {
+				super.calculateTile(reMin, reMax, imMin, imMax, width, height,
+						xmin, xmax, ymin, ymax, options, data, iterations, cancel);
+				return;
+			}
+			NewtonRaphson.calculateSeeded(reMin, reMax, imMin, imMax, options.getRootTreshold(),
+					options.getConvergenceTreshold(), evaluatorFor(options), width, height, options.getMaxIterations(),
+					xmin, xmax, ymin, ymax, data, seeds, cancel);
+		}
+	}
+
+	/**
+	 * Posao koji zapisuje jednu sliku u datoteku.
+	 *
+	 * @author Tomislav Bjelčić
+	 *
+	 */
+	private static class WriteTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		Path output;
+		short[] data;
+		short limit;
+		int width;
+		int height;
+		/**
+		 * Iznimka koja se dogodila prilikom zapisivanja ili {@code null}.
+		 */
+		IOException error;
+
+		WriteTask(Path output, short[] data, short limit, int width, int height) {
+			this.output = output;
+			this.data = data;
+			this.limit = limit;
+			this.width = width;
+			this.height = height;
+		}
+
+		@Override
+		protected void compute() {
+			try {
+				FractalImageWriter.write(output, data, limit, width, height);
+			} catch (IOException ex) {
+				error = ex;
+			}
+		}
+	}
+
+	private final ForkJoinPool pool;
+	private final int width;
+	private final int height;
+	private final SeededProducer producer;
+
+	/**
+	 * Stvara novi generator niza slika dimenzija {@code width} x {@code height} za polinom
+	 * {@code crp}, koji svaku sliku dijeli na barem {@code tracks} pločica i računa u
+	 * bazenu dretvi {@code pool}.
+	 *
+	 * @param pool bazen dretvi zajednički cijelom nizu.
+	 * @param tracks najmanji broj pločica po slici.
+	 * @param crp polinom u faktoriziranom obliku.
+	 * @param width širina slika.
+	 * @param height visina slika.
+	 * @throws NullPointerException ako je bazen dretvi ili polinom {@code null}.
+	 * @throws IllegalArgumentException ako je broj pločica ili neka od dimenzija manja od 1.
+	 */
+	public ZoomSequenceRenderer(ForkJoinPool pool, int tracks, ComplexRootedPolynomial crp,
+			int width, int height) {
+		if (width < 1 || height < 1)
+			throw new IllegalArgumentException("Dimenzije slike moraju biti barem 1, a predano je "
+					+ width + "x" + height);
+		this.pool = Objects.requireNonNull(pool, "Predani bazen dretvi je null.");
+		this.producer = new SeededProducer(pool, tracks, crp);
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Vraća sve slike putanje zadane ključnim slikama {@code keyframes}, od prve do
+	 * zadnje ključne slike. Između dvije ključne slike veličina područja mijenja se
+	 * geometrijski (jednoliko uvećanje), a središte se pomiče razmjerno promjeni
+	 * veličine, tako da se točka koja je u obje ključne slike na istom relativnom
+	 * položaju ne pomiče.
+	 *
+	 * @param keyframes ključne slike, s rastućim rednim brojevima.
+	 * @return sve slike putanje.
+	 * @throws IllegalArgumentException ako je lista prazna ili redni brojevi ključnih
+	 * slika nisu strogo rastući.
+	 */
+	public static List<Keyframe> interpolate(List<Keyframe> keyframes) {
+		if (keyframes.isEmpty())
+			throw new IllegalArgumentException("Putanja mora imati barem jednu ključnu sliku.");
+
+		List<Keyframe> frames = new ArrayList<>();
+		frames.add(keyframes.get(0));
+		for (int k = 1; k < keyframes.size(); k++) {
+			Keyframe from = keyframes.get(k - 1);
+			Keyframe to = keyframes.get(k);
+			int count = to.frame - from.frame;
+			if (count <= 0)
+				throw new IllegalArgumentException("Redni brojevi ključnih slika moraju biti strogo rastući: "
+						+ from.frame + ", " + to.frame);
+
+			for (int f = 1; f < count; f++) {
+				double t = (double) f / count;
+				double[] re = interpolate(from.reMin, from.reMax, to.reMin, to.reMax, t);
+				double[] im = interpolate(from.imMin, from.imMax, to.imMin, to.imMax, t);
+				frames.add(new Keyframe(from.frame + f, re[0], re[1], im[0], im[1]));
+			}
+			frames.add(to);
+		}
+		return frames;
+	}
+
+	/**
+	 * Vraća interval između intervala {@code [min0, max0]} i {@code [min1, max1]} za
+	 * udio puta {@code t}.
+	 */
+	private static double[] interpolate(double min0, double max0, double min1, double max1, double t) {
+		double span0 = max0 - min0;
+		double span1 = max1 - min1;
+		double span = span0 * Math.pow(span1 / span0, t);
+		double progress = span0 == span1 ? t : (span0 - span) / (span0 - span1);
+		double center0 = (min0 + max0) / 2;
+		double center = center0 + ((min1 + max1) / 2 - center0) * progress;
+		return new double[] {center - span / 2, center + span / 2};
+	}
+
+	/**
+	 * Generira sve slike {@code frames} i zapisuje svaku sliku u datoteku
+	 * {@code output.apply(redni broj slike)}, u formatu određenom nastavkom imena datoteke
+	 * (vidi {@link FractalImageWriter#write}).
+	 *
+	 * @param frames slike niza.
+	 * @param output preslikavanje rednog broja slike u izlaznu datoteku.
+	 * @throws IOException ako neku sliku nije moguće zapisati.
+	 */
+	public void render(List<Keyframe> frames, IntFunction<Path> output) throws IOException {
+		WriteTask writing = null;
+		Keyframe previousFrame = null;
+		short[] previous = null;
+
+		for (Keyframe frame : frames) {
+			producer.seeds = previous == null ? null : seeds(previousFrame, previous, frame);
+			short[][] result = new short[1][];
+			short[] limit = new short[1];
+			producer.produce(frame.reMin, frame.reMax, frame.imMin, frame.imMax, width, height,
+					frame.frame, (data, l, requestNo) -> {
+						result[0] = data;
+						limit[0] = l;
+					}, new AtomicBoolean());
+
+			// prethodna slika se zapisivala dok se računala ova
+			finish(writing);
+			writing = new WriteTask(output.apply(frame.frame), result[0], limit[0], width, height);
+			pool.execute(writing);
+
+			previousFrame = frame;
+			previous = result[0];
+		}
+		finish(writing);
+	}
+
+	/**
+	 * Čeka da se zapisivanje slike dovrši i baca iznimku koja se pritom dogodila.
+	 */
+	private static void finish(WriteTask writing) throws IOException {
+		if (writing == null)
+			return;
+		writing.join();
+		if (writing.error != null)
+			throw writing.error;
+	}
+
+	/**
+	 * Vraća pretpostavke nultočaka za sliku {@code frame}: za svaki piksel indeks nultočke
+	 * (uvećan za 1) piksela prethodne slike {@code previousFrame} koji je najbliži istoj
+	 * točki kompleksne ravnine, ili 0 ako ta točka nije prikazana na prethodnoj slici.
+	 */
+	private short[] seeds(Keyframe previousFrame, short[] previous, Keyframe frame) {
+		short[] seeds = new short[width * height];
+		double reScale = (width - 1) / (previousFrame.reMax - previousFrame.reMin);
+		double imScale = (height - 1) / (previousFrame.imMax - previousFrame.imMin);
+
+		int offset = 0;
+		for (int y = 0; y < height; y++) {
+			double im = (height-1.0-y) / (height-1) * (frame.imMax - frame.imMin) + frame.imMin;
+			long py = Math.round((previousFrame.imMax - im) * imScale);
+			for (int x = 0; x < width; x++, offset++) {
+				if (py < 0 || py >= height)
+					continue;
+				double re = x / (width-1.0) * (frame.reMax - frame.reMin) + frame.reMin;
+				long px = Math.round((re - previousFrame.reMin) * reScale);
+				if (px >= 0 && px < width)
+					seeds[offset] = previous[(int) py * width + (int) px];
+			}
+		}
+		return seeds;
+	}
+
+}
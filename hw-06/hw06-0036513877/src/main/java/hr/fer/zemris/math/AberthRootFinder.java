@@ -0,0 +1,205 @@
+package hr.fer.zemris.math;
+
+/**
+ * Pomoćni razred koji istovremeno traži sve nultočke polinoma Aberth-Ehrlichovom iteracijom
+ * (vidi {@link ComplexPolynomial#findRoots(double, int)}).<br>
+ * U svakom koraku svaka aproksimacija z<sub>i</sub> se pomiče za
+ * 1 / (P'(z<sub>i</sub>)/P(z<sub>i</sub>) - &Sigma;<sub>j&ne;i</sub> 1/(z<sub>i</sub> - z<sub>j</sub>)),
+ * pri čemu se sve nove aproksimacije računaju iz aproksimacija prethodnog koraka, pa se za
+ * polinome visokog stupnja računaju paralelno. Za točke izvan jedinične kružnice
+ * P'(z)/P(z) se računa preko obrnutog polinoma u točki 1/z, kako vrijednosti polinoma
+ * visokog stupnja ne bi izašle iz raspona double brojeva.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+final class AberthRootFinder {
+
+	/**
+	 * Najmanji stupanj polinoma od kojeg se aproksimacije računaju paralelno.
+	 */
+	static final int PARALLEL_DEGREE = 256;
+	/**
+	 * Broj aproksimacija koje se računaju u jednom poslu.
+	 */
+	private static final int ROOTS_PER_TASK = 16;
+	/**
+	 * Pomak kuta početnih aproksimacija, kako ne bi bile simetrične oko realne osi.
+	 */
+	private static final double ANGLE_OFFSET = 0.4;
+
+	/**
+	 * Koeficijenti polinoma, realni i imaginarni dijelovi.
+	 */
+	private final double[] re;
+	private final double[] im;
+	/**
+	 * Stupanj polinoma.
+	 */
+	private final int degree;
+
+	/**
+	 * Trenutne aproksimacije nultočaka.
+	 */
+	private double[] zRe;
+	private double[] zIm;
+	/**
+	 * Aproksimacije nultočaka u sljedećem koraku.
+	 */
+	private double[] nextRe;
+	private double[] nextIm;
+	/**
+	 * Je li aproksimacija nultočke konvergirala.
+	 */
+	private boolean[] converged;
+
+	/**
+	 * Priprema traženje nultočaka polinoma s koeficijentima {@code re} i {@code im},
+	 * pri čemu vodeći koeficijent nije 0.
+	 */
+	AberthRootFinder(double[] re, double[] im) {
+		this.re = re;
+		this.im = im;
+		this.degree = re.length - 1;
+	}
+
+	/**
+	 * Vraća aproksimacije nultočaka nakon što se sve promijene za manje od
+	 * {@code tolerance * max(1, |z|)} ili nakon {@code maxIterations} koraka.
+	 *
+	 * @return polje od dva polja: realni i imaginarni dijelovi nultočaka.
+	 */
+	double[][] solve(double tolerance, int maxIterations) {
+		initialize();
+
+		int remaining = degree;
+		for (int iteration = 0; iteration < maxIterations && remaining > 0; iteration++) {
+			BatchEvaluation.run(degree, ROOTS_PER_TASK, degree >= PARALLEL_DEGREE,
+					(from, to) -> step(from, to, tolerance));
+
+			double[] t = zRe;
+			zRe = nextRe;
+			nextRe = t;
+			t = zIm;
+			zIm = nextIm;
+			nextIm = t;
+
+			remaining = 0;
+			for (boolean c : converged) {
+				if (!c)
+					remaining++;
+			}
+		}
+		return new double[][] {zRe, zIm};
+	}
+
+	/**
+	 * Postavlja početne aproksimacije na kružnicu čiji je polumjer geometrijska sredina
+	 * modula nultočaka, |a<sub>0</sub>/a<sub>n</sub>|<sup>1/n</sup>.
+	 */
+	private void initialize() {
+		zRe = new double[degree];
+		zIm = new double[degree];
+		nextRe = new double[degree];
+		nextIm = new double[degree];
+		converged = new boolean[degree];
+
+		double radius = Math.pow(Math.hypot(re[0], im[0]) / Math.hypot(re[degree], im[degree]), 1.0 / degree);
+		if (!(radius > 0) || Double.isInfinite(radius))
+			radius = 1;
+		for (int k = 0; k < degree; k++) {
+			double angle = 2 * Math.PI * k / degree + ANGLE_OFFSET;
+			zRe[k] = radius * Math.cos(angle);
+			zIm[k] = radius * Math.sin(angle);
+		}
+	}
+
+	/**
+	 * Računa nove aproksimacije s indeksima od {@code from} do {@code to}.
+	 */
+	private void step(int from, int to, double tolerance) {
+		double[] l = new double[2];
+		for (int i = from; i < to; i++) {
+			double x = zRe[i];
+			double y = zIm[i];
+			if (converged[i] || !logDerivative(x, y, l)) {
+				converged[i] = true;
+				nextRe[i] = x;
+				nextIm[i] = y;
+				continue;
+			}
+
+			// L - suma 1/(z_i - z_j)
+			double dRe = l[0];
+			double dIm = l[1];
+			for (int j = 0; j < degree; j++) {
+				double uRe = x - zRe[j];
+				double uIm = y - zIm[j];
+				double modSq = uRe * uRe + uIm * uIm;
+				if (j == i || modSq == 0)
+					continue;
+				dRe -= uRe / modSq;
+				dIm += uIm / modSq;
+			}
+
+			double modSq = dRe * dRe + dIm * dIm;
+			double cRe = dRe / modSq;
+			double cIm = -dIm / modSq;
+			nextRe[i] = x - cRe;
+			nextIm[i] = y - cIm;
+			if (Math.hypot(cRe, cIm) <= tolerance * Math.max(1, Math.hypot(x, y)))
+				converged[i] = true;
+		}
+	}
+
+	/**
+	 * Računa P'(z)/P(z) u točki {@code x + i * y} i upisuje ga u {@code l}.
+	 *
+	 * @return {@code false} ako je točka nultočka polinoma, inače {@code true}.
+	 */
+	private boolean logDerivative(double x, double y, double[] l) {
+		boolean inside = x * x + y * y <= 1;
+		double wRe = x;
+		double wIm = y;
+		if (!inside) {
+			double modSq = x * x + y * y;
+			wRe = x / modSq;
+			wIm = -y / modSq;
+		}
+
+		// Hornerov izračun polinoma i derivacije, za vanjske točke nad obrnutim koeficijentima
+		double pRe = inside ? re[degree] : re[0];
+		double pIm = inside ? im[degree] : im[0];
+		double dpRe = 0;
+		double dpIm = 0;
+		for (int k = degree - 1; k >= 0; k--) {
+			double t = dpRe * wRe - dpIm * wIm + pRe;
+			dpIm = dpRe * wIm + wRe * dpIm + pIm;
+			dpRe = t;
+			int c = inside ? k : degree - k;
+			t = pRe * wRe - pIm * wIm + re[c];
+			pIm = pRe * wIm + wRe * pIm + im[c];
+			pRe = t;
+		}
+
+		double modSq = pRe * pRe + pIm * pIm;
+		if (modSq == 0)
+			return false;
+		// q = P'/P za unutarnje točke, Q'/Q za vanjske
+		double qRe = (dpRe * pRe + dpIm * pIm) / modSq;
+		double qIm = (pRe * dpIm - dpRe * pIm) / modSq;
+		if (inside) {
+			l[0] = qRe;
+			l[1] = qIm;
+			return true;
+		}
+
+		// P'(z)/P(z) = w * (n - w * Q'(w)/Q(w))
+		double sRe = degree - (wRe * qRe - wIm * qIm);
+		double sIm = -(wRe * qIm + qRe * wIm);
+		l[0] = wRe * sRe - wIm * sIm;
+		l[1] = wRe * sIm + sRe * wIm;
+		return true;
+	}
+
+}
@@ -0,0 +1,138 @@
+package hr.fer.zemris.math;
+
+import java.util.Objects;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Pomoćni razred za izračun vrijednosti polinoma u nizu točaka zadanih poljima realnih
+ * i imaginarnih dijelova (vidi {@link ComplexPolynomial#applyBatch} i
+ * {@link ComplexRootedPolynomial#applyBatch}).<br>
+ * Niz točaka dijeli se na blokove od najviše {@value #BLOCK} točaka. Za velik broj točaka
+ * blokovi se računaju paralelno u zajedničkom {@link java.util.concurrent.ForkJoinPool}-u
+ * (ili u bazenu pozivatelja, ako je pozivatelj i sam dretva nekog bazena).
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+final class BatchEvaluation {
+
+	/**
+	 * Najveći broj točaka jednog bloka.
+	 */
+	static final int BLOCK = 1024;
+	/**
+	 * Najmanji broj točaka od kojeg se blokovi računaju paralelno.
+	 */
+	static final int PARALLEL_THRESHOLD = 32 * BLOCK;
+
+	/**
+	 * Izračun vrijednosti polinoma za točke s indeksima od {@code from} (uključivo) do
+	 * {@code to} (isključivo).
+	 *
+	 * @author Tomislav Bjelčić
+	 *
+	 */
+	interface Block {
+
+		/**
+		 * Računa vrijednosti za točke s indeksima od {@code from} do {@code to}.
+		 *
+		 * @param from prvi indeks (uključivo).
+		 * @param to zadnji indeks (isključivo).
+		 */
+		void apply(int from, int to);
+	}
+
+	/**
+	 * Posao koji računa točke s indeksima od {@code from} do {@code to}, dijeleći ih na pola
+	 * dok ne ostane jedan blok od najviše {@code size} točaka.
+	 *
+	 * @author Tomislav Bjelčić
+	 *
+	 */
+	private static class BlockTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		Block block;
+		int size;
+		int from;
+		int to;
+
+		BlockTask(Block block, int size, int from, int to) {
+			this.block = block;
+			this.size = size;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= size) {
+				block.apply(from, to);
+				return;
+			}
+			int mid = from + (to - from) / 2;
+			invokeAll(new BlockTask(block, size, from, mid), new BlockTask(block, size, mid, to));
+		}
+	}
+
+	/**
+	 * Onemogući stvaranje instanci ovog razreda.
+	 */
+	private BatchEvaluation() {}
+
+	/**
+	 * Provjerava ulazna i izlazna polja izračuna.
+	 *
+	 * @return broj točaka.
+	 * @throws NullPointerException ako je neko od polja {@code null}.
+	 * @throws IllegalArgumentException ako polja nisu jednake duljine ili je neko izlazno
+	 * polje ujedno i ulazno.
+	 */
+	static int check(double[] re, double[] im, double[] outRe, double[] outIm) {
+		Objects.requireNonNull(re, "Predano polje realnih dijelova je null.");
+		Objects.requireNonNull(im, "Predano polje imaginarnih dijelova je null.");
+		Objects.requireNonNull(outRe, "Predano izlazno polje realnih dijelova je null.");
+		Objects.requireNonNull(outIm, "Predano izlazno polje imaginarnih dijelova je null.");
+
+		int length = re.length;
+		if (im.length != length || outRe.length != length || outIm.length != length)
+			throw new IllegalArgumentException("Polja točaka i rezultata moraju biti jednake duljine, a predane su duljine "
+					+ re.length + ", " + im.length + ", " + outRe.length + " i " + outIm.length);
+		if (outRe == re || outRe == im || outIm == re || outIm == im || outRe == outIm)
+			throw new IllegalArgumentException("Izlazna polja moraju biti različita od ulaznih i međusobno.");
+		return length;
+	}
+
+	/**
+	 * Računa sve točke od 0 do {@code length} blokovima {@code block}, paralelno ako je
+	 * točaka barem {@value #PARALLEL_THRESHOLD}.
+	 *
+	 * @param length broj točaka.
+	 * @param block izračun jednog bloka.
+	 */
+	static void run(int length, Block block) {
+		run(length, BLOCK, length >= PARALLEL_THRESHOLD, block);
+	}
+
+	/**
+	 * Računa sve točke od 0 do {@code length} blokovima {@code block} od najviše {@code size}
+	 * točaka, paralelno ako je {@code parallel} postavljen.
+	 *
+	 * @param length broj točaka.
+	 * @param size najveći broj točaka jednog bloka.
+	 * @param parallel računaju li se blokovi paralelno.
+	 * @param block izračun jednog bloka.
+	 */
+	static void run(int length, int size, boolean parallel, Block block) {
+		if (!parallel) {
+			for (int from = 0; from < length; from += size) {
+				block.apply(from, Math.min(length, from + size));
+			}
+			return;
+		}
+		new BlockTask(block, size, 0, length).invoke();
+	}
+
+}
@@ -62,6 +62,24 @@ public class Complex {
 		this.imaginary = imaginary;
 	}
 	
+	/**
+	 * Vraća realni dio ovog kompleksnog broja.
+	 * 
+	 * @return realni dio ovog kompleksnog broja.
+	 */
+	public double getReal() {
+		return real;
+	}
+	
+	/**
+	 * Vraća imaginarni dio ovog kompleksnog broja.
+	 * 
+	 * @return imaginarni dio ovog kompleksnog broja.
+	 */
+	public double getImaginary() {
+		return imaginary;
+	}
+	
 	/**
 	 * Stvara novi kompleksni broj pomoću polarnih koordinata: modula 
 	 * {@code module} i argumenta (kuta) kompleksnog broja {@code angle}:<br>
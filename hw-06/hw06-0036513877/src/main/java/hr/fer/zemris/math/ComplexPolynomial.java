@@ -15,6 +15,15 @@ import java.util.Objects;
  */
 public class ComplexPolynomial {
 	
+	/**
+	 * Pretpostavljena relativna tolerancija traženja nultočaka.
+	 */
+	public static final double ROOT_TOLERANCE = 1e-12;
+	/**
+	 * Pretpostavljeni najveći broj koraka traženja nultočaka.
+	 */
+	public static final int ROOT_MAX_ITERATIONS = 1000;
+	
 	/**
 	 * Koeficijenti polinoma čije pozicije u polju odgovaraju eksponentu potencije uz koje se nalaze.
 	 */
@@ -58,6 +67,16 @@ public class ComplexPolynomial {
 		return (short) (coefs.length - 1);
 	}
 	
+	/**
+	 * Vraća koeficijente ovog polinoma, pri čemu pozicija koeficijenta u polju odgovara 
+	 * eksponentu potencije uz koju se nalazi.
+	 * 
+	 * @return kopija polja koeficijenata ovog polinoma.
+	 */
+	public Complex[] getCoefficients() {
+		return Arrays.copyOf(coefs, coefs.length);
+	}
+	
 	/**
 	 * Vraća produkt (u funkcijskom smislu) ovog polinoma i polinoma {@code p}.
 	 * 
@@ -85,6 +104,18 @@ public class ComplexPolynomial {
 		return new ComplexPolynomial(productCoefs);
 	}
 	
+	/**
+	 * Rastavlja kompleksne brojeve {@code values} na polje realnih i polje imaginarnih dijelova.
+	 */
+	private static double[][] split(Complex[] values) {
+		double[][] parts = new double[2][values.length];
+		for (int k=0; k<values.length; k++) {
+			parts[0][k] = values[k].getReal();
+			parts[1][k] = values[k].getImaginary();
+		}
+		return parts;
+	}
+	
 	/**
 	 * Vraća prvu derivaciju ovog polinoma.
 	 * 
@@ -104,6 +135,49 @@ public class ComplexPolynomial {
 		return new ComplexPolynomial(derivedCoefs);
 	}
 	
+	/**
+	 * Pronalazi sve nultočke ovog polinoma (vidi {@link #findRoots(double, int)}) uz 
+	 * toleranciju {@value #ROOT_TOLERANCE} i najviše {@value #ROOT_MAX_ITERATIONS} koraka.
+	 * 
+	 * @return ovaj polinom u faktoriziranom obliku.
+	 */
+	public ComplexRootedPolynomial findRoots() {
+		return findRoots(ROOT_TOLERANCE, ROOT_MAX_ITERATIONS);
+	}
+	
+	/**
+	 * Pronalazi sve nultočke ovog polinoma Aberth-Ehrlichovom iteracijom, koja istovremeno 
+	 * popravlja aproksimacije svih nultočaka, i vraća polinom u faktoriziranom obliku s 
+	 * vodećim koeficijentom ovog polinoma. Za polinome visokog stupnja aproksimacije se 
+	 * popravljaju paralelno.<br>
+	 * Iteracija aproksimacije nultočke prestaje kad se aproksimacija {@code z} u jednom koraku 
+	 * promijeni za manje od {@code tolerance * max(1, |z|)}. Ako neke aproksimacije ni nakon 
+	 * {@code maxIterations} koraka ne zadovoljavaju taj uvjet, vraćaju se trenutne aproksimacije.
+	 * 
+	 * @param tolerance relativna tolerancija promjene aproksimacije.
+	 * @param maxIterations najveći broj koraka iteracije.
+	 * @return ovaj polinom u faktoriziranom obliku.
+	 * @throws IllegalArgumentException ako tolerancija nije pozitivna ili je najveći broj 
+	 * koraka manji od 1.
+	 */
+	public ComplexRootedPolynomial findRoots(double tolerance, int maxIterations) {
+		if (!(tolerance > 0))
+			throw new IllegalArgumentException("Tolerancija mora biti pozitivna, a predano je " + tolerance);
+		if (maxIterations < 1)
+			throw new IllegalArgumentException("Najveći broj koraka mora biti barem 1, a predano je " + maxIterations);
+		
+		Complex leading = coefs[coefs.length - 1];
+		if (coefs.length == 1)
+			return new ComplexRootedPolynomial(leading);
+		
+		double[][] parts = split(coefs);
+		double[][] roots = new AberthRootFinder(parts[0], parts[1]).solve(tolerance, maxIterations);
+		Complex[] rootsComplex = new Complex[roots[0].length];
+		for (int k=0; k<rootsComplex.length; k++)
+			rootsComplex[k] = new Complex(roots[0][k], roots[1][k]);
+		return new ComplexRootedPolynomial(leading, rootsComplex);
+	}
+	
 	/**
 	 * Evaluira vrijednost polinoma u točki {@code z}.
 	 * 
@@ -112,12 +186,56 @@ public class ComplexPolynomial {
 	 * @throws NullPointerException ako je predani kompleksni broj {@code null}.
 	 */
 	public Complex apply(Complex z) {
-		Complex sum = coefs[coefs.length - 1];
+		if (coefs.length == 1)
+			return coefs[0];
 		
+		MutableComplex sum = new MutableComplex(coefs[coefs.length - 1]);
 		for (int i=coefs.length-2; i>=0; i--) {
-			sum = sum.multiply(z).add(coefs[i]);
+			sum.multiply(z).add(coefs[i]);
 		}
-		return sum;
+		return sum.toComplex();
+	}
+	
+	/**
+	 * Evaluira vrijednost polinoma u nizu točaka z<sub>k</sub> = {@code re[k] + i * im[k]} i 
+	 * upisuje realni dio vrijednosti P(z<sub>k</sub>) u {@code outRe[k]}, a imaginarni u {@code outIm[k]}.<br>
+	 * Vrijednosti su jednake do zadnjeg bita vrijednostima koje vraća {@link #apply(Complex)}. 
+	 * Točke se obrađuju u blokovima, tako da unutarnja petlja prolazi kroz točke bloka, a za 
+	 * velik broj točaka blokovi se računaju paralelno.
+	 * 
+	 * @param re realni dijelovi točaka.
+	 * @param im imaginarni dijelovi točaka.
+	 * @param outRe polje u koje se upisuju realni dijelovi vrijednosti.
+	 * @param outIm polje u koje se upisuju imaginarni dijelovi vrijednosti.
+	 * @throws NullPointerException ako je neko od polja {@code null}.
+	 * @throws IllegalArgumentException ako polja nisu jednake duljine ili je neko izlazno 
+	 * polje ujedno i ulazno.
+	 */
+	public void applyBatch(double[] re, double[] im, double[] outRe, double[] outIm) {
+		int length = BatchEvaluation.check(re, im, outRe, outIm);
+		
+		int n = coefs.length;
+		double[] coefRe = new double[n];
+		double[] coefIm = new double[n];
+		for (int k=0; k<n; k++) {
+			coefRe[k] = coefs[k].getReal();
+			coefIm[k] = coefs[k].getImaginary();
+		}
+		
+		BatchEvaluation.run(length, (from, to) -> {
+			Arrays.fill(outRe, from, to, coefRe[n-1]);
+			Arrays.fill(outIm, from, to, coefIm[n-1]);
+			for (int k=n-2; k>=0; k--) {
+				double cRe = coefRe[k];
+				double cIm = coefIm[k];
+				for (int j=from; j<to; j++) {
+					double sRe = outRe[j];
+					double sIm = outIm[j];
+					outRe[j] = sRe * re[j] - sIm * im[j] + cRe;
+					outIm[j] = sRe * im[j] + re[j] * sIm + cIm;
+				}
+			}
+		});
 	}
 	
 	/**
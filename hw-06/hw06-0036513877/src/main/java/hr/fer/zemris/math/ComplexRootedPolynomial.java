@@ -22,6 +22,10 @@ public class ComplexRootedPolynomial {
 	 * Nultočke ovog polinoma.
 	 */
 	private Complex[] roots;
+	/**
+	 * Prostorni indeks nultočaka za traženje najbliže nultočke.
+	 */
+	private RootGrid grid;
 
 	/**
 	 * Stvara novi faktorizirani polinom sa vodećim koeficijentom {@code constant} 
@@ -40,12 +44,38 @@ public class ComplexRootedPolynomial {
 		
 		if (constant.equals(Complex.ZERO)) {
 			this.roots = new Complex[0];
+			this.grid = new RootGrid(new double[0], new double[0]);
 			return;
 		}
 		Objects.requireNonNull(roots, "Predane nultočke polinoma su null.");
 		this.roots = new Complex[roots.length];
-		for (int i=0; i<roots.length; i++)
+		double[] rootsRe = new double[roots.length];
+		double[] rootsIm = new double[roots.length];
+		for (int i=0; i<roots.length; i++) {
 			this.roots[i] = Objects.requireNonNull(roots[i], "Predana nultočka pod rednim brojem " + (i+1) + " je null.");
+			rootsRe[i] = roots[i].getReal();
+			rootsIm[i] = roots[i].getImaginary();
+		}
+		this.grid = new RootGrid(rootsRe, rootsIm);
+	}
+
+	/**
+	 * Vraća vodeći koeficijent ovog polinoma.
+	 * 
+	 * @return vodeći koeficijent ovog polinoma.
+	 */
+	public Complex getConstant() {
+		return constant;
+	}
+	
+	/**
+	 * Vraća nultočke ovog polinoma redosljedom kojim su specificirane prilikom 
+	 * stvaranja ovog polinoma.
+	 * 
+	 * @return kopija polja nultočaka ovog polinoma.
+	 */
+	public Complex[] getRoots() {
+		return Arrays.copyOf(roots, roots.length);
 	}
 
 	/**
@@ -57,11 +87,59 @@ public class ComplexRootedPolynomial {
 	 */
 	public Complex apply(Complex z) {
 		Objects.requireNonNull(z, "Predani kompleksni broj je null.");
-		Complex result = constant;
+		if (roots.length == 0)
+			return constant;
+
+		MutableComplex result = new MutableComplex(constant);
+		MutableComplex factor = new MutableComplex();
 		for (Complex r : roots) {
-			result = result.multiply(z.sub(r));
+			result.multiply(factor.set(z).sub(r));
 		}
-		return result;
+		return result.toComplex();
+	}
+
+	/**
+	 * Evaluira vrijednost polinoma u nizu točaka z<sub>k</sub> = {@code re[k] + i * im[k]} i 
+	 * upisuje realni dio vrijednosti P(z<sub>k</sub>) u {@code outRe[k]}, a imaginarni u {@code outIm[k]}.<br>
+	 * Vrijednosti su jednake do zadnjeg bita vrijednostima koje vraća {@link #apply(Complex)}. 
+	 * Točke se obrađuju u blokovima, tako da unutarnja petlja prolazi kroz točke bloka, a za 
+	 * velik broj točaka blokovi se računaju paralelno.
+	 * 
+	 * @param re realni dijelovi točaka.
+	 * @param im imaginarni dijelovi točaka.
+	 * @param outRe polje u koje se upisuju realni dijelovi vrijednosti.
+	 * @param outIm polje u koje se upisuju imaginarni dijelovi vrijednosti.
+	 * @throws NullPointerException ako je neko od polja {@code null}.
+	 * @throws IllegalArgumentException ako polja nisu jednake duljine ili je neko izlazno 
+	 * polje ujedno i ulazno.
+	 */
+	public void applyBatch(double[] re, double[] im, double[] outRe, double[] outIm) {
+		int length = BatchEvaluation.check(re, im, outRe, outIm);
+
+		int n = roots.length;
+		double[] rootRe = new double[n];
+		double[] rootIm = new double[n];
+		for (int k=0; k<n; k++) {
+			rootRe[k] = roots[k].getReal();
+			rootIm[k] = roots[k].getImaginary();
+		}
+
+		BatchEvaluation.run(length, (from, to) -> {
+			Arrays.fill(outRe, from, to, constant.getReal());
+			Arrays.fill(outIm, from, to, constant.getImaginary());
+			for (int k=0; k<n; k++) {
+				double rRe = rootRe[k];
+				double rIm = rootIm[k];
+				for (int j=from; j<to; j++) {
+					double fRe = re[j] - rRe;
+					double fIm = im[j] - rIm;
+					double pRe = outRe[j];
+					double pIm = outIm[j];
+					outRe[j] = pRe * fRe - pIm * fIm;
+					outIm[j] = pRe * fIm + fRe * pIm;
+				}
+			}
+		});
 	}
 
 	/**
@@ -73,7 +151,8 @@ public class ComplexRootedPolynomial {
 	 * nema nultočaka (ako se radi o konstanti, u što je uključeno ako ima beskonačno mnogo nultočaka za 
 	 * polinom funkcijski jednak 0), metoda vraća -1.<br>
 	 * Vraćena pozicija će odgovarati redosljedu kojim su nultočke specificirane 
-	 * prilikom stvaranja ovog polinoma, krećući od 0.
+	 * prilikom stvaranja ovog polinoma, krećući od 0. Ako više nultočaka ima jednaku 
+	 * najmanju udaljenost, vraća se najmanja pozicija.
 	 * 
 	 * @param z kompleksna točka od koje se traži pozicija najbliže nultočke.
 	 * @param treshold granična vrijednost udaljenosti.
@@ -82,38 +161,51 @@ public class ComplexRootedPolynomial {
 	 */
 	public int indexOfClosestRootFor(Complex z, double treshold) {
 		Objects.requireNonNull(z, "Predani kompleksni broj je null.");
+		return indexOfClosestRootFor(z.getReal(), z.getImaginary(), treshold);
+	}
 
-		int rootLen = roots.length;
-		if (rootLen == 0)
+	/**
+	 * Radi isto što i metoda {@link #indexOfClosestRootFor(Complex, double)} za točku 
+	 * {@code re + i * im}, bez stvaranja objekata.<br>
+	 * Nultočke se traže u prostornom indeksu ({@link RootGrid}) koji se gradi jednom, prilikom 
+	 * stvaranja polinoma, pa za malu graničnu udaljenost trajanje ne ovisi o broju nultočaka. 
+	 * Uspoređuju se kvadrati udaljenosti.
+	 * 
+	 * @param re realni dio točke.
+	 * @param im imaginarni dio točke.
+	 * @param treshold granična vrijednost udaljenosti.
+	 * @return pozicija nultočke koja je najbliža točki {@code re + i * im}.
+	 */
+	public int indexOfClosestRootFor(double re, double im, double treshold) {
+		if (!(treshold >= 0))
 			return -1;
-
-		double minDistance = z.sub(roots[0]).module();
-		int index = minDistance <= treshold ? 0 : -1;
-		for (int i=1; i<rootLen; i++) {
-			Complex root = roots[i];
-			double distance = z.sub(root).module();
-			if (distance < minDistance && distance <= treshold) {
-				minDistance = distance;
-				index = i;
-			}
-		}
-		return index;
+		return grid.indexOfClosest(re, im, treshold * treshold);
 	}
 
 	/**
 	 * Stvara kompleksni polinom razreda {@link ComplexPolynomial} (oblik sa sumom i potencijama) 
-	 * iz ovog polinoma (faktorizirani oblik).
+	 * iz ovog polinoma (faktorizirani oblik).<br>
+	 * Za polinome visokog stupnja linearni faktori se množe stablom umnožaka, izravnim 
+	 * množenjem u svakom čvoru. Koeficijenti se od onih dobivenih množenjem faktora jedan 
+	 * po jedan razlikuju samo za pogrešku zaokruživanja relativnu svakom pojedinom koeficijentu, 
+	 * pa ostaju točni i mali koeficijenti polinoma s grupiranim ili višestrukim nultočkama.
 	 * 
 	 * @return kompleksni polinom u obliku suma i potencija.
 	 */
 	public ComplexPolynomial toComplexPolynom() {
-		ComplexPolynomial p = new ComplexPolynomial(constant);
-		for (Complex r : roots) {
-			ComplexPolynomial linearFactor
-			= new ComplexPolynomial(r.negate(), Complex.ONE);
-			p = p.multiply(linearFactor);
+		int n = roots.length;
+		double[] rootRe = new double[n];
+		double[] rootIm = new double[n];
+		for (int k=0; k<n; k++) {
+			rootRe[k] = roots[k].getReal();
+			rootIm[k] = roots[k].getImaginary();
 		}
-		return p;
+
+		double[][] product = PolynomialMultiplication.fromRoots(constant, rootRe, rootIm);
+		Complex[] coefs = new Complex[n + 1];
+		for (int k=0; k<=n; k++)
+			coefs[k] = new Complex(product[0][k], product[1][k]);
+		return new ComplexPolynomial(coefs);
 	}
 
 	/**
@@ -0,0 +1,330 @@
+package hr.fer.zemris.math;
+
+import static java.lang.Math.PI;
+import static java.lang.Math.atan2;
+import static java.lang.Math.cos;
+import static java.lang.Math.hypot;
+import static java.lang.Math.pow;
+import static java.lang.Math.sin;
+
+import java.util.Objects;
+
+/**
+ * Predstavlja promjenjivi kompleksni broj {@code z = real + i * imaginary}, namijenjen
+ * petljama u kojima bi stvaranje novog {@link Complex} objekta za svaki međurezultat
+ * bilo preskupo.<br>
+ * Sve operacije mijenjaju ovaj kompleksni broj i vraćaju referencu na njega, pa se mogu
+ * ulančavati, npr. {@code sum.multiply(z).add(coef)}. Operacije računaju istim formulama
+ * kao odgovarajuće operacije razreda {@link Complex}, pa su rezultati jednaki do zadnjeg bita.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public class MutableComplex {
+
+	/**
+	 * Realni dio ovog kompleksnog broja.
+	 */
+	private double real;
+	/**
+	 * Imaginarni dio ovog kompleksnog broja.
+	 */
+	private double imaginary;
+
+	/**
+	 * Stvara novi kompleksni broj {@code z = 0}.
+	 */
+	public MutableComplex() {
+	}
+
+	/**
+	 * Stvara novi kompleksni broj {@code z = real + i * imaginary}.
+	 *
+	 * @param real realni dio
+	 * @param imaginary imaginarni dio
+	 */
+	public MutableComplex(double real, double imaginary) {
+		this.real = real;
+		this.imaginary = imaginary;
+	}
+
+	/**
+	 * Stvara novi kompleksni broj jednak kompleksnom broju {@code c}.
+	 *
+	 * @param c kompleksni broj čija se vrijednost preuzima.
+	 * @throws NullPointerException ako je predani kompleksni broj {@code null}.
+	 */
+	public MutableComplex(Complex c) {
+		set(c);
+	}
+
+	/**
+	 * Vraća realni dio ovog kompleksnog broja.
+	 *
+	 * @return realni dio ovog kompleksnog broja.
+	 */
+	public double getReal() {
+		return real;
+	}
+
+	/**
+	 * Vraća imaginarni dio ovog kompleksnog broja.
+	 *
+	 * @return imaginarni dio ovog kompleksnog broja.
+	 */
+	public double getImaginary() {
+		return imaginary;
+	}
+
+	/**
+	 * Postavlja ovaj kompleksni broj na {@code z = real + i * imaginary}.
+	 *
+	 * @param real realni dio
+	 * @param imaginary imaginarni dio
+	 * @return ovaj kompleksni broj.
+	 */
+	public MutableComplex set(double real, double imaginary) {
+		this.real = real;
+		this.imaginary = imaginary;
+		return this;
+	}
+
+	/**
+	 * Postavlja ovaj kompleksni broj na vrijednost kompleksnog broja {@code c}.
+	 *
+	 * @param c kompleksni broj čija se vrijednost preuzima.
+	 * @return ovaj kompleksni broj.
+	 * @throws NullPointerException ako je predani kompleksni broj {@code null}.
+	 */
+	public MutableComplex set(Complex c) {
+		Objects.requireNonNull(c, "Predani kompleksni broj je null.");
+		return set(c.getReal(), c.getImaginary());
+	}
+
+	/**
+	 * Postavlja ovaj kompleksni broj na vrijednost kompleksnog broja {@code c}.
+	 *
+	 * @param c kompleksni broj čija se vrijednost preuzima.
+	 * @return ovaj kompleksni broj.
+	 * @throws NullPointerException ako je predani kompleksni broj {@code null}.
+	 */
+	public MutableComplex set(MutableComplex c) {
+		Objects.requireNonNull(c, "Predani kompleksni broj je null.");
+		return set(c.real, c.imaginary);
+	}
+
+	/**
+	 * Računa i vraća modul ovog kompleksnog broja (vidi {@link Complex#module()}).
+	 *
+	 * @return modul ovog kompleksnog broja.
+	 */
+	public double module() {
+		return hypot(real, imaginary);
+	}
+
+	/**
+	 * Računa i vraća argument ovog kompleksnog broja iz intervala od 0 (uključivo) do
+	 * 2<i>pi</i> (isključivo) (vidi {@link Complex#angle()}).
+	 *
+	 * @return argument ovog kompleksnog broja.
+	 */
+	public double angle() {
+		double ang = atan2(imaginary, real);
+		return ang < 0 ? ang + 2*PI : ang;
+	}
+
+	/**
+	 * Množi ovaj kompleksni broj kompleksnim brojem {@code re + i * im}.
+	 *
+	 * @param re realni dio drugog faktora.
+	 * @param im imaginarni dio drugog faktora.
+	 * @return ovaj kompleksni broj.
+	 */
+	public MutableComplex multiply(double re, double im) {
+		double real = this.real * re - this.imaginary * im;
+		double imaginary = this.real * im + re * this.imaginary;
+		return set(real, imaginary);
+	}
+
+	/**
+	 * Množi ovaj kompleksni broj kompleksnim brojem {@code c}.
+	 *
+	 * @param c kompleksni broj s kojim se obavlja množenje.
+	 * @return ovaj kompleksni broj.
+	 * @throws NullPointerException ako je predani kompleksni broj {@code null}.
+	 */
+	public MutableComplex multiply(Complex c) {
+		Objects.requireNonNull(c, "Predani kompleksni broj je null.");
+		return multiply(c.getReal(), c.getImaginary());
+	}
+
+	/**
+	 * Množi ovaj kompleksni broj kompleksnim brojem {@code c}.
+	 *
+	 * @param c kompleksni broj s kojim se obavlja množenje.
+	 * @return ovaj kompleksni broj.
+	 * @throws NullPointerException ako je predani kompleksni broj {@code null}.
+	 */
+	public MutableComplex multiply(MutableComplex c) {
+		Objects.requireNonNull(c, "Predani kompleksni broj je null.");
+		return multiply(c.real, c.imaginary);
+	}
+
+	/**
+	 * Dijeli ovaj kompleksni broj kompleksnim brojem {@code re + i * im}.
+	 *
+	 * @param re realni dio djelitelja.
+	 * @param im imaginarni dio djelitelja.
+	 * @return ovaj kompleksni broj.
+	 */
+	public MutableComplex divide(double re, double im) {
+		double cmodsq = re * re + im * im;
+		double real = (this.real * re + this.imaginary * im) / cmodsq;
+		double imaginary = (re * this.imaginary - this.real * im) / cmodsq;
+		return set(real, imaginary);
+	}
+
+	/**
+	 * Dijeli ovaj kompleksni broj kompleksnim brojem {@code c}.
+	 *
+	 * @param c kompleksni broj s kojim se obavlja dijeljenje.
+	 * @return ovaj kompleksni broj.
+	 * @throws NullPointerException ako je predani kompleksni broj {@code null}.
+	 */
+	public MutableComplex divide(Complex c) {
+		Objects.requireNonNull(c, "Predani kompleksni broj je null.");
+		return divide(c.getReal(), c.getImaginary());
+	}
+
+	/**
+	 * Dijeli ovaj kompleksni broj kompleksnim brojem {@code c}.
+	 *
+	 * @param c kompleksni broj s kojim se obavlja dijeljenje.
+	 * @return ovaj kompleksni broj.
+	 * @throws NullPointerException ako je predani kompleksni broj {@code null}.
+	 */
+	public MutableComplex divide(MutableComplex c) {
+		Objects.requireNonNull(c, "Predani kompleksni broj je null.");
+		return divide(c.real, c.imaginary);
+	}
+
+	/**
+	 * Dodaje ovom kompleksnom broju kompleksni broj {@code re + i * im}.
+	 *
+	 * @param re realni dio pribrojnika.
+	 * @param im imaginarni dio pribrojnika.
+	 * @return ovaj kompleksni broj.
+	 */
+	public MutableComplex add(double re, double im) {
+		return set(real + re, imaginary + im);
+	}
+
+	/**
+	 * Dodaje ovom kompleksnom broju kompleksni broj {@code c}.
+	 *
+	 * @param c kompleksni broj s kojim se obavlja zbrajanje.
+	 * @return ovaj kompleksni broj.
+	 * @throws NullPointerException ako je predani kompleksni broj {@code null}.
+	 */
+	public MutableComplex add(Complex c) {
+		Objects.requireNonNull(c, "Predani kompleksni broj je null.");
+		return add(c.getReal(), c.getImaginary());
+	}
+
+	/**
+	 * Dodaje ovom kompleksnom broju kompleksni broj {@code c}.
+	 *
+	 * @param c kompleksni broj s kojim se obavlja zbrajanje.
+	 * @return ovaj kompleksni broj.
+	 * @throws NullPointerException ako je predani kompleksni broj {@code null}.
+	 */
+	public MutableComplex add(MutableComplex c) {
+		Objects.requireNonNull(c, "Predani kompleksni broj je null.");
+		return add(c.real, c.imaginary);
+	}
+
+	/**
+	 * Oduzima od ovog kompleksnog broja kompleksni broj {@code re + i * im}.
+	 *
+	 * @param re realni dio umanjitelja.
+	 * @param im imaginarni dio umanjitelja.
+	 * @return ovaj kompleksni broj.
+	 */
+	public MutableComplex sub(double re, double im) {
+		return set(real - re, imaginary - im);
+	}
+
+	/**
+	 * Oduzima od ovog kompleksnog broja kompleksni broj {@code c}.
+	 *
+	 * @param c kompleksni broj s kojim se obavlja oduzimanje.
+	 * @return ovaj kompleksni broj.
+	 * @throws NullPointerException ako je predani kompleksni broj {@code null}.
+	 */
+	public MutableComplex sub(Complex c) {
+		Objects.requireNonNull(c, "Predani kompleksni broj je null.");
+		return sub(c.getReal(), c.getImaginary());
+	}
+
+	/**
+	 * Oduzima od ovog kompleksnog broja kompleksni broj {@code c}.
+	 *
+	 * @param c kompleksni broj s kojim se obavlja oduzimanje.
+	 * @return ovaj kompleksni broj.
+	 * @throws NullPointerException ako je predani kompleksni broj {@code null}.
+	 */
+	public MutableComplex sub(MutableComplex c) {
+		Objects.requireNonNull(c, "Predani kompleksni broj je null.");
+		return sub(c.real, c.imaginary);
+	}
+
+	/**
+	 * Mijenja predznak ovog kompleksnog broja.
+	 *
+	 * @return ovaj kompleksni broj.
+	 */
+	public MutableComplex negate() {
+		return set(-real, -imaginary);
+	}
+
+	/**
+	 * Potencira ovaj kompleksni broj na {@code n}-tu potenciju (vidi {@link Complex#power(int)}).
+	 *
+	 * @param n eksponent potencije.
+	 * @return ovaj kompleksni broj.
+	 * @throws IllegalArgumentException ako je predani eksponent negativan.
+	 */
+	public MutableComplex power(int n) {
+		if (n < 0)
+			throw new IllegalArgumentException(
+					"Potencija kompleksnog broja mora biti veći ili jednak 0, a predano je " + n);
+		if (n == 0)
+			return set(1, 0);
+		if (n == 1)
+			return this;
+
+		double mod = pow(module(), n);
+		double ang = angle() * n;
+		return set(mod * cos(ang), mod * sin(ang));
+	}
+
+	/**
+	 * Stvara novi nepromjenjivi kompleksni broj jednak ovom kompleksnom broju.
+	 *
+	 * @return nepromjenjivi kompleksni broj jednak ovom.
+	 */
+	public Complex toComplex() {
+		return new Complex(real, imaginary);
+	}
+
+	/**
+	 * Vraća String reprezentaciju ovog kompleksnog broja, u istom obliku kao {@link Complex#toString()}.
+	 *
+	 * @return String reprezentacija ovog kompleksnog broja.
+	 */
+	@Override
+	public String toString() {
+		return toComplex().toString();
+	}
+
+}
@@ -0,0 +1,113 @@
+package hr.fer.zemris.math;
+
+/**
+ * Pomoćni razred za računanje umnoška linearnih faktora (polinoma zadanog nultočkama) na
+ * poljima realnih i imaginarnih dijelova koeficijenata, gdje pozicija u polju odgovara
+ * eksponentu potencije.<br>
+ * Umnožak se računa stablom umnožaka: nultočke se dijele na dvije polovice, rekurzivno se
+ * računaju umnošci polovica i na kraju se ta dva polinoma izravno pomnože. Izravno množenje
+ * (bez Fourierove transformacije ili Karatsubinog postupka, koji od međurezultata oduzimaju
+ * velike vrijednosti) čuva pogrešku svakog koeficijenta relativnom tom koeficijentu, pa i
+ * vrlo mali koeficijenti polinoma s grupiranim nultočkama ostaju točni.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+final class PolynomialMultiplication {
+
+	/**
+	 * Najveći broj nultočaka čiji se linearni faktori množe jedan po jedan, bez daljnje
+	 * podjele stabla umnožaka.
+	 */
+	static final int LEAF_ROOTS = 32;
+
+	/**
+	 * Onemogući stvaranje instanci ovog razreda.
+	 */
+	private PolynomialMultiplication() {}
+
+	/**
+	 * Vraća umnožak vodećeg koeficijenta {@code constant} i linearnih faktora
+	 * (z - z<sub>k</sub>) svih nultočaka z<sub>k</sub> = {@code rootRe[k] + i * rootIm[k]}.
+	 *
+	 * @param constant vodeći koeficijent.
+	 * @param rootRe realni dijelovi nultočaka.
+	 * @param rootIm imaginarni dijelovi nultočaka.
+	 * @return polje od dva polja: realni i imaginarni dijelovi koeficijenata umnoška.
+	 */
+	static double[][] fromRoots(Complex constant, double[] rootRe, double[] rootIm) {
+		int n = rootRe.length;
+		if (n <= LEAF_ROOTS)
+			return fromRoots(constant.getReal(), constant.getImaginary(), rootRe, rootIm, 0, n);
+
+		double[][] product = fromRoots(1, 0, rootRe, rootIm, 0, n);
+		double[] re = product[0];
+		double[] im = product[1];
+		double cRe = constant.getReal();
+		double cIm = constant.getImaginary();
+		for (int k = 0; k <= n; k++) {
+			double pRe = re[k];
+			double pIm = im[k];
+			re[k] = pRe * cRe - pIm * cIm;
+			im[k] = pRe * cIm + cRe * pIm;
+		}
+		return product;
+	}
+
+	/**
+	 * Vraća umnožak koeficijenta {@code cRe + i * cIm} i linearnih faktora nultočaka
+	 * s indeksima od {@code from} (uključivo) do {@code to} (isključivo).
+	 */
+	private static double[][] fromRoots(double cRe, double cIm, double[] rootRe, double[] rootIm,
+			int from, int to) {
+		int count = to - from;
+		if (count <= LEAF_ROOTS) {
+			double[] re = new double[count + 1];
+			double[] im = new double[count + 1];
+			re[0] = cRe;
+			im[0] = cIm;
+			// množenje s (z - r) na mjestu: p[k] = p[k-1] + p[k] * (-r)
+			for (int j = 0; j < count; j++) {
+				double rRe = -rootRe[from + j];
+				double rIm = -rootIm[from + j];
+				re[j + 1] = re[j];
+				im[j + 1] = im[j];
+				for (int k = j; k > 0; k--) {
+					double pRe = re[k];
+					double pIm = im[k];
+					re[k] = re[k - 1] + (pRe * rRe - pIm * rIm);
+					im[k] = im[k - 1] + (pRe * rIm + rRe * pIm);
+				}
+				double pRe = re[0];
+				double pIm = im[0];
+				re[0] = pRe * rRe - pIm * rIm;
+				im[0] = pRe * rIm + rRe * pIm;
+			}
+			return new double[][] {re, im};
+		}
+
+		int mid = from + count / 2;
+		double[][] left = fromRoots(cRe, cIm, rootRe, rootIm, from, mid);
+		double[][] right = fromRoots(1, 0, rootRe, rootIm, mid, to);
+		return multiply(left[0], left[1], right[0], right[1]);
+	}
+
+	/**
+	 * Množi polinome izravno, u vremenu O(n * m).
+	 */
+	private static double[][] multiply(double[] aRe, double[] aIm, double[] bRe, double[] bIm) {
+		int length = aRe.length + bRe.length - 1;
+		double[] re = new double[length];
+		double[] im = new double[length];
+		for (int i = 0; i < aRe.length; i++) {
+			double xRe = aRe[i];
+			double xIm = aIm[i];
+			for (int j = 0; j < bRe.length; j++) {
+				re[i + j] += xRe * bRe[j] - xIm * bIm[j];
+				im[i + j] += xRe * bIm[j] + bRe[j] * xIm;
+			}
+		}
+		return new double[][] {re, im};
+	}
+
+}
@@ -0,0 +1,224 @@
+package hr.fer.zemris.math;
+
+import java.util.Objects;
+
+/**
+ * Prostorni indeks nultočaka polinoma za brzo traženje nultočke najbliže zadanoj točki
+ * (vidi {@link ComplexRootedPolynomial#indexOfClosestRootFor(double, double, double)}).<br>
+ * Pravokutnik koji obuhvaća sve nultočke podijeljen je na jednoliku mrežu kvadratnih
+ * ćelija, s otprilike jednom nultočkom po ćeliji. Upit pregledava samo ćelije koje
+ * siječe kvadrat oko točke sa stranicom dvostruke granične udaljenosti (i po jednu ćeliju
+ * više sa svake strane, kako pogreške zaokruživanja ne bi izostavile nultočku na rubu),
+ * pa za malu graničnu udaljenost ne ovisi o broju nultočaka. Ako bi upit pregledao više
+ * ćelija nego što ima nultočaka, ili ako nultočaka ima manje od {@value #MIN_GRID_ROOTS},
+ * nultočke se pregledavaju redom.<br>
+ * Uspoređuju se kvadrati udaljenosti, a od nultočaka na jednakoj udaljenosti vraća se ona
+ * s najmanjom pozicijom, kao i pri pregledavanju redom. Objekt je nepromjenjiv, pa ga sve
+ * dretve mogu istovremeno koristiti.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+public class RootGrid {
+
+	/**
+	 * Najmanji broj nultočaka za koji se gradi mreža.
+	 */
+	public static final int MIN_GRID_ROOTS = 64;
+
+	/**
+	 * Realni dijelovi nultočaka.
+	 */
+	private final double[] rootsRe;
+	/**
+	 * Imaginarni dijelovi nultočaka.
+	 */
+	private final double[] rootsIm;
+	/**
+	 * Postoji li mreža ili se nultočke uvijek pregledavaju redom.
+	 */
+	private final boolean gridded;
+	/**
+	 * Najmanji realni i imaginarni dio nultočaka, donji lijevi kut mreže.
+	 */
+	private double minRe;
+	private double minIm;
+	/**
+	 * Duljina stranice ćelije.
+	 */
+	private double cellSize;
+	/**
+	 * Broj stupaca i redaka mreže.
+	 */
+	private int columns;
+	private int rows;
+	/**
+	 * Pozicija prve nultočke svake ćelije u polju {@link #cellRoots}, a na kraju broj nultočaka.
+	 */
+	private int[] cellStart;
+	/**
+	 * Pozicije nultočaka poredane po ćelijama.
+	 */
+	private int[] cellRoots;
+
+	/**
+	 * Stvara novi indeks nultočaka čiji su realni dijelovi u polju {@code rootsRe}, a
+	 * imaginarni u polju {@code rootsIm}. Polja se kopiraju.
+	 *
+	 * @param rootsRe realni dijelovi nultočaka.
+	 * @param rootsIm imaginarni dijelovi nultočaka.
+	 * @throws NullPointerException ako je neko od polja {@code null}.
+	 * @throws IllegalArgumentException ako polja nisu jednake duljine.
+	 */
+	public RootGrid(double[] rootsRe, double[] rootsIm) {
+		Objects.requireNonNull(rootsRe, "Predano polje realnih dijelova je null.");
+		Objects.requireNonNull(rootsIm, "Predano polje imaginarnih dijelova je null.");
+		if (rootsRe.length != rootsIm.length)
+			throw new IllegalArgumentException("Polja realnih i imaginarnih dijelova moraju biti jednake duljine, a predane su duljine "
+					+ rootsRe.length + " i " + rootsIm.length);
+		this.rootsRe = rootsRe.clone();
+		this.rootsIm = rootsIm.clone();
+		this.gridded = build();
+	}
+
+	/**
+	 * Gradi mrežu ako za to ima smisla.
+	 *
+	 * @return {@code true} ako je mreža izgrađena.
+	 */
+	private boolean build() {
+		int n = rootsRe.length;
+		if (n < MIN_GRID_ROOTS)
+			return false;
+
+		minRe = Double.POSITIVE_INFINITY;
+		minIm = Double.POSITIVE_INFINITY;
+		double maxRe = Double.NEGATIVE_INFINITY;
+		double maxIm = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			minRe = Math.min(minRe, rootsRe[i]);
+			maxRe = Math.max(maxRe, rootsRe[i]);
+			minIm = Math.min(minIm, rootsIm[i]);
+			maxIm = Math.max(maxIm, rootsIm[i]);
+		}
+		double width = maxRe - minRe;
+		double height = maxIm - minIm;
+		if (!Double.isFinite(width) || !Double.isFinite(height))
+			return false;
+
+		// otprilike jedna nultočka po ćeliji, i kad sve nultočke leže na pravcu
+		cellSize = Math.max(Math.sqrt(width * height / n), Math.max(width, height) / n);
+		// ćelije moraju biti puno veće od razmaka između susjednih double brojeva
+		double scale = Math.max(Math.max(Math.abs(minRe), Math.abs(maxRe)), Math.max(Math.abs(minIm), Math.abs(maxIm)));
+		if (!(cellSize > scale * 1e-10))
+			return false;
+		columns = (int) Math.min(n, width / cellSize) + 1;
+		rows = (int) Math.min(n, height / cellSize) + 1;
+
+		int[] cellOf = new int[n];
+		cellStart = new int[columns * rows + 1];
+		for (int i = 0; i < n; i++) {
+			int column = clamp((rootsRe[i] - minRe) / cellSize, columns);
+			int row = clamp((rootsIm[i] - minIm) / cellSize, rows);
+			cellOf[i] = row * columns + column;
+			cellStart[cellOf[i] + 1]++;
+		}
+		for (int c = 0; c < columns * rows; c++) {
+			cellStart[c + 1] += cellStart[c];
+		}
+		cellRoots = new int[n];
+		int[] next = cellStart.clone();
+		for (int i = 0; i < n; i++) {
+			cellRoots[next[cellOf[i]]++] = i;
+		}
+		return true;
+	}
+
+	/**
+	 * Vraća cijeli dio broja {@code value} ograničen na interval od 0 do {@code count - 1}.
+	 */
+	private static int clamp(double value, int count) {
+		if (!(value >= 0))
+			return 0;
+		return value >= count - 1 ? count - 1 : (int) value;
+	}
+
+	/**
+	 * Vraća broj nultočaka.
+	 *
+	 * @return broj nultočaka.
+	 */
+	public int size() {
+		return rootsRe.length;
+	}
+
+	/**
+	 * Vraća poziciju nultočke najbliže točki {@code re + i * im} čiji je kvadrat udaljenosti
+	 * od te točke manji ili jednak {@code tresholdSq}, ili -1 ako takva nultočka ne postoji.
+	 * Od više nultočaka na jednakoj udaljenosti vraća se ona s najmanjom pozicijom.
+	 *
+	 * @param re realni dio točke.
+	 * @param im imaginarni dio točke.
+	 * @param tresholdSq kvadrat granične udaljenosti.
+	 * @return pozicija najbliže nultočke ili -1.
+	 */
+	public int indexOfClosest(double re, double im, double tresholdSq) {
+		if (!gridded || !Double.isFinite(re) || !Double.isFinite(im) || !(tresholdSq < Double.POSITIVE_INFINITY))
+			return indexOfClosestLinear(re, im, tresholdSq);
+		if (tresholdSq < 0)
+			return -1;
+
+		double treshold = Math.sqrt(tresholdSq);
+		double left = Math.floor((re - treshold - minRe) / cellSize) - 1;
+		double right = Math.floor((re + treshold - minRe) / cellSize) + 1;
+		double bottom = Math.floor((im - treshold - minIm) / cellSize) - 1;
+		double top = Math.floor((im + treshold - minIm) / cellSize) + 1;
+		if (right < 0 || left >= columns || top < 0 || bottom >= rows)
+			return -1;
+
+		int columnMin = (int) Math.max(0, left);
+		int columnMax = (int) Math.min(columns - 1, right);
+		int rowMin = (int) Math.max(0, bottom);
+		int rowMax = (int) Math.min(rows - 1, top);
+		if ((long) (columnMax - columnMin + 1) * (rowMax - rowMin + 1) > rootsRe.length)
+			return indexOfClosestLinear(re, im, tresholdSq);
+
+		int index = -1;
+		double minDistanceSq = Double.POSITIVE_INFINITY;
+		for (int row = rowMin; row <= rowMax; row++) {
+			int cellEnd = cellStart[row * columns + columnMax + 1];
+			for (int k = cellStart[row * columns + columnMin]; k < cellEnd; k++) {
+				int i = cellRoots[k];
+				double dRe = re - rootsRe[i];
+				double dIm = im - rootsIm[i];
+				double distanceSq = dRe * dRe + dIm * dIm;
+				if (distanceSq <= tresholdSq
+						&& (distanceSq < minDistanceSq || distanceSq == minDistanceSq && i < index)) {
+					minDistanceSq = distanceSq;
+					index = i;
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Radi isto što i {@link #indexOfClosest(double, double, double)}, pregledavajući sve
+	 * nultočke redom.
+	 */
+	private int indexOfClosestLinear(double re, double im, double tresholdSq) {
+		int index = -1;
+		double minDistanceSq = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < rootsRe.length; i++) {
+			double dRe = re - rootsRe[i];
+			double dIm = im - rootsIm[i];
+			double distanceSq = dRe * dRe + dIm * dIm;
+			if (distanceSq < minDistanceSq && distanceSq <= tresholdSq) {
+				minDistanceSq = distanceSq;
+				index = i;
+			}
+		}
+		return index;
+	}
+
+}
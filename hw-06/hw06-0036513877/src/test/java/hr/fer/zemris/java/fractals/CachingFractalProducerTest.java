@@ -0,0 +1,73 @@
+package hr.fer.zemris.java.fractals;
+
+import static hr.fer.zemris.java.fractals.FractalTestSupport.FOUR_ROOTS;
+import static hr.fer.zemris.java.fractals.FractalTestSupport.produce;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class CachingFractalProducerTest {
+	
+	private static final int WIDTH = 201;
+	private static final int HEIGHT = 151;
+	private static final int TILE_SIZE = 32;
+	
+	@Test
+	public void testRepeatedRequestHitsEveryTile() {
+		FractalTileCache cache = new FractalTileCache(1 << 24);
+		try (CachingFractalProducer producer = new CachingFractalProducer(2, FOUR_ROOTS, cache, TILE_SIZE)) {
+			short[] first = produce(producer, -2, 2, -1.5, 1.5, WIDTH, HEIGHT);
+			long misses = cache.getMisses();
+			assertEquals(0, cache.getHits());
+			assertEquals(misses, cache.size());
+			
+			short[] second = produce(producer, -2, 2, -1.5, 1.5, WIDTH, HEIGHT);
+			assertEquals(misses, cache.getMisses());
+			assertEquals(misses, cache.getHits());
+			assertArrayEquals(first, second);
+		}
+	}
+	
+	@Test
+	public void testPannedRequestReusesOverlappingTiles() {
+		FractalTileCache cache = new FractalTileCache(1 << 24);
+		try (CachingFractalProducer producer = new CachingFractalProducer(2, FOUR_ROOTS, cache, TILE_SIZE)) {
+			double scale = 4.0 / (WIDTH - 1);
+			int shift = 50;
+			short[] first = produce(producer, -2, 2, -1.5, 1.5, WIDTH, HEIGHT);
+			short[] panned = produce(producer, -2 + shift * scale, 2 + shift * scale, -1.5, 1.5, WIDTH, HEIGHT);
+			
+			assertTrue(cache.getHits() > 0);
+			for (int y = 0; y < HEIGHT; y++) {
+				for (int x = 0; x < WIDTH - shift; x++) {
+					assertEquals(first[y * WIDTH + x + shift], panned[y * WIDTH + x]);
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void testCacheStaysWithinMemoryBudget() {
+		long budget = 4L * TILE_SIZE * TILE_SIZE * Short.BYTES;
+		FractalTileCache cache = new FractalTileCache(budget);
+		try (CachingFractalProducer producer = new CachingFractalProducer(2, FOUR_ROOTS, cache, TILE_SIZE)) {
+			produce(producer, -2, 2, -1.5, 1.5, WIDTH, HEIGHT);
+			
+			assertTrue(cache.getResidentBytes() <= budget);
+			assertEquals(4, cache.size());
+		}
+	}
+	
+	@Test
+	public void testRejectsIterationCounts() {
+		RenderOptions options = new RenderOptions(64, 1e-3, 2e-3, true);
+		try (CachingFractalProducer producer = new CachingFractalProducer(2, FOUR_ROOTS, new FractalTileCache(1 << 20), TILE_SIZE)) {
+			assertThrows(IllegalArgumentException.class, () -> producer.setOptions(options));
+			assertEquals(RenderOptions.DEFAULT, producer.getOptions());
+		}
+	}
+	
+}
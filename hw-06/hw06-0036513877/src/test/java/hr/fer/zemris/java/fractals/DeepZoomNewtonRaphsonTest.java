@@ -0,0 +1,89 @@
+package hr.fer.zemris.java.fractals;
+
+import static hr.fer.zemris.java.fractals.FractalConstants.CONVERGENCE_TRESHOLD;
+import static hr.fer.zemris.java.fractals.FractalConstants.MAX_ITERATIONS;
+import static hr.fer.zemris.java.fractals.FractalConstants.ROOT_TRESHOLD;
+import static hr.fer.zemris.java.fractals.FractalTestSupport.FOUR_ROOTS;
+import static hr.fer.zemris.java.fractals.FractalTestSupport.SCALED_ROOTS;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+public class DeepZoomNewtonRaphsonTest {
+
+	@Test
+	public void testDeepZoomDetection() {
+		assertFalse(DeepZoomNewtonRaphson.isDeepZoom(-2.5, 1, -1.2, 1.2, 800, 600));
+		assertFalse(DeepZoomNewtonRaphson.isDeepZoom(0.3, 0.3 + 1e-9, 0.3, 0.3 + 1e-9, 800, 600));
+		assertTrue(DeepZoomNewtonRaphson.isDeepZoom(0.3, 0.3 + 1e-14, 0.3, 0.3 + 1e-14, 800, 600));
+		// granica ovisi o modulu koordinata
+		assertTrue(DeepZoomNewtonRaphson.isDeepZoom(1e4, 1e4 + 1e-7, 0, 1e-7, 800, 600));
+	}
+
+	@Test
+	public void testMatchesRootedKernelAtNormalZoom() {
+		int width = 120;
+		int height = 90;
+		short[] expected = new short[width * height];
+		short[] expectedIterations = new short[width * height];
+		NewtonRaphson.calculate(-2, 2, -2, 2, ROOT_TRESHOLD, CONVERGENCE_TRESHOLD,
+				new PolynomialEvaluator(SCALED_ROOTS, true), width, height, MAX_ITERATIONS,
+				0, width - 1, 0, height - 1, expected, expectedIterations, new AtomicBoolean());
+
+		short[] actual = new short[width * height];
+		short[] actualIterations = new short[width * height];
+		DeepZoomNewtonRaphson.calculate(-2, 2, -2, 2, ROOT_TRESHOLD, CONVERGENCE_TRESHOLD,
+				new PolynomialEvaluator(SCALED_ROOTS), width, height, MAX_ITERATIONS,
+				0, width - 1, 0, height - 1, actual, actualIterations, new AtomicBoolean());
+
+		// razlike su moguće samo na samoj granici bazena
+		int different = 0;
+		for (int i = 0; i < expected.length; i++) {
+			if (expected[i] != actual[i] || expectedIterations[i] != actualIterations[i])
+				different++;
+		}
+		assertTrue(different <= expected.length / 100, different + " različitih piksela");
+	}
+
+	@Test
+	public void testDeepZoomResolvesBasinBoundary() {
+		// dijagonala Re = Im je granica bazena polinoma z^4 - 1, a razmak između piksela je
+		// manji od preciznosti double brojeva oko točke 0.5 + 0.5i, pa bi u double preciznosti
+		// bilo samo 5 različitih koordinata po svakoj osi
+		double min = 0.5;
+		double max = 0.5 + 4 * Math.ulp(0.5);
+		int size = 33;
+		assertTrue(DeepZoomNewtonRaphson.isDeepZoom(min, max, min, max, size, size));
+
+		short[] data = new short[size * size];
+		try (ParallelFractalProducer producer = new LaneFractalProducer(1, 4, FOUR_ROOTS)) {
+			producer.produce(min, max, min, max, size, size, 0,
+					(result, limit, requestNo) -> System.arraycopy(result, 0, data, 0, data.length),
+					new AtomicBoolean());
+		}
+
+		// daleko iznad dijagonale je bazen nultočke i, a daleko ispod bazen nultočke 1
+		assertEquals(3, data[0]);
+		assertEquals(1, data[size * size - 1]);
+
+		Set<Short> values = new HashSet<>();
+		Set<List<Short>> rows = new HashSet<>();
+		for (int y = 0; y < size; y++) {
+			List<Short> row = new ArrayList<>();
+			for (int x = 0; x < size; x++) {
+				values.add(data[y * size + x]);
+				row.add(data[y * size + x]);
+			}
+			rows.add(row);
+		}
+		assertEquals(Set.of((short) 1, (short) 2, (short) 3, (short) 4), values);
+		assertTrue(rows.size() > 5);
+	}
+
+}
@@ -0,0 +1,61 @@
+package hr.fer.zemris.java.fractals;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FractalImageWriterTest {
+
+	private static final short[] DATA = {0, 1, 2, 3, 4, 5, 4, 3, 2, 1, 0, 5};
+	private static final short LIMIT = 5;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void testRawRoundTrip() throws IOException {
+		Path file = dir.resolve("image.raw");
+		FractalImageWriter.write(file, DATA, LIMIT, 4, 3);
+
+		byte[] bytes = Files.readAllBytes(file);
+		assertEquals(2 * DATA.length, bytes.length);
+		short[] read = new short[DATA.length];
+		ByteBuffer.wrap(bytes).asShortBuffer().get(read);
+		assertArrayEquals(DATA, read);
+	}
+
+	@Test
+	public void testPngUsesViewerPalette() throws IOException {
+		Path file = dir.resolve("image.png");
+		FractalImageWriter.write(file, DATA, LIMIT, 4, 3);
+
+		BufferedImage image = ImageIO.read(file.toFile());
+		assertEquals(4, image.getWidth());
+		assertEquals(3, image.getHeight());
+		for (int y = 0; y < 3; y++) {
+			for (int x = 0; x < 4; x++) {
+				int expected = FractalImageWriter.rgb(DATA[y * 4 + x], LIMIT);
+				assertEquals(expected, image.getRGB(x, y) & 0xFFFFFF);
+			}
+		}
+		assertEquals(0x00FF00, FractalImageWriter.rgb(0, LIMIT));
+	}
+
+	@Test
+	public void testUnsupportedExtensionAndSize() {
+		assertThrows(IllegalArgumentException.class,
+				() -> FractalImageWriter.write(dir.resolve("image.bmp"), DATA, LIMIT, 4, 3));
+		assertThrows(IllegalArgumentException.class,
+				() -> FractalImageWriter.write(dir.resolve("image.raw"), DATA, LIMIT, 5, 3));
+	}
+
+}
@@ -0,0 +1,142 @@
+package hr.fer.zemris.java.fractals;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import hr.fer.zemris.java.fractals.viewer.IFractalProducer;
+import hr.fer.zemris.java.fractals.viewer.IFractalResultObserver;
+
+public class FractalRequestSchedulerTest {
+
+	private static final IFractalResultObserver IGNORE = (data, limit, requestNo) -> {};
+
+	/**
+	 * Generator koji bilježi pokrenute zahtjeve i izvršava se dok ne bude prekinut ili
+	 * dok se ne otvori {@code finish}. Ako je {@code ignoreCancel} postavljen, izvršava se
+	 * do otvaranja {@code finish}, kao da računa jednu dugu pločicu.
+	 */
+	private static class BlockingProducer implements IFractalProducer {
+
+		final List<Long> started = new CopyOnWriteArrayList<>();
+		final AtomicInteger active = new AtomicInteger();
+		final AtomicInteger maxActive = new AtomicInteger();
+		final CountDownLatch firstStarted = new CountDownLatch(1);
+		final CountDownLatch finish = new CountDownLatch(1);
+		volatile boolean ignoreCancel;
+
+		@Override
+		public void produce(double reMin, double reMax, double imMin, double imMax, int width, int height,
+				long requestNo, IFractalResultObserver observer, AtomicBoolean cancel) {
+			maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+			started.add(requestNo);
+			firstStarted.countDown();
+			try {
+				while ((ignoreCancel || !cancel.get()) && finish.getCount() > 0)
+					finish.await(1, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			active.decrementAndGet();
+		}
+	}
+
+	private static Thread request(IFractalProducer producer, long requestNo, AtomicBoolean cancel) {
+		Thread thread = new Thread(() -> producer.produce(0, 1, 0, 1, 1, 1, requestNo, IGNORE, cancel));
+		thread.start();
+		return thread;
+	}
+
+	@Test
+	public void testNewerRequestPreemptsRunningRequest() throws Exception {
+		BlockingProducer delegate = new BlockingProducer();
+		FractalRequestScheduler scheduler = new FractalRequestScheduler(delegate);
+
+		AtomicBoolean firstCancel = new AtomicBoolean();
+		Thread first = request(scheduler, 1, firstCancel);
+		assertTrue(delegate.firstStarted.await(5, TimeUnit.SECONDS));
+
+		AtomicBoolean secondCancel = new AtomicBoolean();
+		Thread second = request(scheduler, 2, secondCancel);
+		first.join(5000);
+		assertFalse(first.isAlive());
+		assertTrue(firstCancel.get());
+
+		delegate.finish.countDown();
+		second.join(5000);
+		assertFalse(second.isAlive());
+		assertFalse(secondCancel.get());
+		assertEquals(List.of(1L, 2L), delegate.started);
+		assertEquals(1, delegate.maxActive.get());
+	}
+
+	@Test
+	public void testStaleRequestsAreNotStarted() throws Exception {
+		BlockingProducer delegate = new BlockingProducer();
+		FractalRequestScheduler scheduler = new FractalRequestScheduler(delegate);
+
+		AtomicBoolean newestCancel = new AtomicBoolean();
+		Thread newest = request(scheduler, 5, newestCancel);
+		assertTrue(delegate.firstStarted.await(5, TimeUnit.SECONDS));
+
+		// stiže nakon novijeg zahtjeva
+		AtomicBoolean staleCancel = new AtomicBoolean();
+		scheduler.produce(0, 1, 0, 1, 1, 1, 3, IGNORE, staleCancel);
+		assertTrue(staleCancel.get());
+		assertFalse(newestCancel.get());
+
+		delegate.finish.countDown();
+		newest.join(5000);
+		assertEquals(List.of(5L), delegate.started);
+	}
+
+	@Test
+	public void testWaitingRequestIsSupersededBeforeStart() throws Exception {
+		BlockingProducer delegate = new BlockingProducer();
+		FractalRequestScheduler scheduler = new FractalRequestScheduler(delegate);
+		delegate.ignoreCancel = true;
+		AtomicBoolean firstCancel = new AtomicBoolean();
+		Thread first = request(scheduler, 1, firstCancel);
+		assertTrue(delegate.firstStarted.await(5, TimeUnit.SECONDS));
+
+		AtomicBoolean secondCancel = new AtomicBoolean();
+		AtomicBoolean thirdCancel = new AtomicBoolean();
+		Thread second = request(scheduler, 2, secondCancel);
+		Thread third = request(scheduler, 3, thirdCancel);
+		second.join(5000);
+		assertFalse(second.isAlive());
+		assertTrue(firstCancel.get());
+		assertTrue(secondCancel.get());
+
+		delegate.finish.countDown();
+		first.join(5000);
+		third.join(5000);
+		assertFalse(thirdCancel.get());
+		assertEquals(List.of(1L, 3L), delegate.started);
+		assertEquals(1, delegate.maxActive.get());
+	}
+
+	@Test
+	public void testCloseWrapsCheckedException() {
+		IOException failure = new IOException("close");
+		class FailingProducer extends BlockingProducer implements AutoCloseable {
+			@Override
+			public void close() throws IOException {
+				throw failure;
+			}
+		}
+
+		FractalRequestScheduler scheduler = new FractalRequestScheduler(new FailingProducer());
+		IllegalStateException ex = assertThrows(IllegalStateException.class, scheduler::close);
+		assertSame(failure, ex.getCause());
+	}
+
+}
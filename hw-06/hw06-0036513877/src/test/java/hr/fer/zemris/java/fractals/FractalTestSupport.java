@@ -0,0 +1,45 @@
+package hr.fer.zemris.java.fractals;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import hr.fer.zemris.java.fractals.viewer.IFractalProducer;
+import hr.fer.zemris.math.Complex;
+import hr.fer.zemris.math.ComplexRootedPolynomial;
+
+/**
+ * Zajednički polinomi i pomoćne metode testova generatora podataka o fraktalu.
+ *
+ * @author Tomislav Bjelčić
+ *
+ */
+final class FractalTestSupport {
+
+	/**
+	 * Polinom s nultočkama 1, -1, i i -i.
+	 */
+	static final ComplexRootedPolynomial FOUR_ROOTS = new ComplexRootedPolynomial(
+			Complex.ONE, Complex.ONE, Complex.ONE_NEG, Complex.IM, Complex.IM_NEG);
+	/**
+	 * Polinom s vodećim koeficijentom različitim od 1 i nultočkama bez simetrije.
+	 */
+	static final ComplexRootedPolynomial SCALED_ROOTS = new ComplexRootedPolynomial(
+			new Complex(2, -1), new Complex(0.5, 0.5), new Complex(-1.5, 0.2),
+			new Complex(0.1, -1.3), new Complex(-0.7, -0.7), new Complex(1.2, 0.9));
+
+	private FractalTestSupport() {}
+
+	/**
+	 * Poziva generator {@code producer} sa zadanim područjem i dimenzijama rastera
+	 * te vraća podatke koje je generator zadnje objavio.
+	 *
+	 * @return zadnje objavljene podatke, ili {@code null} ako ih generator nije objavio.
+	 */
+	static short[] produce(IFractalProducer producer, double reMin, double reMax,
+			double imMin, double imMax, int width, int height) {
+		short[][] result = new short[1][];
+		producer.produce(reMin, reMax, imMin, imMax, width, height, 0,
+				(data, limit, requestNo) -> result[0] = data, new AtomicBoolean());
+		return result[0];
+	}
+
+}
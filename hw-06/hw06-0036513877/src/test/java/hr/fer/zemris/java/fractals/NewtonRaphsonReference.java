@@ -0,0 +1,58 @@
+package hr.fer.zemris.java.fractals;
+
+import hr.fer.zemris.math.Complex;
+import hr.fer.zemris.math.ComplexPolynomial;
+import hr.fer.zemris.math.ComplexRootedPolynomial;
+
+/**
+ * Referentna implementacija izračuna podataka o fraktalu koja za svaki korak 
+ * iteracije koristi nepromjenjive objekte razreda {@link Complex}. Koristi se 
+ * za provjeru ispravnosti i usporedbu brzine optimiziranih implementacija.
+ * 
+ * @author Tomislav Bjelčić
+ *
+ */
+public class NewtonRaphsonReference {
+	
+	private NewtonRaphsonReference() {}
+	
+	public static void calculate(
+			double reMin, 
+			double reMax, 
+			double imMin, 
+			double imMax, 
+			double rootTreshold, 
+			double convergenceTreshold, 
+			ComplexPolynomial function, 
+			ComplexRootedPolynomial functionRooted, 
+			ComplexPolynomial derivative, 
+			int width, 
+			int height, 
+			int maxIter, 
+			short[] data) {
+		
+		int offset = 0;
+		for(int y = 0; y < height; y++) {
+			for(int x = 0; x < width; x++) {
+				double reZ0 = x / (width-1.0) * (reMax - reMin) + reMin;
+				double imZ0 = (height-1.0-y) / (height-1) * (imMax - imMin) + imMin;
+				Complex zn = new Complex(reZ0, imZ0);
+				
+				for (int iters=0; iters<maxIter; iters++) {
+					Complex fzn = function.apply(zn);
+					Complex derivativeFzn = derivative.apply(zn);
+					Complex diff = fzn.divide(derivativeFzn);
+					double diffModule = diff.module();
+					
+					zn = zn.sub(diff);
+					if (diffModule <= convergenceTreshold)
+						break;
+				}
+				int index = functionRooted.indexOfClosestRootFor(zn, rootTreshold);
+				data[offset] = (short) (index + 1);
+				offset++;
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,181 @@
+package hr.fer.zemris.java.fractals;
+
+import static hr.fer.zemris.java.fractals.FractalConstants.CONVERGENCE_TRESHOLD;
+import static hr.fer.zemris.java.fractals.FractalConstants.MAX_ITERATIONS;
+import static hr.fer.zemris.java.fractals.FractalConstants.ROOT_TRESHOLD;
+import static hr.fer.zemris.java.fractals.FractalTestSupport.FOUR_ROOTS;
+import static hr.fer.zemris.java.fractals.FractalTestSupport.SCALED_ROOTS;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import hr.fer.zemris.math.ComplexPolynomial;
+import hr.fer.zemris.math.ComplexRootedPolynomial;
+
+public class NewtonRaphsonTest {
+	
+	private static final int WIDTH = 160;
+	private static final int HEIGHT = 120;
+	
+	private static void assertSameAsReference(ComplexRootedPolynomial crp, 
+			double reMin, double reMax, double imMin, double imMax) {
+		ComplexPolynomial function = crp.toComplexPolynom();
+		ComplexPolynomial derivative = function.derive();
+		
+		short[] expected = new short[WIDTH * HEIGHT];
+		NewtonRaphsonReference.calculate(reMin, reMax, imMin, imMax, ROOT_TRESHOLD, 
+				CONVERGENCE_TRESHOLD, function, crp, derivative, 
+				WIDTH, HEIGHT, MAX_ITERATIONS, expected);
+		
+		short[] actual = new short[WIDTH * HEIGHT];
+		NewtonRaphson.calculate(reMin, reMax, imMin, imMax, ROOT_TRESHOLD, 
+				CONVERGENCE_TRESHOLD, new PolynomialEvaluator(crp), 
+				WIDTH, HEIGHT, MAX_ITERATIONS, 0, HEIGHT - 1, actual, new AtomicBoolean());
+		
+		assertArrayEquals(expected, actual);
+	}
+	
+	@Test
+	public void testCalculateMatchesReferenceDefaultViewport() {
+		assertSameAsReference(FOUR_ROOTS, -2.5, 1, -1.2, 1.2);
+	}
+	
+	@Test
+	public void testCalculateMatchesReferenceZoomed() {
+		assertSameAsReference(FOUR_ROOTS, 0.28, 0.32, 0.28, 0.31);
+	}
+	
+	@Test
+	public void testCalculateMatchesReferenceScaledPolynomial() {
+		assertSameAsReference(SCALED_ROOTS, -2, 2, -2, 2);
+	}
+	
+	@Test
+	public void testCalculateLanesMatchesScalar() {
+		PolynomialEvaluator evaluator = new PolynomialEvaluator(SCALED_ROOTS);
+		// širina koja nije višekratnik broja traka
+		int width = 8 * NewtonRaphson.LANES + 3;
+		
+		short[] expected = new short[width * HEIGHT];
+		NewtonRaphson.calculate(-2, 2, -2, 2, ROOT_TRESHOLD, CONVERGENCE_TRESHOLD, 
+				evaluator, width, HEIGHT, MAX_ITERATIONS, 
+				0, HEIGHT - 1, expected, new AtomicBoolean());
+		
+		short[] actual = new short[width * HEIGHT];
+		NewtonRaphson.calculateLanes(-2, 2, -2, 2, ROOT_TRESHOLD, CONVERGENCE_TRESHOLD, 
+				evaluator, width, HEIGHT, MAX_ITERATIONS, 
+				0, width - 1, 0, HEIGHT - 1, actual, null, new AtomicBoolean());
+		
+		assertArrayEquals(expected, actual);
+	}
+	
+	@Test
+	public void testCalculateTileMatchesFullRaster() {
+		PolynomialEvaluator evaluator = new PolynomialEvaluator(FOUR_ROOTS);
+		
+		short[] expected = new short[WIDTH * HEIGHT];
+		NewtonRaphson.calculate(-2.5, 1, -1.2, 1.2, ROOT_TRESHOLD, CONVERGENCE_TRESHOLD, 
+				evaluator, WIDTH, HEIGHT, MAX_ITERATIONS, 
+				0, HEIGHT - 1, expected, new AtomicBoolean());
+		
+		short[] actual = new short[WIDTH * HEIGHT];
+		int xmid = WIDTH / 3;
+		int ymid = HEIGHT / 2;
+		int[][] tiles = {
+				{0, xmid - 1, 0, ymid - 1}, {xmid, WIDTH - 1, 0, ymid - 1},
+				{0, xmid - 1, ymid, HEIGHT - 1}, {xmid, WIDTH - 1, ymid, HEIGHT - 1}
+		};
+		for (int[] t : tiles) {
+			NewtonRaphson.calculate(-2.5, 1, -1.2, 1.2, ROOT_TRESHOLD, CONVERGENCE_TRESHOLD, 
+					evaluator, WIDTH, HEIGHT, MAX_ITERATIONS, 
+					t[0], t[1], t[2], t[3], actual, null, new AtomicBoolean());
+		}
+		
+		assertArrayEquals(expected, actual);
+	}
+	
+	@Test
+	public void testLowBudgetRowEarlyOutMatchesReference() {
+		ComplexPolynomial function = FOUR_ROOTS.toComplexPolynom();
+		ComplexPolynomial derivative = function.derive();
+		int maxIter = 4;
+		
+		short[] expected = new short[WIDTH * HEIGHT];
+		NewtonRaphsonReference.calculate(-500, 500, -40, 20, ROOT_TRESHOLD, CONVERGENCE_TRESHOLD, 
+				function, FOUR_ROOTS, derivative, WIDTH, HEIGHT, maxIter, expected);
+		
+		short[] scalar = new short[WIDTH * HEIGHT];
+		Arrays.fill(scalar, (short) -1);
+		NewtonRaphson.calculate(-500, 500, -40, 20, ROOT_TRESHOLD, CONVERGENCE_TRESHOLD, 
+				new PolynomialEvaluator(FOUR_ROOTS), WIDTH, HEIGHT, maxIter, 
+				0, HEIGHT - 1, scalar, new AtomicBoolean());
+		assertArrayEquals(expected, scalar);
+		
+		short[] lanes = new short[WIDTH * HEIGHT];
+		Arrays.fill(lanes, (short) -1);
+		NewtonRaphson.calculateLanes(-500, 500, -40, 20, ROOT_TRESHOLD, CONVERGENCE_TRESHOLD, 
+				new PolynomialEvaluator(FOUR_ROOTS), WIDTH, HEIGHT, maxIter, 
+				0, WIDTH - 1, 0, HEIGHT - 1, lanes, null, new AtomicBoolean());
+		assertArrayEquals(expected, lanes);
+		
+		double radius = NewtonRaphson.escapeRadius(new double[] {1, -1, 0, 0}, 
+				new double[] {0, 0, 1, -1}, ROOT_TRESHOLD, maxIter);
+		assertTrue(radius < 40);
+		assertTrue(NewtonRaphson.escapeRadius(new double[] {1, -1, 0, 0}, 
+				new double[] {0, 0, 1, -1}, ROOT_TRESHOLD, MAX_ITERATIONS) > 1e30);
+		assertEquals(Double.POSITIVE_INFINITY, NewtonRaphson.escapeRadius(new double[] {1}, 
+				new double[] {0}, ROOT_TRESHOLD, maxIter));
+	}
+	
+	@Test
+	public void testIterationCountsMatchBetweenKernels() {
+		PolynomialEvaluator evaluator = new PolynomialEvaluator(SCALED_ROOTS);
+		int maxIter = 40;
+		
+		short[] data = new short[WIDTH * HEIGHT];
+		short[] expected = new short[WIDTH * HEIGHT];
+		NewtonRaphson.calculate(-2, 2, -2, 2, ROOT_TRESHOLD, CONVERGENCE_TRESHOLD, 
+				evaluator, WIDTH, HEIGHT, maxIter, 
+				0, WIDTH - 1, 0, HEIGHT - 1, data, expected, new AtomicBoolean());
+		
+		short[] actual = new short[WIDTH * HEIGHT];
+		NewtonRaphson.calculateLanes(-2, 2, -2, 2, ROOT_TRESHOLD, CONVERGENCE_TRESHOLD, 
+				evaluator, WIDTH, HEIGHT, maxIter, 
+				0, WIDTH - 1, 0, HEIGHT - 1, data, actual, new AtomicBoolean());
+		
+		assertArrayEquals(expected, actual);
+		for (short iterations : expected) {
+			assertTrue(iterations >= 1 && iterations <= maxIter);
+		}
+	}
+	
+	@Test
+	public void testSeededMatchesUnseeded() {
+		PolynomialEvaluator evaluator = new PolynomialEvaluator(SCALED_ROOTS);
+		
+		short[] expected = new short[WIDTH * HEIGHT];
+		NewtonRaphson.calculate(-2, 2, -2, 2, ROOT_TRESHOLD, CONVERGENCE_TRESHOLD, 
+				evaluator, WIDTH, HEIGHT, MAX_ITERATIONS, 0, HEIGHT - 1, expected, new AtomicBoolean());
+		
+		// pretpostavke su točne, nasumične ili nepostojeće
+		Random random = new Random(42);
+		short[][] allSeeds = {expected.clone(), new short[WIDTH * HEIGHT], new short[WIDTH * HEIGHT]};
+		for (int i = 0; i < WIDTH * HEIGHT; i++) {
+			allSeeds[1][i] = (short) random.nextInt(8);
+		}
+		for (short[] seeds : allSeeds) {
+			short[] actual = new short[WIDTH * HEIGHT];
+			NewtonRaphson.calculateSeeded(-2, 2, -2, 2, ROOT_TRESHOLD, CONVERGENCE_TRESHOLD, 
+					evaluator, WIDTH, HEIGHT, MAX_ITERATIONS, 
+					0, WIDTH - 1, 0, HEIGHT - 1, actual, seeds, new AtomicBoolean());
+			assertArrayEquals(expected, actual);
+		}
+	}
+	
+}
@@ -0,0 +1,194 @@
+package hr.fer.zemris.java.fractals;
+
+import static hr.fer.zemris.java.fractals.FractalConstants.CONVERGENCE_TRESHOLD;
+import static hr.fer.zemris.java.fractals.FractalConstants.MAX_ITERATIONS;
+import static hr.fer.zemris.java.fractals.FractalConstants.ROOT_TRESHOLD;
+import static hr.fer.zemris.java.fractals.FractalTestSupport.FOUR_ROOTS;
+import static hr.fer.zemris.java.fractals.FractalTestSupport.produce;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import hr.fer.zemris.math.Complex;
+import hr.fer.zemris.math.ComplexPolynomial;
+import hr.fer.zemris.math.ComplexRootedPolynomial;
+
+public class ParallelFractalProducerTest {
+
+	private static final int WIDTH = 301;
+	private static final int HEIGHT = 217;
+
+	private static short[] sequential() {
+		return produce(new SequentialFractalProducer(FOUR_ROOTS), -2.5, 1, -1.2, 1.2, WIDTH, HEIGHT);
+	}
+
+	@Test
+	public void testBandsArePublishedCompleteBeforeResult() {
+		short[] expected = sequential();
+		int[] bandHits = new int[HEIGHT];
+		boolean[] resultAccepted = new boolean[1];
+
+		IFractalBandObserver observer = new IFractalBandObserver() {
+			@Override
+			public synchronized void acceptBand(short[] data, int width, int ymin, int ymax, long requestNo) {
+				assertFalse(resultAccepted[0]);
+				assertEquals(WIDTH, width);
+				assertEquals(7, requestNo);
+				for (int y = ymin; y <= ymax; y++) {
+					bandHits[y]++;
+					assertArrayEquals(Arrays.copyOfRange(expected, y * width, (y + 1) * width),
+							Arrays.copyOfRange(data, y * width, (y + 1) * width));
+				}
+			}
+
+			@Override
+			public synchronized void acceptResult(short[] data, short limit, long requestNo) {
+				resultAccepted[0] = true;
+				assertArrayEquals(expected, data);
+			}
+		};
+
+		try (ParallelFractalProducer producer = new ParallelFractalProducer(2, 7, FOUR_ROOTS)) {
+			producer.produce(-2.5, 1, -1.2, 1.2, WIDTH, HEIGHT, 7, observer, new AtomicBoolean());
+		}
+
+		assertTrue(resultAccepted[0]);
+		for (int y = 0; y < HEIGHT; y++) {
+			assertEquals(1, bandHits[y]);
+		}
+	}
+
+	@Test
+	public void testCancelledRequestPublishesNoBands() {
+		AtomicBoolean cancel = new AtomicBoolean(true);
+		int[] bands = new int[1];
+
+		IFractalBandObserver observer = new IFractalBandObserver() {
+			@Override
+			public synchronized void acceptBand(short[] data, int width, int ymin, int ymax, long requestNo) {
+				bands[0]++;
+			}
+
+			@Override
+			public void acceptResult(short[] data, short limit, long requestNo) {
+			}
+		};
+
+		try (ParallelFractalProducer producer = new ParallelFractalProducer(2, 7, FOUR_ROOTS)) {
+			producer.produce(-2.5, 1, -1.2, 1.2, WIDTH, HEIGHT, 0, observer, cancel);
+		}
+		assertEquals(0, bands[0]);
+	}
+
+	@Test
+	public void testIterationCountsMatchSequential() {
+		RenderOptions options = new RenderOptions(64, 1e-3, 2e-3, true);
+
+		class Collector implements IFractalIterationObserver {
+			short[] iterations;
+			short[] data;
+
+			@Override
+			public void acceptIterations(short[] iterations, int maxIterations, long requestNo) {
+				assertNull(data);
+				assertEquals(64, maxIterations);
+				this.iterations = iterations;
+			}
+
+			@Override
+			public void acceptResult(short[] data, short limit, long requestNo) {
+				this.data = data;
+			}
+		}
+
+		SequentialFractalProducer sequential = new SequentialFractalProducer(FOUR_ROOTS);
+		sequential.setOptions(options);
+		Collector expected = new Collector();
+		sequential.produce(-2.5, 1, -1.2, 1.2, WIDTH, HEIGHT, 0, expected, new AtomicBoolean());
+
+		Collector actual = new Collector();
+		try (ParallelFractalProducer producer = new LaneFractalProducer(2, 7, FOUR_ROOTS)) {
+			producer.setOptions(options);
+			producer.produce(-2.5, 1, -1.2, 1.2, WIDTH, HEIGHT, 0, actual, new AtomicBoolean());
+		}
+
+		assertNotNull(expected.iterations);
+		assertArrayEquals(expected.iterations, actual.iterations);
+		assertArrayEquals(expected.data, actual.data);
+	}
+
+	@Test
+	public void testProducerFromCoefficients() {
+		ComplexPolynomial polynomial = FOUR_ROOTS.toComplexPolynom();
+		Complex[] found = polynomial.findRoots().getRoots();
+		// indeks pronađene nultočke -> indeks nultočke u FOUR_ROOTS
+		short[] index = new short[found.length + 1];
+		for (int i = 0; i < found.length; i++) {
+			index[i + 1] = (short) (FOUR_ROOTS.indexOfClosestRootFor(found[i], 1e-9) + 1);
+			assertTrue(index[i + 1] > 0, "pronađena nultočka " + found[i]);
+		}
+
+		short[] expected = sequential();
+		short[] actual;
+		try (ParallelFractalProducer producer = new ParallelFractalProducer(2, 7, polynomial)) {
+			actual = produce(producer, -2.5, 1, -1.2, 1.2, WIDTH, HEIGHT);
+		}
+
+		int different = 0;
+		for (int i = 0; i < expected.length; i++) {
+			if (expected[i] != index[actual[i]])
+				different++;
+		}
+		// razlike su moguće samo na samoj granici bazena
+		assertTrue(different <= expected.length / 1000, different + " različitih piksela");
+	}
+
+	/**
+	 * Vraća polinom stupnja {@code degree} s nasumičnim nultočkama u kvadratu [-1, 1] x [-1, 1].
+	 */
+	private static ComplexRootedPolynomial randomRoots(int degree, long seed) {
+		Random random = new Random(seed);
+		Complex[] roots = new Complex[degree];
+		for (int i = 0; i < degree; i++) {
+			roots[i] = new Complex(random.nextDouble() * 2 - 1, random.nextDouble() * 2 - 1);
+		}
+		return new ComplexRootedPolynomial(Complex.ONE, roots);
+	}
+
+	@Test
+	public void testHighDegreeMatchesReferenceByDefault() {
+		// za ove polinome korak preko nultočaka mijenja po jedan piksel na granici bazena
+		int size = 200;
+		for (int degree : new int[] {32, 60}) {
+			ComplexRootedPolynomial crp = randomRoots(degree, 4);
+			ComplexPolynomial function = crp.toComplexPolynom();
+			short[] expected = new short[size * size];
+			NewtonRaphsonReference.calculate(-0.3, 0.3, -0.3, 0.3, ROOT_TRESHOLD, CONVERGENCE_TRESHOLD,
+					function, crp, function.derive(), size, size, MAX_ITERATIONS, expected);
+
+			try (ParallelFractalProducer producer = new ParallelFractalProducer(2, 7, crp)) {
+				assertArrayEquals(expected, produce(producer, -0.3, 0.3, -0.3, 0.3, size, size));
+			}
+		}
+	}
+
+	@Test
+	public void testRootedStepIsOptIn() {
+		int size = 200;
+		ComplexRootedPolynomial crp = randomRoots(32, 4);
+		short[] expected = new short[size * size];
+		NewtonRaphson.calculate(-0.3, 0.3, -0.3, 0.3, ROOT_TRESHOLD, CONVERGENCE_TRESHOLD,
+				new PolynomialEvaluator(crp, true), size, size, MAX_ITERATIONS,
+				0, size - 1, expected, new AtomicBoolean());
+
+		try (ParallelFractalProducer producer = new ParallelFractalProducer(2, 7, crp)) {
+			producer.setOptions(new RenderOptions(MAX_ITERATIONS, CONVERGENCE_TRESHOLD, ROOT_TRESHOLD, false, true));
+			assertArrayEquals(expected, produce(producer, -0.3, 0.3, -0.3, 0.3, size, size));
+		}
+	}
+
+}
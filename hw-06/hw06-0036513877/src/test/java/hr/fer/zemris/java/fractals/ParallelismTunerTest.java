@@ -0,0 +1,40 @@
+package hr.fer.zemris.java.fractals;
+
+import static hr.fer.zemris.java.fractals.FractalTestSupport.FOUR_ROOTS;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ParallelismTunerTest {
+
+	@Test
+	public void testMissingFileHasNoConfiguration(@TempDir Path dir) throws IOException {
+		ParallelismTuner tuner = new ParallelismTuner(dir.resolve("tuning.properties"));
+		assertNull(tuner.lookup(4));
+	}
+
+	@Test
+	public void testTunedConfigurationIsReloaded(@TempDir Path dir) throws IOException {
+		Path file = dir.resolve("tuning.properties");
+		ParallelismTuner tuner = new ParallelismTuner(file);
+		ParallelismTuner.Configuration tuned = tuner.tune(FOUR_ROOTS);
+		int processors = Runtime.getRuntime().availableProcessors();
+		assertTrue(tuned.getWorkers() >= 1 && tuned.getWorkers() <= processors);
+		assertEquals(0, tuned.getTracks() % tuned.getWorkers());
+		tuner.save();
+		assertTrue(Files.exists(file));
+
+		ParallelismTuner reloaded = new ParallelismTuner(file);
+		ParallelismTuner.Configuration found = reloaded.lookup(4);
+		assertNotNull(found);
+		assertEquals(tuned.getWorkers(), found.getWorkers());
+		assertEquals(tuned.getTracks(), found.getTracks());
+		assertNull(reloaded.lookup(5));
+	}
+
+}
@@ -0,0 +1,109 @@
+package hr.fer.zemris.java.fractals;
+
+import static hr.fer.zemris.java.fractals.FractalTestSupport.SCALED_ROOTS;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import hr.fer.zemris.math.Complex;
+import hr.fer.zemris.math.ComplexPolynomial;
+import hr.fer.zemris.math.ComplexRootedPolynomial;
+
+public class PolynomialEvaluatorTest {
+
+	private static final double[] RE = {0.3, -1.7, 2.2, 0, 1e-3, -0.45, 5, -3.1};
+	private static final double[] IM = {-0.2, 0.9, 1.4, 0, -2, 0.6, -5, 0.05};
+
+	private static Complex expectedStep(ComplexRootedPolynomial crp, double re, double im) {
+		ComplexPolynomial function = crp.toComplexPolynom();
+		Complex z = new Complex(re, im);
+		return function.apply(z).divide(function.derive().apply(z));
+	}
+
+	@Test
+	public void testHornerStepMatchesComplexOperations() {
+		PolynomialEvaluator evaluator = new PolynomialEvaluator(SCALED_ROOTS, false);
+		double[] step = new double[2];
+		for (int i = 0; i < RE.length; i++) {
+			Complex expected = expectedStep(SCALED_ROOTS, RE[i], IM[i]);
+			evaluator.step(RE[i], IM[i], step);
+			assertEquals(expected.getReal(), step[0]);
+			assertEquals(expected.getImaginary(), step[1]);
+		}
+	}
+
+	@Test
+	public void testRootedStepCloseToComplexOperations() {
+		PolynomialEvaluator evaluator = new PolynomialEvaluator(SCALED_ROOTS, true);
+		double[] step = new double[2];
+		for (int i = 0; i < RE.length; i++) {
+			Complex expected = expectedStep(SCALED_ROOTS, RE[i], IM[i]);
+			evaluator.step(RE[i], IM[i], step);
+			double tolerance = 1e-12 * Math.max(1, expected.module());
+			assertEquals(expected.getReal(), step[0], tolerance);
+			assertEquals(expected.getImaginary(), step[1], tolerance);
+		}
+	}
+
+	@Test
+	public void testRootedStepIsZeroAtRoot() {
+		PolynomialEvaluator evaluator = new PolynomialEvaluator(SCALED_ROOTS, true);
+		double[] step = new double[2];
+		evaluator.step(0.5, 0.5, step);
+		assertEquals(0, step[0]);
+		assertEquals(0, step[1]);
+	}
+
+	@Test
+	public void testLaneStepMatchesScalarStep() {
+		for (boolean rooted : new boolean[] {false, true}) {
+			PolynomialEvaluator evaluator = new PolynomialEvaluator(SCALED_ROOTS, rooted);
+			int lanes = RE.length;
+			double[] stepRe = new double[lanes];
+			double[] stepIm = new double[lanes];
+			evaluator.step(RE, IM, stepRe, stepIm, new double[lanes], new double[lanes]);
+
+			double[] step = new double[2];
+			for (int l = 0; l < lanes; l++) {
+				evaluator.step(RE[l], IM[l], step);
+				assertEquals(step[0], stepRe[l]);
+				assertEquals(step[1], stepIm[l]);
+			}
+		}
+	}
+
+	@Test
+	public void testHornerIsDefault() {
+		Complex[] roots = new Complex[32];
+		for (int i = 0; i < roots.length; i++) {
+			roots[i] = new Complex(Math.cos(i), Math.sin(i));
+		}
+		PolynomialEvaluator evaluator = new PolynomialEvaluator(new ComplexRootedPolynomial(Complex.ONE, roots));
+		assertFalse(evaluator.isRooted());
+		assertEquals(roots.length, evaluator.getDegree());
+	}
+
+	@Test
+	public void testWithRootedMatchesRootedConstructor() {
+		PolynomialEvaluator horner = new PolynomialEvaluator(SCALED_ROOTS);
+		PolynomialEvaluator rooted = horner.withRooted(true);
+		assertSame(horner, horner.withRooted(false));
+		assertTrue(rooted.isRooted());
+
+		PolynomialEvaluator expected = new PolynomialEvaluator(SCALED_ROOTS, true);
+		double[] step = new double[2];
+		double[] expectedStep = new double[2];
+		for (int i = 0; i < RE.length; i++) {
+			rooted.step(RE[i], IM[i], step);
+			expected.step(RE[i], IM[i], expectedStep);
+			assertArrayEquals(expectedStep, step);
+		}
+	}
+
+	@Test
+	public void testWithRootedRejectsPolynomialWithoutRoots() {
+		PolynomialEvaluator constant = new PolynomialEvaluator(new ComplexRootedPolynomial(Complex.ONE));
+		assertThrows(IllegalArgumentException.class, () -> constant.withRooted(true));
+	}
+
+}
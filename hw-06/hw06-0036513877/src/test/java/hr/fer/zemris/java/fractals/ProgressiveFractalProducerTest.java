@@ -0,0 +1,75 @@
+package hr.fer.zemris.java.fractals;
+
+import static hr.fer.zemris.java.fractals.FractalTestSupport.FOUR_ROOTS;
+import static hr.fer.zemris.java.fractals.FractalTestSupport.produce;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+public class ProgressiveFractalProducerTest {
+	
+	private static final int WIDTH = 203;
+	private static final int HEIGHT = 150;
+	
+	@Test
+	public void testProducesFourPassesWithSameRequestNo() {
+		List<short[]> results = new ArrayList<>();
+		List<Long> requests = new ArrayList<>();
+		try (ProgressiveFractalProducer producer = new ProgressiveFractalProducer(2, FOUR_ROOTS)) {
+			producer.produce(-2.5, 1, -1.2, 1.2, WIDTH, HEIGHT, 7, 
+					(data, limit, requestNo) -> {
+						results.add(data);
+						requests.add(requestNo);
+					}, new AtomicBoolean());
+		}
+		
+		assertEquals(4, results.size());
+		assertEquals(List.of(7L, 7L, 7L, 7L), requests);
+		for (short[] data : results)
+			assertEquals(WIDTH * HEIGHT, data.length);
+	}
+	
+	@Test
+	public void testFinalPassCloseToFullCalculation() {
+		short[] expected = produce(new SequentialFractalProducer(FOUR_ROOTS), -2.5, 1, -1.2, 1.2, WIDTH, HEIGHT);
+		
+		short[] actual;
+		try (ProgressiveFractalProducer producer = new ProgressiveFractalProducer(2, FOUR_ROOTS)) {
+			actual = produce(producer, -2.5, 1, -1.2, 1.2, WIDTH, HEIGHT);
+		}
+		
+		int mismatches = 0;
+		for (int i = 0; i < expected.length; i++) {
+			if (expected[i] != actual[i])
+				mismatches++;
+		}
+		assertTrue(mismatches < expected.length / 100);
+	}
+	
+	@Test
+	public void testCancelledRequestProducesNothing() {
+		List<short[]> results = new ArrayList<>();
+		try (ProgressiveFractalProducer producer = new ProgressiveFractalProducer(2, FOUR_ROOTS)) {
+			producer.produce(-2.5, 1, -1.2, 1.2, WIDTH, HEIGHT, 0, 
+					(data, limit, requestNo) -> results.add(data), new AtomicBoolean(true));
+		}
+		
+		assertTrue(results.isEmpty());
+	}
+	
+	@Test
+	public void testRejectsIterationCounts() {
+		RenderOptions options = new RenderOptions(64, 1e-3, 2e-3, true);
+		try (ProgressiveFractalProducer producer = new ProgressiveFractalProducer(2, FOUR_ROOTS)) {
+			assertThrows(IllegalArgumentException.class, () -> producer.setOptions(options));
+			assertEquals(RenderOptions.DEFAULT, producer.getOptions());
+		}
+	}
+	
+}
@@ -0,0 +1,55 @@
+package hr.fer.zemris.java.fractals;
+
+import static hr.fer.zemris.java.fractals.FractalTestSupport.FOUR_ROOTS;
+import static hr.fer.zemris.java.fractals.FractalTestSupport.SCALED_ROOTS;
+import static hr.fer.zemris.java.fractals.FractalTestSupport.produce;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import hr.fer.zemris.math.ComplexRootedPolynomial;
+
+public class SubdividingFractalProducerTest {
+	
+	private static final int WIDTH = 301;
+	private static final int HEIGHT = 217;
+	
+	private static void assertMatchesSequential(ComplexRootedPolynomial crp, 
+			double reMin, double reMax, double imMin, double imMax) {
+		short[] expected = produce(new SequentialFractalProducer(crp), reMin, reMax, imMin, imMax, WIDTH, HEIGHT);
+		
+		short[] actual;
+		try (SubdividingFractalProducer producer = new SubdividingFractalProducer(2, crp)) {
+			actual = produce(producer, reMin, reMax, imMin, imMax, WIDTH, HEIGHT);
+		}
+		
+		assertArrayEquals(expected, actual);
+	}
+	
+	@Test
+	public void testMatchesSequentialDefaultViewport() {
+		assertMatchesSequential(FOUR_ROOTS, -2.5, 1, -1.2, 1.2);
+	}
+	
+	@Test
+	public void testMatchesSequentialZoomedOut() {
+		assertMatchesSequential(FOUR_ROOTS, -20, 20, -15, 15);
+	}
+	
+	@Test
+	public void testMatchesSequentialScaledPolynomial() {
+		assertMatchesSequential(SCALED_ROOTS, -2, 2, -2, 2);
+	}
+	
+	@Test
+	public void testRejectsIterationCounts() {
+		RenderOptions options = new RenderOptions(64, 1e-3, 2e-3, true);
+		try (SubdividingFractalProducer producer = new SubdividingFractalProducer(2, FOUR_ROOTS)) {
+			assertThrows(IllegalArgumentException.class, () -> producer.setOptions(options));
+			assertEquals(RenderOptions.DEFAULT, producer.getOptions());
+		}
+	}
+	
+}
@@ -0,0 +1,81 @@
+package hr.fer.zemris.java.fractals;
+
+import static hr.fer.zemris.java.fractals.FractalTestSupport.FOUR_ROOTS;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import hr.fer.zemris.java.fractals.ZoomSequenceRenderer.Keyframe;
+
+public class ZoomSequenceRendererTest {
+
+	@Test
+	public void testInterpolateZoomsGeometrically() {
+		List<Keyframe> frames = ZoomSequenceRenderer.interpolate(List.of(
+				new Keyframe(0, -2, 2, -1, 1),
+				new Keyframe(4, 0.5, 0.75, 0, 0.125)));
+
+		assertEquals(5, frames.size());
+		for (int i = 0; i < frames.size(); i++) {
+			assertEquals(i, frames.get(i).getFrame());
+		}
+		assertEquals(0.5, frames.get(4).getReMin());
+		assertEquals(0.125, frames.get(4).getImMax());
+
+		// raspon se svakom slikom smanjuje dvostruko
+		Keyframe middle = frames.get(2);
+		assertEquals(1, middle.getReMax() - middle.getReMin(), 1e-12);
+		assertEquals(0.5, middle.getImMax() - middle.getImMin(), 1e-12);
+
+		// točka 2/3 + 1/15 i je na istom relativnom položaju u obje ključne slike
+		for (Keyframe frame : frames) {
+			assertEquals(2.0 / 3, frame.getReMin() + (frame.getReMax() - frame.getReMin()) * 2 / 3, 1e-12);
+			assertEquals(1.0 / 15, frame.getImMin() + (frame.getImMax() - frame.getImMin()) * 8 / 15, 1e-12);
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> ZoomSequenceRenderer.interpolate(List.of(
+				new Keyframe(3, -2, 2, -1, 1), new Keyframe(3, -1, 1, -1, 1))));
+	}
+
+	@Test
+	public void testRenderWritesSameFramesAsSeparateRenders(@TempDir Path dir) throws IOException {
+		int width = 64;
+		int height = 48;
+		List<Keyframe> frames = ZoomSequenceRenderer.interpolate(List.of(
+				new Keyframe(0, -2.5, 1, -1.2, 1.2),
+				new Keyframe(3, 0.2, 0.4, 0.2, 0.35)));
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			new ZoomSequenceRenderer(pool, 8, FOUR_ROOTS, width, height)
+					.render(frames, frame -> dir.resolve(String.format("frame%03d.raw", frame)));
+		} finally {
+			pool.shutdown();
+		}
+
+		SequentialFractalProducer sequential = new SequentialFractalProducer(FOUR_ROOTS);
+		for (Keyframe frame : frames) {
+			Path expected = dir.resolve("expected.raw");
+			sequential.produce(frame.getReMin(), frame.getReMax(), frame.getImMin(), frame.getImMax(),
+					width, height, 0, (data, limit, requestNo) -> {
+						try {
+							FractalImageWriter.write(expected, data, limit, width, height);
+						} catch (IOException ex) {
+							fail(ex);
+						}
+					}, new AtomicBoolean());
+
+			Path actual = dir.resolve(String.format("frame%03d.raw", frame.getFrame()));
+			assertArrayEquals(Files.readAllBytes(expected), Files.readAllBytes(actual));
+		}
+	}
+
+}
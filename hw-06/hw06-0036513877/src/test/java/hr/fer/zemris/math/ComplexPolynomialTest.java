@@ -0,0 +1,152 @@
+package hr.fer.zemris.math;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ComplexPolynomialTest {
+
+	private static final ComplexPolynomial POLYNOMIAL = new ComplexRootedPolynomial(new Complex(2, -1),
+			new Complex(0.5, 0.5), new Complex(-1.5, 0.2), new Complex(0.1, -1.3),
+			new Complex(-0.7, -0.7), new Complex(1.2, 0.9)).toComplexPolynom();
+
+	static double[][] randomPoints(int count, long seed) {
+		Random random = new Random(seed);
+		double[][] points = new double[2][count];
+		for (int i = 0; i < count; i++) {
+			points[0][i] = random.nextDouble() * 4 - 2;
+			points[1][i] = random.nextDouble() * 4 - 2;
+		}
+		return points;
+	}
+
+	@Test
+	public void testApplyBatchMatchesApply() {
+		// ispod i iznad granice paralelnog izračuna
+		for (int count : new int[] {0, 1, 1000, BatchEvaluation.PARALLEL_THRESHOLD + 17}) {
+			double[][] points = randomPoints(count, count);
+			double[] outRe = new double[count];
+			double[] outIm = new double[count];
+			POLYNOMIAL.applyBatch(points[0], points[1], outRe, outIm);
+
+			for (int i = 0; i < count; i++) {
+				Complex expected = POLYNOMIAL.apply(new Complex(points[0][i], points[1][i]));
+				assertEquals(expected.getReal(), outRe[i]);
+				assertEquals(expected.getImaginary(), outIm[i]);
+			}
+		}
+	}
+
+	@Test
+	public void testApplyBatchOfConstant() {
+		ComplexPolynomial constant = new ComplexPolynomial(new Complex(3, -2));
+		double[] outRe = new double[3];
+		double[] outIm = new double[3];
+		constant.applyBatch(new double[3], new double[3], outRe, outIm);
+		assertArrayEquals(new double[] {3, 3, 3}, outRe);
+		assertArrayEquals(new double[] {-2, -2, -2}, outIm);
+	}
+
+	@Test
+	public void testApplyBatchRejectsInvalidArrays() {
+		double[] a = new double[4];
+		double[] b = new double[4];
+		assertThrows(NullPointerException.class, () -> POLYNOMIAL.applyBatch(a, null, new double[4], b));
+		assertThrows(IllegalArgumentException.class, () -> POLYNOMIAL.applyBatch(a, b, new double[3], new double[4]));
+		assertThrows(IllegalArgumentException.class, () -> POLYNOMIAL.applyBatch(a, b, a, new double[4]));
+	}
+
+	/**
+	 * Provjerava da je svaka nultočka {@code expected} unutar {@code tolerance} od točno
+	 * jedne pronađene nultočke.
+	 */
+	private static void assertSameRoots(Complex[] expected, Complex[] actual, double tolerance) {
+		assertEquals(expected.length, actual.length);
+		boolean[] used = new boolean[actual.length];
+		for (Complex e : expected) {
+			int match = -1;
+			for (int i = 0; i < actual.length; i++) {
+				if (!used[i] && e.sub(actual[i]).module() <= tolerance) {
+					match = i;
+					break;
+				}
+			}
+			assertTrue(match >= 0, "nije pronađena nultočka " + e);
+			used[match] = true;
+		}
+	}
+
+	@Test
+	public void testFindRootsOfLowDegree() {
+		ComplexRootedPolynomial rooted = new ComplexRootedPolynomial(new Complex(2, -1),
+				new Complex(0.5, 0.5), new Complex(-1.5, 0.2), new Complex(0.1, -1.3),
+				new Complex(-0.7, -0.7), new Complex(1.2, 0.9), new Complex(30, -40));
+		ComplexRootedPolynomial found = rooted.toComplexPolynom().findRoots();
+
+		assertEquals(rooted.getConstant(), found.getConstant());
+		assertSameRoots(rooted.getRoots(), found.getRoots(), 1e-9);
+	}
+
+	@Test
+	public void testFindRootsOfUnityInParallel() {
+		int degree = 1000;
+		Complex[] coefs = new Complex[degree + 1];
+		Arrays.fill(coefs, Complex.ZERO);
+		coefs[0] = Complex.ONE_NEG;
+		coefs[degree] = Complex.ONE;
+
+		Complex[] expected = new Complex[degree];
+		for (int k = 0; k < degree; k++) {
+			expected[k] = Complex.fromModuleAndAngle(1, 2 * Math.PI * k / degree);
+		}
+		assertSameRoots(expected, new ComplexPolynomial(coefs).findRoots().getRoots(), 1e-9);
+	}
+
+	/**
+	 * Provjerava da se nultočke polinoma z^n - r^n, koje leže na kružnici polumjera r,
+	 * pronalaze s relativnom pogreškom manjom od 1e-9.
+	 */
+	private static void assertFindsRootsOnCircle(int degree, double radius) {
+		Complex[] coefs = new Complex[degree + 1];
+		Arrays.fill(coefs, Complex.ZERO);
+		coefs[0] = new Complex(-Math.pow(radius, degree), 0);
+		coefs[degree] = Complex.ONE;
+
+		Complex[] expected = new Complex[degree];
+		for (int k = 0; k < degree; k++) {
+			expected[k] = Complex.fromModuleAndAngle(radius, 2 * Math.PI * k / degree);
+		}
+		assertSameRoots(expected, new ComplexPolynomial(coefs).findRoots().getRoots(), 1e-9 * radius);
+	}
+
+	@Test
+	public void testFindRootsInsideUnitCircleInParallel() {
+		assertFindsRootsOnCircle(AberthRootFinder.PARALLEL_DEGREE, 0.5);
+	}
+
+	@Test
+	public void testFindRootsOutsideUnitCircleInParallel() {
+		// derivacija polinoma u točkama polumjera 2 izlazi iz raspona double brojeva,
+		// pa se iteracija mora provoditi preko obrnutog polinoma
+		assertFindsRootsOnCircle(1020, 2);
+	}
+
+	@Test
+	public void testFindRootsOfConstantAndLinear() {
+		assertEquals(0, new ComplexPolynomial(new Complex(3, 1)).findRoots().getRoots().length);
+
+		Complex[] roots = new ComplexPolynomial(new Complex(-2, 4), new Complex(2, 0)).findRoots().getRoots();
+		assertEquals(1, roots.length);
+		assertEquals(new Complex(1, -2), roots[0]);
+	}
+
+	@Test
+	public void testFindRootsRejectsInvalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> POLYNOMIAL.findRoots(0, 10));
+		assertThrows(IllegalArgumentException.class, () -> POLYNOMIAL.findRoots(1e-12, 0));
+	}
+
+}
@@ -0,0 +1,135 @@
+package hr.fer.zemris.math;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ComplexRootedPolynomialTest {
+
+	private static final ComplexRootedPolynomial POLYNOMIAL = new ComplexRootedPolynomial(new Complex(2, -1),
+			new Complex(0.5, 0.5), new Complex(-1.5, 0.2), new Complex(0.1, -1.3),
+			new Complex(-0.7, -0.7), new Complex(1.2, 0.9));
+
+	@Test
+	public void testApplyBatchMatchesApply() {
+		for (int count : new int[] {0, 1, 1000, BatchEvaluation.PARALLEL_THRESHOLD + 17}) {
+			double[][] points = ComplexPolynomialTest.randomPoints(count, count);
+			double[] outRe = new double[count];
+			double[] outIm = new double[count];
+			POLYNOMIAL.applyBatch(points[0], points[1], outRe, outIm);
+
+			for (int i = 0; i < count; i++) {
+				Complex expected = POLYNOMIAL.apply(new Complex(points[0][i], points[1][i]));
+				assertEquals(expected.getReal(), outRe[i]);
+				assertEquals(expected.getImaginary(), outIm[i]);
+			}
+		}
+	}
+
+	@Test
+	public void testApplyBatchIsZeroAtRoots() {
+		Complex[] roots = POLYNOMIAL.getRoots();
+		double[] re = new double[roots.length];
+		double[] im = new double[roots.length];
+		for (int i = 0; i < roots.length; i++) {
+			re[i] = roots[i].getReal();
+			im[i] = roots[i].getImaginary();
+		}
+		double[] outRe = new double[roots.length];
+		double[] outIm = new double[roots.length];
+		POLYNOMIAL.applyBatch(re, im, outRe, outIm);
+		assertArrayEquals(new double[roots.length], outRe, 0);
+		assertArrayEquals(new double[roots.length], outIm, 0);
+	}
+
+	private static ComplexPolynomial naiveProduct(ComplexRootedPolynomial crp) {
+		ComplexPolynomial p = new ComplexPolynomial(crp.getConstant());
+		for (Complex r : crp.getRoots()) {
+			p = p.multiply(new ComplexPolynomial(r.negate(), Complex.ONE));
+		}
+		return p;
+	}
+
+	@Test
+	public void testToComplexPolynomOfLowDegree() {
+		Complex[] expected = naiveProduct(POLYNOMIAL).getCoefficients();
+		Complex[] actual = POLYNOMIAL.toComplexPolynom().getCoefficients();
+		assertArrayEquals(expected, actual);
+	}
+
+	@Test
+	public void testToComplexPolynomOfHighDegreeMatchesNaiveProduct() {
+		Random random = new Random(11);
+		for (int degree : new int[] {PolynomialMultiplication.LEAF_ROOTS + 1, 300, 1000}) {
+			Complex[] roots = new Complex[degree];
+			for (int i = 0; i < degree; i++) {
+				roots[i] = Complex.fromModuleAndAngle(Math.sqrt(random.nextDouble()), 2 * Math.PI * random.nextDouble());
+			}
+			ComplexRootedPolynomial crp = new ComplexRootedPolynomial(new Complex(0.5, 2), roots);
+
+			Complex[] expected = naiveProduct(crp).getCoefficients();
+			Complex[] actual = crp.toComplexPolynom().getCoefficients();
+			assertEquals(expected.length, actual.length);
+
+			double max = 0;
+			for (Complex c : expected) {
+				max = Math.max(max, c.module());
+			}
+			for (int k = 0; k < expected.length; k++) {
+				assertTrue(expected[k].sub(actual[k]).module() <= 1e-8 * max,
+						"stupanj " + degree + ", koeficijent " + k);
+			}
+		}
+	}
+
+	/**
+	 * Provjerava da se svaki koeficijent razlikuje od očekivanog najviše za {@code tolerance}
+	 * puta modul očekivanog koeficijenta.
+	 */
+	private static void assertCoefficientsRelativelyClose(Complex[] expected, Complex[] actual, double tolerance) {
+		assertEquals(expected.length, actual.length);
+		for (int k = 0; k < expected.length; k++) {
+			assertTrue(expected[k].sub(actual[k]).module() <= tolerance * expected[k].module(),
+					"koeficijent " + k + ": očekivano " + expected[k] + ", dobiveno " + actual[k]);
+		}
+	}
+
+	@Test
+	public void testToComplexPolynomOfRepeatedRootKeepsSmallCoefficients() {
+		for (int degree : new int[] {128, 256}) {
+			Complex[] roots = new Complex[degree];
+			Arrays.fill(roots, new Complex(0.5, 0));
+			ComplexRootedPolynomial crp = new ComplexRootedPolynomial(Complex.ONE, roots);
+
+			// (z - 0.5)^n ima koeficijente C(n, k) * (-0.5)^(n - k)
+			Complex[] expected = new Complex[degree + 1];
+			double binomial = 1;
+			for (int k = 0; k <= degree; k++) {
+				double sign = (degree - k) % 2 == 0 ? 1 : -1;
+				expected[k] = new Complex(sign * binomial * Math.pow(0.5, degree - k), 0);
+				binomial = binomial * (degree - k) / (k + 1);
+			}
+
+			ComplexPolynomial polynomial = crp.toComplexPolynom();
+			assertCoefficientsRelativelyClose(expected, polynomial.getCoefficients(), 1e-11);
+			assertTrue(polynomial.apply(new Complex(0.5, 0)).module() < 1e-9);
+		}
+	}
+
+	@Test
+	public void testToComplexPolynomOfClusteredRootsMatchesNaiveProduct() {
+		Random random = new Random(3);
+		Complex[] roots = new Complex[200];
+		for (int i = 0; i < roots.length; i++) {
+			roots[i] = new Complex(0.5, 0).add(Complex.fromModuleAndAngle(1e-3 * random.nextDouble(), 2 * Math.PI * random.nextDouble()));
+		}
+		ComplexRootedPolynomial crp = new ComplexRootedPolynomial(new Complex(0.5, 2), roots);
+
+		assertCoefficientsRelativelyClose(naiveProduct(crp).getCoefficients(),
+				crp.toComplexPolynom().getCoefficients(), 1e-11);
+	}
+
+}
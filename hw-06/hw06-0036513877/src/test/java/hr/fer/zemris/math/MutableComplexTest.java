@@ -0,0 +1,102 @@
+package hr.fer.zemris.math;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class MutableComplexTest {
+
+	private static final int SAMPLES = 10_000;
+
+	/**
+	 * Vraća slučajni broj čiji je red veličine slučajan, uključujući i 0.
+	 */
+	private static double randomValue(Random random) {
+		if (random.nextInt(20) == 0)
+			return 0;
+		return (random.nextDouble() * 2 - 1) * Math.pow(10, random.nextInt(13) - 6);
+	}
+
+	private static Complex randomComplex(Random random) {
+		return new Complex(randomValue(random), randomValue(random));
+	}
+
+	private static void assertBitwiseEquals(Complex expected, MutableComplex actual) {
+		assertEquals(expected.getReal(), actual.getReal());
+		assertEquals(expected.getImaginary(), actual.getImaginary());
+	}
+
+	@Test
+	public void testBinaryOperationsMatchComplex() {
+		Random random = new Random(42);
+		for (int i = 0; i < SAMPLES; i++) {
+			Complex a = randomComplex(random);
+			Complex b = randomComplex(random);
+
+			assertBitwiseEquals(a.add(b), new MutableComplex(a).add(b));
+			assertBitwiseEquals(a.sub(b), new MutableComplex(a).sub(b));
+			assertBitwiseEquals(a.multiply(b), new MutableComplex(a).multiply(b));
+			assertBitwiseEquals(a.divide(b), new MutableComplex(a).divide(b));
+
+			MutableComplex mb = new MutableComplex(b);
+			assertBitwiseEquals(a.multiply(b), new MutableComplex(a).multiply(mb));
+			assertBitwiseEquals(a.divide(b), new MutableComplex(a).divide(b.getReal(), b.getImaginary()));
+		}
+	}
+
+	@Test
+	public void testUnaryOperationsMatchComplex() {
+		Random random = new Random(7);
+		for (int i = 0; i < SAMPLES; i++) {
+			Complex a = randomComplex(random);
+			MutableComplex m = new MutableComplex(a);
+
+			assertEquals(a.module(), m.module());
+			assertEquals(a.angle(), m.angle());
+			assertBitwiseEquals(a.negate(), new MutableComplex(a).negate());
+			int n = random.nextInt(8);
+			assertBitwiseEquals(a.power(n), new MutableComplex(a).power(n));
+		}
+	}
+
+	@Test
+	public void testChainedHornerMatchesComplex() {
+		Random random = new Random(3);
+		for (int i = 0; i < 1000; i++) {
+			Complex[] coefs = new Complex[1 + random.nextInt(10)];
+			for (int k = 0; k < coefs.length; k++) {
+				coefs[k] = randomComplex(random);
+			}
+			Complex z = randomComplex(random);
+
+			Complex expected = coefs[coefs.length - 1];
+			MutableComplex actual = new MutableComplex(coefs[coefs.length - 1]);
+			for (int k = coefs.length - 2; k >= 0; k--) {
+				expected = expected.multiply(z).add(coefs[k]);
+				actual.multiply(z).add(coefs[k]);
+			}
+			assertBitwiseEquals(expected, actual);
+		}
+	}
+
+	@Test
+	public void testOperationsModifyAndReturnThis() {
+		MutableComplex m = new MutableComplex(1, 2);
+		assertSame(m, m.add(1, 1).multiply(Complex.IM).sub(m).power(1));
+		assertEquals(0, m.getReal());
+		assertEquals(0, m.getImaginary());
+		assertEquals(new Complex(3, 4), m.set(3, 4).toComplex());
+	}
+
+	@Test
+	public void testExceptions() {
+		MutableComplex m = new MutableComplex();
+		assertThrows(IllegalArgumentException.class, () -> m.power(-1));
+		assertThrows(NullPointerException.class, () -> m.add((Complex) null));
+		assertThrows(NullPointerException.class, () -> m.multiply((MutableComplex) null));
+		assertThrows(NullPointerException.class, () -> new MutableComplex(null));
+	}
+
+}
@@ -0,0 +1,116 @@
+package hr.fer.zemris.math;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class RootGridTest {
+
+	private static int linear(double[] rootsRe, double[] rootsIm, double re, double im, double tresholdSq) {
+		int index = -1;
+		double minDistanceSq = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < rootsRe.length; i++) {
+			double dRe = re - rootsRe[i];
+			double dIm = im - rootsIm[i];
+			double distanceSq = dRe * dRe + dIm * dIm;
+			if (distanceSq < minDistanceSq && distanceSq <= tresholdSq) {
+				minDistanceSq = distanceSq;
+				index = i;
+			}
+		}
+		return index;
+	}
+
+	private static void assertMatchesLinear(double[] rootsRe, double[] rootsIm, long seed) {
+		RootGrid grid = new RootGrid(rootsRe, rootsIm);
+		Random random = new Random(seed);
+		for (int k = 0; k < 20000; k++) {
+			double re = random.nextDouble() * 6 - 3;
+			double im = random.nextDouble() * 6 - 3;
+			double tresholdSq = Math.pow(10, -6 + 7 * random.nextDouble());
+			assertEquals(linear(rootsRe, rootsIm, re, im, tresholdSq), grid.indexOfClosest(re, im, tresholdSq));
+		}
+	}
+
+	@Test
+	public void testRandomRootsMatchLinearSearch() {
+		for (int n : new int[] {3, RootGrid.MIN_GRID_ROOTS, 100, 1000}) {
+			double[][] roots = ComplexPolynomialTest.randomPoints(n, n);
+			assertMatchesLinear(roots[0], roots[1], n);
+		}
+	}
+
+	@Test
+	public void testCollinearAndClusteredRootsMatchLinearSearch() {
+		int n = 200;
+		double[] lineRe = new double[n];
+		double[] lineIm = new double[n];
+		double[] clusterRe = new double[n];
+		double[] clusterIm = new double[n];
+		Random random = new Random(7);
+		for (int i = 0; i < n; i++) {
+			lineRe[i] = -2 + 4.0 * i / n;
+			lineIm[i] = 0.5;
+			clusterRe[i] = i < n / 2 ? 1e-3 * random.nextGaussian() : 2 + random.nextGaussian();
+			clusterIm[i] = i < n / 2 ? 1e-3 * random.nextGaussian() : -1 + random.nextGaussian();
+		}
+		assertMatchesLinear(lineRe, lineIm, 1);
+		assertMatchesLinear(clusterRe, clusterIm, 2);
+	}
+
+	@Test
+	public void testTiesReturnLowestIndex() {
+		int n = 128;
+		double[] re = new double[n];
+		double[] im = new double[n];
+		for (int i = 0; i < n; i++) {
+			// parovi simetričnih nultočaka, u obrnutom redoslijedu po stupcima mreže
+			re[i] = i % 2 == 0 ? 1 : -1;
+			im[i] = 10 * (i / 2);
+		}
+		RootGrid grid = new RootGrid(re, im);
+		for (int i = 0; i < n; i += 2) {
+			assertEquals(i, grid.indexOfClosest(0, im[i], Double.MAX_VALUE));
+			assertEquals(i, grid.indexOfClosest(0, im[i], re[i] * re[i]));
+		}
+	}
+
+	@Test
+	public void testTresholdBoundary() {
+		int n = 100;
+		double[] re = new double[n];
+		double[] im = new double[n];
+		for (int i = 0; i < n; i++) {
+			re[i] = i;
+			im[i] = 0;
+		}
+		RootGrid grid = new RootGrid(re, im);
+		assertEquals(5, grid.indexOfClosest(5, 0.5, 0.25));
+		assertEquals(-1, grid.indexOfClosest(5, 0.5, Math.nextDown(0.25)));
+		assertEquals(5, grid.indexOfClosest(5, 0, 0));
+		assertEquals(-1, grid.indexOfClosest(5, 0, -1));
+		assertEquals(-1, grid.indexOfClosest(5, 0, Double.NaN));
+		assertEquals(-1, grid.indexOfClosest(Double.NaN, 0, 1));
+		assertEquals(99, grid.indexOfClosest(1000, 0, Double.POSITIVE_INFINITY));
+	}
+
+	@Test
+	public void testInvalidArguments() {
+		assertThrows(NullPointerException.class, () -> new RootGrid(null, new double[0]));
+		assertThrows(IllegalArgumentException.class, () -> new RootGrid(new double[1], new double[2]));
+		assertEquals(-1, new RootGrid(new double[0], new double[0]).indexOfClosest(0, 0, 1));
+	}
+
+	@Test
+	public void testPolynomialUsesSameSemantics() {
+		ComplexRootedPolynomial polynomial = new ComplexRootedPolynomial(Complex.ONE,
+				new Complex(1, 0), new Complex(-1, 0), new Complex(0, 1));
+		assertEquals(0, polynomial.indexOfClosestRootFor(new Complex(0, 0), 1));
+		assertEquals(0, polynomial.indexOfClosestRootFor(0, 0, 1));
+		assertEquals(-1, polynomial.indexOfClosestRootFor(0, 0, Math.nextDown(1.0)));
+		assertEquals(2, polynomial.indexOfClosestRootFor(0.1, 0.9, 0.5));
+	}
+
+}